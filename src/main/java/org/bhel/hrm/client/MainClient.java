@@ -8,6 +8,7 @@ import javafx.stage.Stage;
 import org.bhel.hrm.client.constants.FXMLPaths;
 import org.bhel.hrm.client.controllers.LoginController;
 import org.bhel.hrm.client.controllers.MainController;
+import org.bhel.hrm.client.services.AsyncHRMService;
 import org.bhel.hrm.client.services.ServiceManager;
 import org.bhel.hrm.client.utils.DialogManager;
 import org.bhel.hrm.common.dtos.UserDTO;
@@ -25,6 +26,7 @@ public class MainClient extends Application {
     private Stage primaryStage;
     private ExecutorService executorService;
     private ServiceManager serviceManager;
+    private AsyncHRMService asyncService;
 
     @Override
     public void init() {
@@ -35,6 +37,7 @@ public class MainClient extends Application {
         });
 
         serviceManager = new ServiceManager();
+        asyncService = new AsyncHRMService(serviceManager);
 
         if (!serviceManager.isConnected())
             logger.error("Failed to connect to server during initialization.");
@@ -64,6 +67,9 @@ public class MainClient extends Application {
 
         if (serviceManager != null)
             serviceManager.disconnect();
+
+        if (asyncService != null)
+            asyncService.close();
     }
 
     public ExecutorService getExecutorService() {
@@ -90,7 +96,7 @@ public class MainClient extends Application {
             // Injects the dependencies to the controller
             controller.setMainApp(this);
             controller.setServiceManager(serviceManager);
-            controller.setExecutorService(executorService);
+            controller.setAsyncService(asyncService);
 
             primaryStage.setMinWidth(380);
             primaryStage.setMinHeight(320);
@@ -125,6 +131,7 @@ public class MainClient extends Application {
             controller.setMainClient(this);
             controller.setServiceManager(serviceManager);
             controller.setExecutorService(executorService);
+            controller.setAsyncService(asyncService);
             controller.initData(user);
 
             primaryStage.setMinWidth(1000);
@@ -144,6 +151,8 @@ public class MainClient extends Application {
     }
 
     public static void main(String[] args) {
+        // Before init() connects, as the JDK reads the RMI response timeout only once
+        AsyncHRMService.installResponseTimeout();
         launch(args);
     }
 }
@@ -1,20 +1,19 @@
 package org.bhel.hrm.client.controllers;
 
-import javafx.application.Platform;
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import org.bhel.hrm.client.services.AsyncHRMService;
 import org.bhel.hrm.client.utils.DialogManager;
 import org.bhel.hrm.common.dtos.EmployeeDTO;
 import org.bhel.hrm.common.dtos.NewEmployeeRegistrationDTO;
 import org.bhel.hrm.common.dtos.UserDTO;
 import org.bhel.hrm.common.exceptions.HRMException;
-import org.bhel.hrm.common.services.HRMService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the Employee Form dialog.
@@ -34,7 +33,7 @@ public class EmployeeFormController {
     @FXML private Button saveButton;
     @FXML private Button cancelButton;
 
-    private HRMService hrmService;
+    private AsyncHRMService asyncService;
     private Stage dialogStage;
     private EmployeeDTO employeeToEdit;
     private boolean isSaved = false;
@@ -57,10 +56,10 @@ public class EmployeeFormController {
     }
 
     /**
-     * Sets the HRM service for backend communication.
+     * Sets the asynchronous service used for backend communication.
      */
-    public void setHrmService(HRMService hrmService) {
-        this.hrmService = hrmService;
+    public void setAsyncService(AsyncHRMService asyncService) {
+        this.asyncService = asyncService;
     }
 
     /**
@@ -122,43 +121,36 @@ public class EmployeeFormController {
         setFormDisabled(true);
         errorLabel.setVisible(false);
 
-        // Create background task for the save operation
-        Task<Void> saveTask = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                if (isEditMode) {
-                    // Update existing employee
-                    EmployeeDTO employeeDTO = new EmployeeDTO(
-                        employeeSnapshot.id(),
-                        employeeSnapshot.userId(),
-                        firstName,
-                        lastName,
-                        icPassport
-                    );
-
-                    hrmService.updateEmployeeProfile(employeeDTO);
+        CompletableFuture<Void> save;
+        if (isEditMode) {
+            // Update existing employee
+            save = asyncService.updateEmployeeProfile(new EmployeeDTO(
+                employeeSnapshot.id(),
+                employeeSnapshot.userId(),
+                firstName,
+                lastName,
+                icPassport
+            ));
+        } else {
+            // Register new employee
+            save = asyncService.registerNewEmployee(new NewEmployeeRegistrationDTO(
+                username,
+                password,
+                role,
+                firstName,
+                lastName,
+                icPassport
+            ));
+        }
+
+        AsyncHRMService.onFxThread(
+            save,
+            ignored -> {
+                if (isEditMode)
                     logger.info("Employee ID {} updated successfully.", employeeSnapshot.id());
-                } else {
-                    // Register new employee
-                    NewEmployeeRegistrationDTO registrationDTO = new NewEmployeeRegistrationDTO(
-                        username,
-                        password,
-                        role,
-                        firstName,
-                        lastName,
-                        icPassport
-                    );
-
-                    hrmService.registerNewEmployee(registrationDTO);
+                else
                     logger.info("New employee '{}' registered successfully.", username);
-                }
-
-                return null;
-            }
-        };
 
-        saveTask.setOnSucceeded(event ->
-            Platform.runLater(() -> {
                 isSaved = true;
 
                 DialogManager.showInfoDialog(
@@ -169,14 +161,9 @@ public class EmployeeFormController {
                 );
 
                 dialogStage.close();
-            })
-        );
-
-        saveTask.setOnFailed(event ->
-            Platform.runLater(() -> {
+            },
+            error -> {
                 setFormDisabled(false);
-
-                Throwable error = saveTask.getException();
                 logger.error("Failed to save employee", error);
 
                 switch (error) {
@@ -204,10 +191,8 @@ public class EmployeeFormController {
                         );
                     }
                 }
-            })
+            }
         );
-
-        new Thread(saveTask).start();
     }
 
     /**
@@ -5,28 +5,33 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.bhel.hrm.client.constants.FXMLPaths;
 import org.bhel.hrm.client.controllers.components.PageHeaderController;
+import org.bhel.hrm.client.services.AsyncHRMService;
 import org.bhel.hrm.client.services.ServiceManager;
 import org.bhel.hrm.client.utils.DialogManager;
 import org.bhel.hrm.common.dtos.EmployeeDTO;
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
 import org.bhel.hrm.common.services.HRMService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the Employee Management view.
@@ -36,6 +41,11 @@ public class EmployeeManagementController implements Initializable {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeManagementController.class);
     private static final String EMPLOYEE_TABLE_PLACEHOLDER_MESSAGE =
         "No employees found. Click 'Add New Employee' to get started.";
+    private static final int PAGE_SIZE = 100;
+    // Employees fetched per round trip when the rest of the listing is streamed for a search.
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Fraction of the table scrolled after which the next page is fetched.
+    private static final double SCROLL_PREFETCH_THRESHOLD = 0.8;
 
     @FXML private TableView<EmployeeDTO> employeeTable;
     @FXML private TableColumn<EmployeeDTO, Integer> idColumn;
@@ -55,10 +65,17 @@ public class EmployeeManagementController implements Initializable {
 
     private HRMService hrmService;
     private ServiceManager serviceManager;
-    private ExecutorService executorService;
+    private AsyncHRMService asyncService;
     private ObservableList<EmployeeDTO> allEmployees;
     private ObservableList<EmployeeDTO> filteredEmployees;
 
+    // Keyset paging state; only touched on the FX application thread.
+    private EmployeePageCursorDTO nextCursor;
+    private boolean pageLoading;
+    private int loadGeneration;
+    private CompletableFuture<Integer> employeeStream;
+    private ScrollBar verticalScrollBar;
+
     private boolean initialized = false;
 
     @Override
@@ -99,7 +116,7 @@ public class EmployeeManagementController implements Initializable {
 
         if (mainController != null) {
             this.serviceManager = mainController.getServiceManager();
-            this.executorService = mainController.getExecutorService();
+            this.asyncService = mainController.getAsyncService();
 
             if (serviceManager != null)
                 this.hrmService = serviceManager.getHrmService();
@@ -114,11 +131,14 @@ public class EmployeeManagementController implements Initializable {
             return;
         }
 
-        if (executorService == null)
-            logger.error("ExecutorService is null – background operations may fail.");
+        if (asyncService == null) {
+            logger.error("AsyncHRMService is null - cannot load employees.");
+            return;
+        }
 
         setupTableSelectionListener();
         setupSearchListener();
+        setupLazyPageLoading();
         loadEmployees();
     }
 
@@ -171,6 +191,44 @@ public class EmployeeManagementController implements Initializable {
         );
     }
 
+    /**
+     * Fetches the next page of employees as the table is scrolled towards its end.
+     * The table's scroll bar only exists once its skin has been created.
+     */
+    private void setupLazyPageLoading() {
+        employeeTable.skinProperty().addListener(
+            (observable, oldSkin, newSkin) -> Platform.runLater(this::attachScrollListener));
+        Platform.runLater(this::attachScrollListener);
+    }
+
+    private void attachScrollListener() {
+        if (verticalScrollBar != null)
+            return;
+
+        for (Node node : employeeTable.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                verticalScrollBar = bar;
+                bar.valueProperty().addListener((observable, oldValue, newValue) -> loadNextPageIfNeeded());
+                bar.visibleProperty().addListener((observable, oldValue, newValue) -> loadNextPageIfNeeded());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fetches the next page if more employees exist and the user has scrolled near the end
+     * of the loaded rows, or the loaded rows do not yet fill the table.
+     */
+    private void loadNextPageIfNeeded() {
+        if (pageLoading || nextCursor == null || verticalScrollBar == null)
+            return;
+
+        if (!verticalScrollBar.isVisible()
+            || verticalScrollBar.getValue() >= verticalScrollBar.getMax() * SCROLL_PREFETCH_THRESHOLD) {
+            fetchPage(nextCursor, loadGeneration);
+        }
+    }
+
     /**
      * Sets up the search field listener for real-time filtering.
      */
@@ -184,7 +242,8 @@ public class EmployeeManagementController implements Initializable {
     }
 
     /**
-     * Loads all employees from the server asynchronously.
+     * Loads the first page of employees from the server asynchronously.
+     * Further pages are fetched as the table is scrolled.
      */
     private void loadEmployees() {
         if (hrmService == null) {
@@ -192,56 +251,81 @@ public class EmployeeManagementController implements Initializable {
             return;
         }
 
+        // Discards the rows and any in-flight page or stream of a previous load
+        loadGeneration++;
+        cancelEmployeeStream();
+        nextCursor = null;
+        pageLoading = false;
+        allEmployees = FXCollections.observableArrayList();
+        filteredEmployees = FXCollections.observableArrayList();
+        employeeTable.setItems(filteredEmployees);
+
         // Show loading indicator
         employeeTable.setPlaceholder(new Label("Loading employee..."));
         employeeTable.setDisable(true);
 
-        Task<List<EmployeeDTO>> employeeManagementTask = new Task<>() {
-            @Override
-            protected List<EmployeeDTO> call() throws Exception {
-                logger.debug("Fetching all employees from server...");
-                return hrmService.getAllEmployees();
-            }
-        };
-
-        employeeManagementTask.setOnSucceeded(event -> {
-            logger.info("Successfully fetched employee data.");
-
-            List<EmployeeDTO> employees = employeeManagementTask.getValue();
-            allEmployees = FXCollections.observableArrayList(employees);
-            filteredEmployees = FXCollections.observableArrayList(employees);
-
-            employeeTable.setItems(filteredEmployees);
-            employeeTable.setDisable(false);
-
-            logger.info("Loaded {} employees", employees.size());
+        fetchPage(null, loadGeneration);
+    }
 
-            // Restore default placeholder
-            employeeTable.setPlaceholder(
-                new Label(EMPLOYEE_TABLE_PLACEHOLDER_MESSAGE)
-            );
-        });
+    /**
+     * Fetches one page of employees and appends it to the table.
+     *
+     * @param after The cursor of the page to fetch, or null for the first page
+     * @param generation The load the page belongs to; pages from an older load are dropped
+     */
+    private void fetchPage(EmployeePageCursorDTO after, int generation) {
+        pageLoading = true;
+
+        logger.debug("Fetching a page of employees from server...");
+        AsyncHRMService.onFxThread(
+            asyncService.getEmployeePage(after, PAGE_SIZE),
+            page -> {
+                if (generation != loadGeneration)
+                    return;
+
+                pageLoading = false;
+                nextCursor = page.nextCursor();
+
+                allEmployees.addAll(page.employees());
+                String searchText = searchField.getText();
+                if (searchText == null || searchText.isBlank())
+                    filteredEmployees.addAll(page.employees()); // Appends, keeping scroll position and selection
+                else
+                    filterEmployees(searchText);
+                employeeTable.setDisable(false);
+
+                logger.info("Loaded {} employees ({} in total, more available: {})",
+                    page.employees().size(), allEmployees.size(), page.hasMore());
+
+                // Restore default placeholder
+                employeeTable.setPlaceholder(
+                    new Label(EMPLOYEE_TABLE_PLACEHOLDER_MESSAGE)
+                );
 
-        employeeManagementTask.setOnFailed(event -> {
-            employeeTable.setDisable(false);
-            logger.error("Failed to fetch employee data", employeeManagementTask.getException());
+                // Keeps fetching while the loaded rows do not fill the table
+                Platform.runLater(this::loadNextPageIfNeeded);
+            },
+            error -> {
+                if (generation != loadGeneration)
+                    return;
 
-            employeeTable.setPlaceholder(new Label("Failed to load employees. Click 'Refresh' to try again."));
+                pageLoading = false;
+                employeeTable.setDisable(false);
+                logger.error("Failed to fetch employee data", error);
 
-            DialogManager.showErrorDialog(
-                "Load Error",
-                "Could not fetch employee data."
-            );
-        });
+                employeeTable.setPlaceholder(new Label("Failed to load employees. Click 'Refresh' to try again."));
 
-        if (executorService != null)
-            executorService.submit(employeeManagementTask);
-        else
-            new Thread(employeeManagementTask).start();
+                DialogManager.showErrorDialog(
+                    "Load Error",
+                    "Could not fetch employee data."
+                );
+            }
+        );
     }
 
     /**
      * Filters the employee list based on search criteria.
+     * Only the employees loaded so far are searched; see {@link #streamRemainingEmployees()}.
      */
     private void filterEmployees(String searchText) {
         if (allEmployees == null)
@@ -254,16 +338,20 @@ public class EmployeeManagementController implements Initializable {
 
         String lowerSearch = searchText.toLowerCase().trim();
         List<EmployeeDTO> filtered = allEmployees.stream()
-            .filter(emp ->
-                emp.firstName().toLowerCase().contains(lowerSearch) ||
-                emp.lastName().toLowerCase().contains(lowerSearch) ||
-                emp.icPassport().toLowerCase().contains(lowerSearch) ||
-                String.valueOf(emp.id()).contains(lowerSearch)
-            ).toList();
+            .filter(emp -> matchesSearch(emp, lowerSearch))
+            .toList();
 
         filteredEmployees.setAll(filtered);
     }
 
+    private static boolean matchesSearch(EmployeeDTO emp, String lowerSearch) {
+        return
+            emp.firstName().toLowerCase().contains(lowerSearch) ||
+            emp.lastName().toLowerCase().contains(lowerSearch) ||
+            emp.icPassport().toLowerCase().contains(lowerSearch) ||
+            String.valueOf(emp.id()).contains(lowerSearch);
+    }
+
     /**
      * Handles the search button action.
      */
@@ -272,9 +360,81 @@ public class EmployeeManagementController implements Initializable {
         String searchText = searchField.getText();
         filterEmployees(searchText);
 
+        // Pages not yet scrolled to have not been searched, so the rest of the listing is streamed in
+        if (nextCursor != null && searchText != null && !searchText.isBlank())
+            streamRemainingEmployees();
+
         logger.debug("Search performed with text: {}", searchText);
     }
 
+    /**
+     * Loads every employee not yet paged in through a server-side cursor, appending each
+     * chunk and its matches for the current search as it arrives. Paging stops, as the
+     * stream delivers the rest of the listing.
+     */
+    private void streamRemainingEmployees() {
+        int generation = ++loadGeneration;
+        cancelEmployeeStream();
+        nextCursor = null;
+        pageLoading = true;
+
+        // The stream starts from the first employee, so rows already paged in are skipped
+        Set<Integer> loadedIds = new HashSet<>();
+        allEmployees.forEach(emp -> loadedIds.add(emp.id()));
+
+        logger.debug("Streaming the remaining employees from server...");
+        employeeStream = asyncService.streamAllEmployees(STREAM_CHUNK_SIZE, chunk -> Platform.runLater(() -> {
+            if (generation != loadGeneration)
+                return;
+
+            List<EmployeeDTO> added = chunk.stream()
+                .filter(emp -> loadedIds.add(emp.id()))
+                .toList();
+            allEmployees.addAll(added);
+
+            String searchText = searchField.getText();
+            if (searchText == null || searchText.isBlank()) {
+                filteredEmployees.addAll(added);
+            } else {
+                String lowerSearch = searchText.toLowerCase().trim();
+                filteredEmployees.addAll(added.stream().filter(emp -> matchesSearch(emp, lowerSearch)).toList());
+            }
+        }));
+
+        AsyncHRMService.onFxThread(
+            employeeStream,
+            total -> {
+                if (generation != loadGeneration)
+                    return;
+
+                pageLoading = false;
+                logger.info("Streamed {} employees ({} in total).", total, allEmployees.size());
+            },
+            error -> {
+                if (generation != loadGeneration)
+                    return;
+
+                pageLoading = false;
+                logger.error("Failed to stream employee data", error);
+
+                DialogManager.showErrorDialog(
+                    "Search Error",
+                    "Could not load all employees; only the employees loaded so far were searched."
+                );
+            }
+        );
+    }
+
+    /**
+     * Cancels the stream of a previous load, if one is still running, which closes its server-side cursor.
+     */
+    private void cancelEmployeeStream() {
+        if (employeeStream != null) {
+            employeeStream.cancel(true);
+            employeeStream = null;
+        }
+    }
+
     /**
      * Handles the clear search button action.
      */
@@ -355,7 +515,7 @@ public class EmployeeManagementController implements Initializable {
 
             // Injects dependencies to the form controller
             controller.setDialogStage(dialogStage);
-            controller.setHrmService(this.hrmService);
+            controller.setAsyncService(this.asyncService);
 
             // If editing, set the employee data
             if (employee != null)
@@ -410,37 +570,31 @@ public class EmployeeManagementController implements Initializable {
             return;
         }
 
-        Task<Void> deleteTask = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                // TODO: Implement HRMService method to delete an employee by ID
-                // hrmService.deleteEmployeeById(selectedEmployee.id());
-                return null;
-            }
-        };
-
-        deleteTask.setOnSucceeded(event -> {
-            logger.info("Employee deleted successfully.");
-
-            DialogManager.showInfoDialog(
-                "Success",
-                "Employee deleted successfully."
-            );
-            loadEmployees();
+        CompletableFuture<Void> delete = asyncService.submit("deleteEmployee", (service, token) -> {
+            // TODO: Implement HRMService method to delete an employee by ID
+            // service.deleteEmployeeById(token, selectedEmployee.id());
+            return null;
         });
 
-        deleteTask.setOnFailed(event -> {
-            logger.error("Failed to delete employee ", deleteTask.getException());
+        AsyncHRMService.onFxThread(
+            delete,
+            ignored -> {
+                logger.info("Employee deleted successfully.");
 
-            DialogManager.showErrorDialog(
-                "Delete Error",
-                "Could not delete the employee. Please try again."
-            );
-        });
+                DialogManager.showInfoDialog(
+                    "Success",
+                    "Employee deleted successfully."
+                );
+                loadEmployees();
+            },
+            error -> {
+                logger.error("Failed to delete employee ", error);
 
-        if (executorService != null)
-            executorService.submit(deleteTask);
-        else
-            new Thread(deleteTask).start();
+                DialogManager.showErrorDialog(
+                    "Delete Error",
+                    "Could not delete the employee. Please try again."
+                );
+            }
+        );
     }
 }
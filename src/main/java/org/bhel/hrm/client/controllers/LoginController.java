@@ -1,20 +1,18 @@
 package org.bhel.hrm.client.controllers;
 
 import javafx.application.Platform;
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import org.bhel.hrm.client.MainClient;
+import org.bhel.hrm.client.services.AsyncHRMService;
 import org.bhel.hrm.client.services.ServiceManager;
 import org.bhel.hrm.client.utils.DialogManager;
-import org.bhel.hrm.common.dtos.UserDTO;
 import org.bhel.hrm.common.exceptions.HRMException;
 import org.bhel.hrm.common.services.HRMService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.rmi.RemoteException;
-import java.util.concurrent.ExecutorService;
 
 public class LoginController {
     private static final Logger logger = LoggerFactory.getLogger(LoginController.class);
@@ -28,7 +26,7 @@ public class LoginController {
     @FXML private CheckBox rememberMeCheckbox;
 
     private ServiceManager serviceManager;
-    private ExecutorService executorService;
+    private AsyncHRMService asyncService;
     private MainClient mainClient;
     private HRMService hrmService;
 
@@ -62,8 +60,8 @@ public class LoginController {
         }
     }
 
-    public void setExecutorService(ExecutorService executorService) {
-        this.executorService = executorService;
+    public void setAsyncService(AsyncHRMService asyncService) {
+        this.asyncService = asyncService;
     }
 
     @FXML
@@ -92,61 +90,51 @@ public class LoginController {
         usernameField.setDisable(true);
         passwordField.setDisable(true);
 
-        Task<UserDTO> loginTask = new Task<UserDTO>() {
-            @Override
-            protected UserDTO call() throws Exception {
-                return hrmService.authenticateUser(username, password);
-            }
-        };
-
-        loginTask.setOnSucceeded(event -> {
-            loadingIndicator.setVisible(false);
-            usernameField.setDisable(false);
-            passwordField.setDisable(false);
-
-            UserDTO authenticatedUser = loginTask.getValue();
-            if (authenticatedUser != null) {
-                logger.info("Login successful for user: {}", username);
-                loginAttempts = 0; // Resets attempts on success
-                mainClient.showMainView(authenticatedUser);
-            } else {
-                passwordField.clear();
-                handleFailedLogin("Invalid username or password.");
-            }
-        });
-
-        loginTask.setOnFailed(event -> {
-            loadingIndicator.setVisible(false);
-            usernameField.setDisable(false);
-            passwordField.setDisable(false);
-            passwordField.clear(); // Clears password for security
-
-            Throwable error = loginTask.getException();
-
-            switch (error) {
-                case HRMException hrmException -> {
-                    logger.warn("Authentication failed for user '{}': {}",
-                        username, hrmException.getMessage());
+        AsyncHRMService.onFxThread(
+            asyncService.login(username, password),
+            session -> {
+                loadingIndicator.setVisible(false);
+                usernameField.setDisable(false);
+                passwordField.setDisable(false);
+
+                if (session != null) {
+                    logger.info("Login successful for user: {}", username);
+                    loginAttempts = 0; // Resets attempts on success
+                    mainClient.showMainView(session.user());
+                } else {
+                    passwordField.clear();
                     handleFailedLogin("Invalid username or password.");
                 }
-                case RemoteException remoteException -> {
-                    logger.error("RMI error during authentication.", remoteException);
-                    DialogManager.showErrorDialog(
-                        "Server Error",
-                        "An error occurred while communicating with the server. Please try again."
-                    );
-                }
-                default -> {
-                    logger.error("Unexpected error during login.", error);
-                    DialogManager.showErrorDialog(
-                        "Login Error",
-                        "Unexpected error during login. Please try again."
-                    );
+            },
+            error -> {
+                loadingIndicator.setVisible(false);
+                usernameField.setDisable(false);
+                passwordField.setDisable(false);
+                passwordField.clear(); // Clears password for security
+
+                switch (error) {
+                    case HRMException hrmException -> {
+                        logger.warn("Authentication failed for user '{}': {}",
+                            username, hrmException.getMessage());
+                        handleFailedLogin("Invalid username or password.");
+                    }
+                    case RemoteException remoteException -> {
+                        logger.error("RMI error during authentication.", remoteException);
+                        DialogManager.showErrorDialog(
+                            "Server Error",
+                            "An error occurred while communicating with the server. Please try again."
+                        );
+                    }
+                    default -> {
+                        logger.error("Unexpected error during login.", error);
+                        DialogManager.showErrorDialog(
+                            "Login Error",
+                            "Unexpected error during login. Please try again."
+                        );
+                    }
                 }
             }
-        });
-
-        executorService.submit(loginTask);
+        );
     }
 
     private void handleFailedLogin(String message) {
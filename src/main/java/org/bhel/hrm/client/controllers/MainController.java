@@ -19,6 +19,7 @@ import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 import org.bhel.hrm.client.MainClient;
 import org.bhel.hrm.client.constants.FXMLPaths;
+import org.bhel.hrm.client.services.AsyncHRMService;
 import org.bhel.hrm.client.services.ServiceManager;
 import org.bhel.hrm.client.utils.DialogManager;
 import org.bhel.hrm.client.utils.ViewManager;
@@ -53,6 +54,7 @@ public class MainController {
     private UserDTO currentUser;
     private ServiceManager serviceManager;
     private ExecutorService executorService;
+    private AsyncHRMService asyncService;
     private MainClient mainClient;
     private Button activeButton = null;
 
@@ -77,6 +79,10 @@ public class MainController {
         this.executorService = executorService;
     }
 
+    public void setAsyncService(AsyncHRMService asyncService) {
+        this.asyncService = asyncService;
+    }
+
     public void setMainClient(MainClient mainClient) {
         this.mainClient = mainClient;
     }
@@ -436,6 +442,12 @@ public class MainController {
         if (connectionCheckTimer != null)
             connectionCheckTimer.stop();
 
+        // Ends the server-side session without blocking the UI thread
+        if (asyncService != null)
+            asyncService.logout();
+        else if (serviceManager != null)
+            serviceManager.logout();
+
         // Clears the current user data
         this.currentUser = null;
 
@@ -455,6 +467,10 @@ public class MainController {
         return executorService;
     }
 
+    public AsyncHRMService getAsyncService() {
+        return asyncService;
+    }
+
     public UserDTO getCurrentUser() {
         return currentUser;
     }
@@ -0,0 +1,319 @@
+package org.bhel.hrm.client.services;
+
+import javafx.application.Platform;
+import org.bhel.hrm.common.dtos.*;
+import org.bhel.hrm.common.services.HRMService;
+import org.bhel.hrm.common.services.RemoteIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.RemoteException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * An asynchronous facade over {@link HRMService} for the JavaFX client.
+ * <p>
+ * Every call runs on a small, shared pool of daemon threads instead of a thread or
+ * {@code Task} per call, and returns a {@link CompletableFuture}, so independent calls can
+ * run in parallel and be combined. The session token is taken from the
+ * {@link ServiceManager} when the call starts.
+ * <p>
+ * Calls that do not complete within their timeout fail with a {@link TimeoutException}.
+ * Cancelling the returned future, or a timeout, interrupts the worker running the call,
+ * and a call cancelled before it starts is never sent. A worker blocked waiting for an RMI
+ * response cannot be interrupted, though; it is only freed by the response or by the RMI
+ * response timeout, see {@link #installResponseTimeout()}. Use
+ * {@link #onFxThread(CompletableFuture, Consumer, Consumer)} to handle the outcome on the
+ * JavaFX application thread.
+ */
+public final class AsyncHRMService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncHRMService.class);
+
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    // A stream is one call for timeout purposes, however many chunks it takes.
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(5);
+
+    /** The JDK property bounding how long a client waits for the response to one RMI call. */
+    static final String RESPONSE_TIMEOUT_PROPERTY = "sun.rmi.transport.tcp.responseTimeout";
+    // Longer than the default call timeout, so it only fires for calls that have already timed out.
+    static final Duration RESPONSE_TIMEOUT = DEFAULT_TIMEOUT.multipliedBy(2);
+
+    /** Runs callbacks on the JavaFX application thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    /**
+     * A single remote call, given the service stub and the current session token.
+     *
+     * @param <T> The call's result type
+     */
+    @FunctionalInterface
+    public interface RemoteCall<T> {
+        T call(HRMService service, String sessionToken) throws Exception;
+    }
+
+    private final ServiceManager serviceManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration defaultTimeout;
+
+    /**
+     * Creates a facade with a default pool size and a 30 second timeout.
+     *
+     * @param serviceManager The connection and session to make calls with
+     */
+    public AsyncHRMService(ServiceManager serviceManager) {
+        this(serviceManager, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param serviceManager The connection and session to make calls with
+     * @param threads The number of calls that may be in flight at once
+     * @param queueCapacity The number of calls that may wait for a thread; further calls are rejected
+     * @param defaultTimeout How long a call may take before it fails with a {@link TimeoutException}
+     */
+    public AsyncHRMService(ServiceManager serviceManager, int threads, int queueCapacity, Duration defaultTimeout) {
+        this.serviceManager = serviceManager;
+        this.defaultTimeout = defaultTimeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "hrm-rpc-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Bounds how long any RMI call made by this JVM may wait for its response, so a worker
+     * whose call has timed out is not blocked in a socket read forever. Must be called before
+     * the first RMI call, as the JDK reads the setting once. An explicitly set
+     * {@value #RESPONSE_TIMEOUT_PROPERTY} property is left as it is.
+     */
+    public static void installResponseTimeout() {
+        if (System.getProperty(RESPONSE_TIMEOUT_PROPERTY) == null)
+            System.setProperty(RESPONSE_TIMEOUT_PROPERTY, String.valueOf(RESPONSE_TIMEOUT.toMillis()));
+    }
+
+    // --- Authentication ---
+
+    public CompletableFuture<SessionDTO> login(String username, String password) {
+        return submit("authenticateUser", (service, token) -> serviceManager.login(username, password));
+    }
+
+    public CompletableFuture<Void> logout() {
+        return submit("logout", (service, token) -> {
+            serviceManager.logout();
+            return null;
+        });
+    }
+
+    // --- Employees ---
+
+    public CompletableFuture<List<EmployeeDTO>> getAllEmployees() {
+        return submit("getAllEmployees", HRMService::getAllEmployees);
+    }
+
+    /**
+     * Reads every employee through a server-side cursor, handing each chunk to {@code onChunk}
+     * as soon as it arrives, so the first rows can be shown while the rest are still being read.
+     * Cancelling the returned future stops reading and closes the cursor.
+     *
+     * @param chunkSize The maximum number of employees to fetch per round trip
+     * @param onChunk Receives each non-empty chunk, in order, on the worker thread; use
+     *                {@link #FX_THREAD} to update the UI
+     * @return A future completed with the number of employees read
+     */
+    public CompletableFuture<Integer> streamAllEmployees(int chunkSize, Consumer<List<EmployeeDTO>> onChunk) {
+        return submit("streamAllEmployees", (service, token) -> {
+            RemoteIterator<EmployeeDTO> cursor = service.streamAllEmployees(token);
+            int total = 0;
+            boolean exhausted = false;
+
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    List<EmployeeDTO> chunk = cursor.next(chunkSize);
+                    if (chunk.isEmpty()) {
+                        exhausted = true; // The server closed the cursor with the empty chunk
+                        break;
+                    }
+
+                    total += chunk.size();
+                    onChunk.accept(chunk);
+                }
+            } finally {
+                if (!exhausted)
+                    closeQuietly(cursor);
+            }
+
+            return total;
+        }, STREAM_TIMEOUT);
+    }
+
+    public CompletableFuture<EmployeePageDTO> getEmployeePage(EmployeePageCursorDTO after, int pageSize) {
+        return submit("getEmployeePage", (service, token) -> service.getEmployeePage(token, after, pageSize));
+    }
+
+    public CompletableFuture<EmployeeDTO> getEmployeeById(int employeeId) {
+        return submit("getEmployeeById", (service, token) -> service.getEmployeeById(token, employeeId));
+    }
+
+    public CompletableFuture<Void> registerNewEmployee(NewEmployeeRegistrationDTO registration) {
+        return submit("registerNewEmployee", (service, token) -> {
+            service.registerNewEmployee(token, registration);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<EmployeeRegistrationResultDTO>> registerNewEmployees(
+        List<NewEmployeeRegistrationDTO> registrations
+    ) {
+        return submit("registerNewEmployees", (service, token) -> service.registerNewEmployees(token, registrations));
+    }
+
+    public CompletableFuture<Void> updateEmployeeProfile(EmployeeDTO employee) {
+        return submit("updateEmployeeProfile", (service, token) -> {
+            service.updateEmployeeProfile(token, employee);
+            return null;
+        });
+    }
+
+    // --- Administration ---
+
+    public CompletableFuture<ServerMetricsDTO> getServerMetrics() {
+        return submit("getServerMetrics", HRMService::getServerMetrics);
+    }
+
+    /**
+     * Runs any other remote call asynchronously with the default timeout.
+     *
+     * @param operation A short name for the call, used in logs
+     * @param call The call to make
+     * @return A future completed with the call's result or failure
+     */
+    public <T> CompletableFuture<T> submit(String operation, RemoteCall<T> call) {
+        return submit(operation, call, defaultTimeout);
+    }
+
+    /**
+     * Runs any other remote call asynchronously.
+     *
+     * @param operation A short name for the call, used in logs
+     * @param call The call to make
+     * @param timeout How long the call may take before the future fails with a {@link TimeoutException};
+     *                each remote call it makes is also bounded by the RMI response timeout
+     * @return A future completed with the call's result or failure
+     */
+    public <T> CompletableFuture<T> submit(String operation, RemoteCall<T> call, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Future<?> worker;
+        try {
+            worker = executor.submit(() -> run(operation, call, result));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected call to {}: too many calls are already waiting.", operation);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> {
+            // Dequeues the call if it has not started yet; a started call only stops at an
+            // interruptible point, e.g. between the chunks of a stream. A worker blocked in an
+            // RMI response read ignores the interrupt and is freed by the RMI response timeout.
+            if (error instanceof CancellationException || error instanceof TimeoutException)
+                worker.cancel(true);
+        });
+
+        return result;
+    }
+
+    private <T> void run(String operation, RemoteCall<T> call, CompletableFuture<T> result) {
+        if (result.isDone())
+            return; // Cancelled or timed out while queued
+
+        try {
+            HRMService service = serviceManager.getHrmService();
+            if (service == null)
+                throw new RemoteException("Not connected to the RMI service.");
+
+            result.complete(call.call(service, serviceManager.getSessionToken()));
+        } catch (Exception e) {
+            if (!result.isDone())
+                logger.debug("Call to {} failed.", operation, e);
+
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static void closeQuietly(RemoteIterator<?> cursor) {
+        try {
+            cursor.close();
+        } catch (RemoteException e) {
+            logger.debug("Failed to close a remote cursor; the server will expire it.", e);
+        }
+    }
+
+    /**
+     * Handles a call's outcome on the JavaFX application thread. The failure passed to
+     * {@code onFailure} is the call's own exception, e.g. an {@code HRMException}, rather
+     * than the {@link CompletionException} wrapping it.
+     *
+     * @param future The call to wait for
+     * @param onSuccess Receives the result on the FX thread
+     * @param onFailure Receives the failure on the FX thread
+     */
+    public static <T> void onFxThread(
+        CompletableFuture<T> future,
+        Consumer<? super T> onSuccess,
+        Consumer<? super Throwable> onFailure
+    ) {
+        future.whenCompleteAsync((value, error) -> {
+            if (error == null)
+                onSuccess.accept(value);
+            else
+                onFailure.accept(unwrap(error));
+        }, FX_THREAD);
+    }
+
+    /**
+     * Strips the {@link CompletionException} or {@link ExecutionException} wrappers that
+     * {@link CompletableFuture} adds around a call's exception.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+            && cause.getCause() != null)
+            cause = cause.getCause();
+
+        return cause;
+    }
+
+    /**
+     * Stops accepting calls and interrupts any still in flight.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
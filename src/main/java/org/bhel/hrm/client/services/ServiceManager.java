@@ -1,21 +1,28 @@
 package org.bhel.hrm.client.services;
 
+import org.bhel.hrm.common.dtos.SessionDTO;
+import org.bhel.hrm.common.exceptions.HRMException;
 import org.bhel.hrm.common.services.HRMService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 
 /**
- * Manages the RMI connection to the HRM service.
+ * Manages the RMI connection to the HRM service and the session issued at login.
  * Uses Dependency Injection (DI) design pattern.
+ * <p>
+ * The password is sent to the server only once, by {@link #login(String, String)}; after a
+ * reconnect the existing session is resumed by its token instead.
  */
 public class ServiceManager {
     private static final Logger logger = LoggerFactory.getLogger(ServiceManager.class);
 
     private HRMService hrmService;
     private boolean connected = false;
+    private volatile SessionDTO session;
     private final String host;
     private final int port;
 
@@ -53,15 +60,67 @@ public class ServiceManager {
     }
 
     /**
-     * Attempts to reconnect if not currently connected.
+     * Attempts to reconnect if not currently connected, resuming the current session if there is one.
      */
     public void reconnect() {
         if (!connected) {
             logger.info("Attempting to reconnect to the RMI service...");
             connect();
+
+            if (connected)
+                resumeSession();
+        }
+    }
+
+    /**
+     * Authenticates with the server and keeps the issued session for subsequent calls.
+     *
+     * @param username The user's username
+     * @param password The user's raw password
+     * @return The new session, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If the credentials are rejected
+     */
+    public SessionDTO login(String username, String password) throws RemoteException, HRMException {
+        HRMService service = getHrmService();
+        if (service == null)
+            throw new RemoteException("Not connected to the RMI service.");
+
+        SessionDTO newSession = service.authenticateUser(username, password);
+        this.session = newSession;
+        return newSession;
+    }
+
+    /**
+     * Ends the current session on the server, if any. Failures are logged and ignored;
+     * the server expires the session on its own.
+     */
+    public void logout() {
+        SessionDTO current = this.session;
+        this.session = null;
+
+        if (current == null || hrmService == null)
+            return;
+
+        try {
+            hrmService.logout(current.token());
+        } catch (RemoteException e) {
+            logger.warn("Failed to end the session on the server; it will expire on its own.", e);
         }
     }
 
+    /**
+     * Returns the token to pass with every service call, or {@code null} if not logged in.
+     */
+    public String getSessionToken() {
+        SessionDTO current = this.session;
+        return current != null ? current.token() : null;
+    }
+
+    public SessionDTO getSession() {
+        return session;
+    }
+
     public boolean isConnected() {
         return connected;
     }
@@ -74,11 +133,33 @@ public class ServiceManager {
     }
 
     /**
-     * Closes the connection and cleans up resources.
+     * Ends the current session and closes the connection.
      */
     public void disconnect() {
+        logout();
         this.hrmService = null;
         this.connected = false;
         logger.info("Disconnected from the RMI service.");
     }
+
+    /**
+     * Revalidates the current session after a reconnect. If the server no longer
+     * accepts it, the session is dropped and the user has to log in again.
+     */
+    private void resumeSession() {
+        SessionDTO current = this.session;
+        if (current == null)
+            return;
+
+        try {
+            this.session = hrmService.resumeSession(current.token());
+            logger.info("Resumed the session for user '{}'.", current.user().username());
+        } catch (HRMException e) {
+            logger.warn("The session for user '{}' is no longer valid: {}", current.user().username(), e.getMessage());
+            this.session = null;
+        } catch (RemoteException e) {
+            logger.error("Failed to resume the session after reconnecting.", e);
+            this.connected = false;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+
+/**
+ * A keyset cursor into the employee listing, which is ordered by last name, first name and ID.
+ * A page requested with this cursor starts with the first employee sorting after it.
+ */
+public record EmployeePageCursorDTO(
+    String lastName,
+    String firstName,
+    int id
+) implements Serializable {
+    /**
+     * Creates a cursor positioned just after the given employee.
+     *
+     * @param employee The last employee of the previous page, not null
+     * @return A cursor for the page that follows the employee
+     */
+    public static EmployeePageCursorDTO after(EmployeeDTO employee) {
+        return new EmployeePageCursorDTO(employee.lastName(), employee.firstName(), employee.id());
+    }
+}
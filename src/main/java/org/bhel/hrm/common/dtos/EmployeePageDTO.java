@@ -0,0 +1,19 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of the employee listing.
+ *
+ * @param employees The employees on this page, in listing order
+ * @param nextCursor The cursor for the following page, or {@code null} if this is the last page
+ */
+public record EmployeePageDTO(
+    List<EmployeeDTO> employees,
+    EmployeePageCursorDTO nextCursor
+) implements Serializable {
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,40 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+
+/**
+ * The outcome of one row of a bulk employee registration.
+ *
+ * @param username The username of the registration this result belongs to
+ * @param status Whether the row was registered or why it was skipped
+ * @param userId The ID of the created user account, or 0 if the row was skipped
+ * @param employeeId The ID of the created employee profile, or 0 if the row was skipped
+ * @param message A human-readable explanation when the row was skipped, otherwise null
+ */
+public record EmployeeRegistrationResultDTO(
+    String username,
+    Status status,
+    int userId,
+    int employeeId,
+    String message
+) implements Serializable {
+    public enum Status {
+        REGISTERED,
+        DUPLICATE_USERNAME,
+        DUPLICATE_IC_PASSPORT,
+        DUPLICATE_NAME,
+        INVALID
+    }
+
+    public static EmployeeRegistrationResultDTO registered(String username, int userId, int employeeId) {
+        return new EmployeeRegistrationResultDTO(username, Status.REGISTERED, userId, employeeId, null);
+    }
+
+    public static EmployeeRegistrationResultDTO skipped(String username, Status status, String message) {
+        return new EmployeeRegistrationResultDTO(username, status, 0, 0, message);
+    }
+
+    public boolean isRegistered() {
+        return status == Status.REGISTERED;
+    }
+}
@@ -0,0 +1,17 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+
+/**
+ * A point-in-time summary of a server-side histogram. Values are in the unit the
+ * histogram records; all timing histograms (names containing {@code .nanos}) use nanoseconds.
+ */
+public record HistogramSnapshotDTO(
+    long count,
+    double mean,
+    long p50,
+    long p90,
+    long p99,
+    long p999,
+    long max
+) implements Serializable {}
@@ -0,0 +1,15 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A read-only snapshot of the server's runtime metrics, intended for operators.
+ */
+public record ServerMetricsDTO(
+    Instant capturedAt,
+    Map<String, Long> counters,
+    Map<String, Long> gauges,
+    Map<String, HistogramSnapshotDTO> histograms
+) implements Serializable {}
@@ -0,0 +1,25 @@
+package org.bhel.hrm.common.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An authenticated session issued by the server at login.
+ * <p>
+ * The token is passed with every subsequent call in place of the user's password.
+ * It expires after a period of inactivity; each accepted call extends it.
+ *
+ * @param token The opaque session token; treat it like a password and never log it
+ * @param user The authenticated user
+ * @param expiresAt When the session expires if no further calls are made
+ */
+public record SessionDTO(
+    String token,
+    UserDTO user,
+    Instant expiresAt
+) implements Serializable {
+    @Override
+    public String toString() {
+        return "SessionDTO[user=" + user + ", expiresAt=" + expiresAt + "]";
+    }
+}
@@ -63,6 +63,7 @@ public enum ErrorCode {
     SYSTEM_SERVICE_UNAVAILABLE("HRM-SYS-002", "Service temporarily unavailable", 503),
     SYSTEM_MAINTENANCE("HRM-SYS-003", "System is under maintenance", 503),
     SYSTEM_TIMEOUT("HRM-SYS-004", "Operation timed out", 408),
+    SYSTEM_BUSY("HRM-SYS-005", "Server is at capacity for this operation", 503),
 
     // --- File Operations ---
 
@@ -93,6 +94,14 @@ public enum ErrorCode {
         return httpStatus;
     }
 
+    /**
+     * Returns {@code true} for system and database errors, which point at a fault in the
+     * server or its database rather than at the request.
+     */
+    public boolean isSystemError() {
+        return code.startsWith("HRM-SYS-") || code.startsWith("HRM-DB-");
+    }
+
     /**
      * Retrieves a formatted error code with a message.
      *
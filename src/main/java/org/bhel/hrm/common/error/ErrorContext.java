@@ -3,11 +3,13 @@ package org.bhel.hrm.common.error;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Structured context information for errors.
  * Provides rich diagnostic information for logging, monitoring, and debugging.
+ * <p>
+ * A context is meant to be built only once an error is being handled, not ahead of every
+ * call. Its error ID comes from {@link ErrorIdGenerator} unless one is given.
  */
 public class ErrorContext {
     private final String errorId;
@@ -19,13 +21,13 @@ public class ErrorContext {
     private final Map<String, Object> additionalData;
 
     private ErrorContext(ErrorContextBuilder builder) {
-        this.errorId = builder.errorId;
-        this.timestamp = builder.timestamp;
+        this.errorId = builder.errorId != null ? builder.errorId : ErrorIdGenerator.next();
+        this.timestamp = LocalDateTime.now();
         this.operation = builder.operation;
         this.userId = builder.userId;
         this.sessionId = builder.sessionId;
         this.ipAddress = builder.ipAddress;
-        this.additionalData = builder.additionalData;
+        this.additionalData = builder.additionalData != null ? builder.additionalData : Map.of();
     }
 
     public String getErrorId() {
@@ -82,17 +84,13 @@ public class ErrorContext {
      */
     public static class ErrorContextBuilder {
         private String errorId;
-        private final LocalDateTime timestamp;
         private String operation;
         private String userId;
         private String sessionId;
         private String ipAddress;
-        private final Map<String, Object> additionalData;
+        private Map<String, Object> additionalData;
 
         private ErrorContextBuilder() {
-            this.errorId = UUID.randomUUID().toString();
-            this.timestamp = LocalDateTime.now();
-            this.additionalData = new HashMap<>();
         }
 
         public ErrorContextBuilder errorId(String errorId) {
@@ -121,15 +119,22 @@ public class ErrorContext {
         }
 
         public ErrorContextBuilder addData(String key, Object value) {
-            this.additionalData.put(key, value);
+            data().put(key, value);
             return this;
         }
 
         public ErrorContextBuilder addData(Map<String, Object> data) {
-            this.additionalData.putAll(data);
+            data().putAll(data);
             return this;
         }
 
+        private Map<String, Object> data() {
+            if (additionalData == null)
+                additionalData = new HashMap<>();
+
+            return additionalData;
+        }
+
         public ErrorContext build() {
             return new ErrorContext(this);
         }
@@ -0,0 +1,38 @@
+package org.bhel.hrm.common.error;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the IDs that tie an error reported to a user back to the server's logs.
+ * <p>
+ * An ID is a time-ordered, per-process sequence followed by a node ID, e.g.
+ * {@code 1a14e6ffc7500001-7ea9f62c70ff}. The sequence is the current time in milliseconds
+ * shifted left by {@value #SEQUENCE_BITS} bits and incremented for each ID, so IDs sort by
+ * the time they were issued and never repeat within a process, even if the clock steps back.
+ * The node ID is drawn once per process from {@link SecureRandom}, which keeps IDs from
+ * different servers apart without drawing entropy for every error, as {@link java.util.UUID}
+ * does. Generating an ID takes no lock.
+ */
+public final class ErrorIdGenerator {
+    private static final int SEQUENCE_BITS = 20;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final String NODE_ID = HEX.toHexDigits(new SecureRandom().nextLong()).substring(4);
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private ErrorIdGenerator() {
+        throw new UnsupportedOperationException("This class ErrorIdGenerator is a utility class; it should not be instantiated.");
+    }
+
+    /**
+     * Returns a new error ID, greater than every ID this process issued before it.
+     */
+    public static String next() {
+        long timeBased = System.currentTimeMillis() << SEQUENCE_BITS;
+        long id = LAST.accumulateAndGet(timeBased, (last, now) -> Math.max(last + 1, now));
+
+        return HEX.toHexDigits(id) + "-" + NODE_ID;
+    }
+}
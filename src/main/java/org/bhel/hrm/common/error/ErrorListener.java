@@ -0,0 +1,20 @@
+package org.bhel.hrm.common.error;
+
+/**
+ * Observes the exceptions handled by {@code GlobalExceptionHandler}, e.g. to keep error rates
+ * or to react to a failing database.
+ *
+ * @see org.bhel.hrm.common.utils.GlobalExceptionHandler#addErrorListener(ErrorListener)
+ */
+@FunctionalInterface
+public interface ErrorListener {
+    /**
+     * Called on the failing call's thread before the exception is rethrown. Implementations
+     * must be cheap and must not throw.
+     *
+     * @param operation The operation that failed, e.g. {@code getAllEmployees}
+     * @param errorCode The error code the exception was classified as
+     * @param e The exception that was handled
+     */
+    void onError(String operation, ErrorCode errorCode, Exception e);
+}
@@ -4,17 +4,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Resolves the user-facing message for an {@link ErrorCode} from the {@code error-messages}
+ * resource bundle, falling back to the code's default message.
+ * <p>
+ * The messages of a locale are resolved and their patterns compiled once, the first time the
+ * locale is asked for; the default locale's are compiled when the provider is created. After
+ * that, looking up a message is a map lookup, and formatting one with parameters reuses its
+ * compiled {@link MessageFormat} instead of parsing the pattern again. A {@code MessageFormat}
+ * is not thread-safe, so each one is used by a single thread at a time.
+ */
 public class ErrorMessageProvider {
     private static final Logger logger = LoggerFactory.getLogger(ErrorMessageProvider.class);
 
     private final String baseName;
     private final Locale defaultLocale;
     private final ConcurrentHashMap<Locale, ResourceBundle> bundleCache;
+    private final ConcurrentHashMap<Locale, Map<ErrorCode, CompiledMessage>> messageCache;
     private final ResourceBundle.Control control;
 
     /**
@@ -27,8 +41,12 @@ public class ErrorMessageProvider {
         this.baseName = baseName;
         this.defaultLocale = defaultLocale;
         this.bundleCache = new ConcurrentHashMap<>();
+        this.messageCache = new ConcurrentHashMap<>();
         this.control = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
 
+        // Loads and compiles the default locale's messages up front, off the failure path
+        getMessages(defaultLocale);
+
         logger.info("Initialized ErrorMessageProvider with baseName: {}, defaultLocale: {}",
             baseName, defaultLocale);
     }
@@ -58,20 +76,7 @@ public class ErrorMessageProvider {
      * Gets message for error code with specific locale
      */
     public String getMessage(ErrorCode errorCode, Locale locale) {
-        String code = errorCode.getCode();
-
-        try {
-            ResourceBundle bundle = getBundle(locale);
-
-            if (bundle.containsKey(code))
-                return bundle.getString(code);
-        } catch (MissingResourceException e) {
-            logger.debug("Resource bundle not found for locale: {}", locale);
-        }
-
-        // Fallback to error code's default message
-        logger.debug("Using default message for code: {}", code);
-        return errorCode.getDefaultMessage();
+        return getMessages(locale).get(errorCode).text();
     }
 
     /**
@@ -90,19 +95,49 @@ public class ErrorMessageProvider {
      * Gets localized message with parameter substitution
      */
     public String getMessage(ErrorCode errorCode, Locale locale, Object... params) {
-        String pattern = getMessage(errorCode, locale);
+        CompiledMessage message = getMessages(locale).get(errorCode);
 
         if (params == null || params.length == 0)
-            return pattern;
+            return message.text();
+
+        return message.format(params);
+    }
+
+    /**
+     * Gets the compiled messages for every error code in a locale, compiling them on first use
+     */
+    private Map<ErrorCode, CompiledMessage> getMessages(Locale locale) {
+        return messageCache.computeIfAbsent(locale, this::compileMessages);
+    }
 
+    /**
+     * Resolves and compiles the message of every error code for a locale
+     */
+    private Map<ErrorCode, CompiledMessage> compileMessages(Locale locale) {
+        ResourceBundle bundle = null;
         try {
-            return MessageFormat.format(pattern, params);
-        } catch (IllegalArgumentException e) {
-            logger.warn("Failed to format message for code [{}] with params [{}]",
-                errorCode.getCode(), params, e);
+            bundle = getBundle(locale);
+        } catch (MissingResourceException e) {
+            logger.debug("Resource bundle not found for locale: {}", locale);
+        }
 
-            return pattern;
+        Map<ErrorCode, CompiledMessage> messages = new EnumMap<>(ErrorCode.class);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            String code = errorCode.getCode();
+
+            String text;
+            if (bundle != null && bundle.containsKey(code)) {
+                text = bundle.getString(code);
+            } else {
+                // Fallback to error code's default message
+                logger.debug("Using default message for code: {}", code);
+                text = errorCode.getDefaultMessage();
+            }
+
+            messages.put(errorCode, CompiledMessage.compile(errorCode, text));
         }
+
+        return Collections.unmodifiableMap(messages);
     }
 
     /**
@@ -167,6 +202,7 @@ public class ErrorMessageProvider {
     */
     public void clearCache() {
         bundleCache.clear();
+        messageCache.clear();
         ResourceBundle.clearCache();
 
         logger.info("Cleared cache from ResourceBundle.");
@@ -179,6 +215,37 @@ public class ErrorMessageProvider {
         return Locale.getAvailableLocales();
     }
 
+    /**
+     * A message and its pattern, compiled once. The pattern is {@code null} if the message is
+     * not a valid {@link MessageFormat} pattern, in which case it is never formatted.
+     */
+    private record CompiledMessage(ErrorCode errorCode, String text, MessageFormat pattern) {
+        static CompiledMessage compile(ErrorCode errorCode, String text) {
+            try {
+                return new CompiledMessage(errorCode, text, new MessageFormat(text));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid message pattern for code [{}]: {}", errorCode.getCode(), text, e);
+                return new CompiledMessage(errorCode, text, null);
+            }
+        }
+
+        String format(Object[] params) {
+            if (pattern == null)
+                return text;
+
+            try {
+                synchronized (pattern) {
+                    return pattern.format(params);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Failed to format message for code [{}] with params [{}]",
+                    errorCode.getCode(), params, e);
+
+                return text;
+            }
+        }
+    }
+
     public static ErrorMessageProviderBuilder builder() {
         return new ErrorMessageProviderBuilder();
     }
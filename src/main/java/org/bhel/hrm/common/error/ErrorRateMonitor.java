@@ -0,0 +1,97 @@
+package org.bhel.hrm.common.error;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the number of recent errors per {@link ErrorCode} and per operation, counted over a
+ * sliding window by a {@link SlidingWindowCounter}.
+ * <p>
+ * Registered with {@code GlobalExceptionHandler}, it sees every handled exception. Each
+ * count is published as a gauge the first time it is needed: {@code errors.window.total},
+ * {@code errors.window.code.<code>}, e.g. {@code errors.window.code.HRM-DB-001}, and
+ * {@code errors.window.operation.<operation>}. Recording never allocates once an error code
+ * or operation has been seen.
+ */
+public final class ErrorRateMonitor implements ErrorListener {
+    private static final int BUCKETS = 12;
+
+    private final Duration window;
+    private final LongSupplier nanoClock;
+    private final BiConsumer<String, LongSupplier> gaugeRegistrar;
+
+    private final SlidingWindowCounter total;
+    private final ConcurrentHashMap<ErrorCode, SlidingWindowCounter> byErrorCode = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> byOperation = new ConcurrentHashMap<>();
+
+    /**
+     * @param window The length of time over which errors are counted
+     * @param gaugeRegistrar Registers a named gauge, e.g. {@code MetricsRegistry::gauge}
+     */
+    public ErrorRateMonitor(Duration window, BiConsumer<String, LongSupplier> gaugeRegistrar) {
+        this(window, gaugeRegistrar, System::nanoTime);
+    }
+
+    ErrorRateMonitor(Duration window, BiConsumer<String, LongSupplier> gaugeRegistrar, LongSupplier nanoClock) {
+        this.window = window;
+        this.nanoClock = nanoClock;
+        this.gaugeRegistrar = gaugeRegistrar;
+        this.total = newCounter("errors.window.total");
+    }
+
+    @Override
+    public void onError(String operation, ErrorCode errorCode, Exception e) {
+        total.increment();
+        counter(errorCode).increment();
+
+        if (operation != null)
+            counter(operation).increment();
+    }
+
+    /**
+     * Returns the number of errors with this code within the window.
+     */
+    public long count(ErrorCode errorCode) {
+        SlidingWindowCounter counter = byErrorCode.get(errorCode);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Returns the number of errors raised by this operation within the window.
+     */
+    public long count(String operation) {
+        SlidingWindowCounter counter = byOperation.get(operation);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Returns the number of errors of any kind within the window.
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    private SlidingWindowCounter counter(ErrorCode errorCode) {
+        SlidingWindowCounter counter = byErrorCode.get(errorCode);
+        return counter != null ? counter : byErrorCode.computeIfAbsent(errorCode,
+            key -> newCounter("errors.window.code." + key.getCode()));
+    }
+
+    private SlidingWindowCounter counter(String operation) {
+        SlidingWindowCounter counter = byOperation.get(operation);
+        return counter != null ? counter : byOperation.computeIfAbsent(operation,
+            key -> newCounter("errors.window.operation." + key));
+    }
+
+    private SlidingWindowCounter newCounter(String gaugeName) {
+        SlidingWindowCounter counter = new SlidingWindowCounter(window, BUCKETS, nanoClock);
+        gaugeRegistrar.accept(gaugeName, counter::sum);
+        return counter;
+    }
+}
@@ -5,23 +5,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 /**
  * Configuration-driven mapping of database errors to application exceptions.
  * At the moment, only supports MySQL database vendor and custom mapping rules.
+ * <p>
+ * Context mappings are compiled into a prefix trie per error code, and the outcome of each
+ * lookup is cached by operation and error code, so translating the same kind of error again,
+ * e.g. during a storm of lock timeouts, costs one hash lookup. Mappings are expected to be
+ * added at start-up; adding one clears the cache.
  */
 public class ExceptionMappingConfig {
     private static final Logger logger = LoggerFactory.getLogger(ExceptionMappingConfig.class);
 
     public enum DatabaseVendor { MYSQL, POSTGRESQL }
 
+    private static final int MAX_CACHED_TRANSLATIONS = 1_024;
+
     private final Map<Integer, ExceptionMapping> errorMappings;
     private final Map<String, ContextBasedMapping> contextMappings;
+    private final Map<TranslationKey, Translation> translationCache = new ConcurrentHashMap<>();
+    private volatile ContextIndex contextIndex = ContextIndex.EMPTY;
     private final DatabaseVendor vendor;
 
     public ExceptionMappingConfig() {
@@ -184,31 +192,15 @@ public class ExceptionMappingConfig {
     }
 
     public DataAccessException translate(SQLException ex, ErrorContext context) {
-        int errorCode = ex.getErrorCode();
-        String operation = context.getOperation();
-
-        // First try context-specific first
-        ContextBasedMapping contextMapping = findContextMapping(operation, errorCode);
-        if (contextMapping != null) {
-            return contextMapping.createException(
-                contextMapping.errorCode.getDefaultMessage(), ex
-            );
-        }
-
-        // Fallback to general error code mapping
-        ExceptionMapping mapping = errorMappings.get(errorCode);
-        if (mapping != null) {
-            return mapping.createException(
-                mapping.errorCode.getDefaultMessage() + " during " + operation,
-                ex
-            );
-        }
+        return resolve(context.getOperation(), ex.getErrorCode()).createException(ex);
+    }
 
-        // Default fallback
-        return new DataAccessException(
-            ErrorCode.SYSTEM_ERROR.getDefaultMessage() + " during " + operation,
-            ex
-        );
+    /**
+     * Returns the error code that {@link #translate} gives an exception raised during an
+     * operation, without creating the translated exception.
+     */
+    public ErrorCode errorCodeFor(SQLException ex, String operation) {
+        return resolve(operation, ex.getErrorCode()).errorCode();
     }
 
     // Adds a custom mapping for a specific error code
@@ -221,6 +213,7 @@ public class ExceptionMappingConfig {
             errorCode,
             new ExceptionMapping(appErrorCode, factory)
         );
+        translationCache.clear();
     }
 
     // Adds a context-specific error code
@@ -254,62 +247,132 @@ public class ExceptionMappingConfig {
             normalizedContext,
             new ContextBasedMapping(dbErrorCode, appErrorCode, factory)
         );
+        contextIndex = ContextIndex.of(contextMappings);
+        translationCache.clear();
+    }
+
+    /**
+     * Finds how to translate an error code raised during an operation, from the cache when
+     * the same pair has been translated before.
+     */
+    private Translation resolve(String operation, int errorCode) {
+        TranslationKey key = new TranslationKey(operation, errorCode);
+        Translation cached = translationCache.get(key);
+        if (cached != null)
+            return cached;
+
+        Translation translation = computeTranslation(operation, errorCode);
+
+        // Operation names are a fixed set in practice; the bound only guards against misuse.
+        if (translationCache.size() >= MAX_CACHED_TRANSLATIONS)
+            translationCache.clear();
+
+        translationCache.put(key, translation);
+        return translation;
+    }
+
+    private Translation computeTranslation(String operation, int errorCode) {
+        // First try context-specific first
+        ContextBasedMapping contextMapping = findContextMapping(operation, errorCode);
+        if (contextMapping != null) {
+            return new Translation(
+                contextMapping.errorCode,
+                contextMapping.errorCode.getDefaultMessage(),
+                contextMapping.exceptionFactory
+            );
+        }
+
+        // Fallback to general error code mapping
+        ExceptionMapping mapping = errorMappings.get(errorCode);
+        if (mapping != null) {
+            return new Translation(
+                mapping.errorCode,
+                mapping.errorCode.getDefaultMessage() + " during " + operation,
+                mapping.exceptionFactory
+            );
+        }
+
+        // Default fallback, which the two-argument DataAccessException constructor reports as DB_QUERY_ERROR
+        return new Translation(
+            ErrorCode.DB_QUERY_ERROR,
+            ErrorCode.SYSTEM_ERROR.getDefaultMessage() + " during " + operation,
+            DataAccessException::new
+        );
     }
 
+    /**
+     * Finds the most specific context mapping for the operation, i.e. the longest context
+     * that the operation starts with and that maps this error code. An exact match is simply
+     * the longest possible prefix.
+     */
     private ContextBasedMapping findContextMapping(String operation, int errorCode) {
         if (operation == null)
             return null;
 
-        String key = operation.toLowerCase();
+        ContextBasedMapping match = contextIndex.longestPrefixMatch(operation.toLowerCase(), errorCode);
+        if (match == null)
+            logger.debug("No context match found for operation='{}', errorCode={}", operation, errorCode);
+
+        return match;
+    }
+
+    private record TranslationKey(String operation, int errorCode) {}
 
-        // Step 1: Try exact match first (highest priority)
-        ContextBasedMapping exactMatch = contextMappings.get(key);
-        if (exactMatch != null && exactMatch.dbErrorCode == errorCode) {
-            logger.debug("Found exact context match: '{}'", key);
-            return exactMatch;
+    private record Translation(
+        ErrorCode errorCode,
+        String message,
+        BiFunction<String, SQLException, DataAccessException> exceptionFactory
+    ) {
+        DataAccessException createException(SQLException ex) {
+            return exceptionFactory.apply(message, ex);
         }
+    }
 
-        // Step 2: Find all matching contexts and sort by length (longest first)
-        List<Map.Entry<String, ContextBasedMapping>> matches = new ArrayList<>();
+    /**
+     * The context mappings compiled into one prefix trie per database error code, so that
+     * finding the most specific match walks the operation name once instead of scanning and
+     * sorting every mapping. Rebuilt whenever a context mapping is added.
+     */
+    private static final class ContextIndex {
+        private static final ContextIndex EMPTY = new ContextIndex(Map.of());
 
-        for (Map.Entry<String, ContextBasedMapping> entry : contextMappings.entrySet()) {
-            String contextKey = entry.getKey();
-            ContextBasedMapping mapping = entry.getValue();
+        private final Map<Integer, TrieNode> rootsByErrorCode;
 
-            // Check if this context is a prefix of the operation AND error code matches
-            if (key.startsWith(contextKey) && mapping.dbErrorCode == errorCode) {
-                matches.add(entry);
-            }
+        private ContextIndex(Map<Integer, TrieNode> rootsByErrorCode) {
+            this.rootsByErrorCode = rootsByErrorCode;
         }
 
-        // If no matches found, return null
-        if (matches.isEmpty()) {
-            logger.debug("No context match found for operation='{}', errorCode={}", operation, errorCode);
-            return null;
+        static ContextIndex of(Map<String, ContextBasedMapping> contextMappings) {
+            Map<Integer, TrieNode> roots = new HashMap<>();
+
+            contextMappings.forEach((context, mapping) -> {
+                TrieNode node = roots.computeIfAbsent(mapping.dbErrorCode, code -> new TrieNode());
+                for (int i = 0; i < context.length(); i++)
+                    node = node.children.computeIfAbsent(context.charAt(i), c -> new TrieNode());
+
+                node.mapping = mapping;
+            });
+
+            return new ContextIndex(roots);
         }
 
-        // Sort by key length (longest first) for most specific match
-        // If lengths are equal, sort alphabetically for determinism
-        matches.sort((e1, e2) -> {
-            int lengthCompare = Integer.compare(
-                e2.getKey().length(),
-                e1.getKey().length()
-            );
+        ContextBasedMapping longestPrefixMatch(String operation, int errorCode) {
+            TrieNode node = rootsByErrorCode.get(errorCode);
+            ContextBasedMapping match = null;
 
-            if (lengthCompare != 0) {
-                return lengthCompare;
+            for (int i = 0; node != null && i < operation.length(); i++) {
+                node = node.children.get(operation.charAt(i));
+                if (node != null && node.mapping != null)
+                    match = node.mapping;
             }
 
-            // Same length - sort alphabetically for determinism
-            return e1.getKey().compareTo(e2.getKey());
-        });
-
-        // Return the longest (most specific) match
-        Map.Entry<String, ContextBasedMapping> bestMatch = matches.getFirst();
-        logger.debug("Found prefix match: '{}' for operation '{}'",
-            bestMatch.getKey(), operation);
+            return match;
+        }
+    }
 
-        return bestMatch.getValue();
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private ContextBasedMapping mapping;
     }
 
     private record ExceptionMapping(
@@ -0,0 +1,88 @@
+package org.bhel.hrm.common.error;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events over a sliding time window, e.g. the errors of the last minute.
+ * <p>
+ * The window is split into a fixed ring of buckets, each counting the events of one slice of
+ * time; a bucket is reset when the ring comes round to it again. Counting takes no lock and
+ * allocates nothing. The count is approximate: it may include up to one bucket's worth of
+ * events older than the window, and an event that races with a bucket being reset may be lost.
+ */
+public final class SlidingWindowCounter {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long bucketNanos;
+    private final int buckets;
+    private final LongSupplier nanoClock;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray slices;
+
+    /**
+     * @param window The length of time over which events are counted
+     * @param buckets The number of slices the window is split into; more is more precise
+     */
+    public SlidingWindowCounter(Duration window, int buckets) {
+        this(window, buckets, System::nanoTime);
+    }
+
+    /**
+     * @param window The length of time over which events are counted
+     * @param buckets The number of slices the window is split into; more is more precise
+     * @param nanoClock The source of the current time, in nanoseconds
+     */
+    public SlidingWindowCounter(Duration window, int buckets, LongSupplier nanoClock) {
+        if (buckets < 1)
+            throw new IllegalArgumentException("A sliding window needs at least one bucket.");
+
+        this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+        this.buckets = buckets;
+        this.nanoClock = nanoClock;
+        this.counts = new AtomicLongArray(buckets);
+        this.slices = new AtomicLongArray(buckets);
+        reset();
+    }
+
+    /**
+     * Counts one event at the current time.
+     */
+    public void increment() {
+        long slice = Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+        int index = Math.floorMod(slice, buckets);
+
+        long held = slices.get(index);
+        if (held < slice && slices.compareAndSet(index, held, slice))
+            counts.set(index, 0);
+
+        counts.incrementAndGet(index);
+    }
+
+    /**
+     * Returns the number of events counted within the window.
+     */
+    public long sum() {
+        long current = Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long slice = slices.get(i);
+            if (slice > current - buckets && slice <= current)
+                total += counts.get(i);
+        }
+
+        return total;
+    }
+
+    /**
+     * Forgets every event counted so far.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets; i++) {
+            slices.set(i, EMPTY);
+            counts.set(i, 0);
+        }
+    }
+}
@@ -8,7 +8,8 @@ import org.bhel.hrm.common.error.ErrorContext;
  * <p>
  * This exception indicates an authentication failure due to incorrect login details.
  * It is recommended not to disclose whether the username exists or which specific
- * credential was incorrect, to prevent user enumeration attacks.
+ * credential was incorrect, to prevent user enumeration attacks. It is an expected
+ * outcome and carries no stack trace by default; see {@link HRMException}.
  */
 public final class AuthenticationException extends HRMException {
     private static final String MESSAGE = "Invalid username or password.";
@@ -23,7 +24,10 @@ public final class AuthenticationException extends HRMException {
     public AuthenticationException(String username) {
         super(
             ErrorCode.AUTH_INVALID_CREDENTIALS,
-            MESSAGE
+            MESSAGE,
+            null,
+            null,
+            true
         );
         this.username = username;
     }
@@ -38,7 +42,9 @@ public final class AuthenticationException extends HRMException {
         super(
             ErrorCode.AUTH_INVALID_CREDENTIALS,
             MESSAGE,
-            context
+            null,
+            context,
+            true
         );
         this.username = username;
     }
@@ -54,7 +60,8 @@ public final class AuthenticationException extends HRMException {
             ErrorCode.AUTH_INVALID_CREDENTIALS,
             MESSAGE,
             cause,
-            null
+            null,
+            true
         );
         this.username = username;
     }
@@ -71,7 +78,8 @@ public final class AuthenticationException extends HRMException {
             ErrorCode.AUTH_INVALID_CREDENTIALS,
             MESSAGE,
             cause,
-            context
+            context,
+            true
         );
         this.username = username;
     }
@@ -7,6 +7,7 @@ import org.bhel.hrm.common.error.ErrorContext;
  * Thrown when attempting to create a user with a username that already exists.
  * <p>
  * This exception indicates a violation of the unique username constraint in the system.
+ * It is an expected outcome and carries no stack trace by default; see {@link HRMException}.
  */
 public final class DuplicateUserException extends HRMException {
     private final String identifier;
@@ -18,7 +19,7 @@ public final class DuplicateUserException extends HRMException {
      * @param message The detail message
      */
     public DuplicateUserException(String message) {
-        super(ErrorCode.USER_ALREADY_EXISTS, message);
+        super(ErrorCode.USER_ALREADY_EXISTS, message, null, null, true);
         this.identifier = null;
         this.identifierType = null;
     }
@@ -32,7 +33,10 @@ public final class DuplicateUserException extends HRMException {
     public DuplicateUserException(String identifier, String identifierType) {
         super(
             ErrorCode.USER_ALREADY_EXISTS,
-            formatMessage(identifierType, identifier)
+            formatMessage(identifierType, identifier),
+            null,
+            null,
+            true
         );
         this.identifier = identifier;
         this.identifierType = identifierType;
@@ -49,7 +53,9 @@ public final class DuplicateUserException extends HRMException {
         super(
             ErrorCode.USER_ALREADY_EXISTS,
             formatMessage(identifierType, identifier),
-            context
+            null,
+            context,
+            true
         );
         this.identifier = identifier;
         this.identifierType = identifierType;
@@ -62,13 +68,13 @@ public final class DuplicateUserException extends HRMException {
      * @param context The error context
      */
     public DuplicateUserException(String message, ErrorContext context) {
-        super(ErrorCode.USER_ALREADY_EXISTS, message, context);
+        super(ErrorCode.USER_ALREADY_EXISTS, message, null, context, true);
         this.identifier = null;
         this.identifierType = null;
     }
 
     private static String formatMessage(String identifierType, String identifier) {
-        return String.format("A user with %s [%s] already exists", identifierType, identifier);
+        return "A user with " + identifierType + " [" + identifier + "] already exists";
     }
 
     public String getIdentifier() {
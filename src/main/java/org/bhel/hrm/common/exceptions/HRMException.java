@@ -10,16 +10,26 @@ import org.bhel.hrm.common.error.ErrorContext;
  * This exception should be extended
  * for specific error conditions within the HRM system. It ensures that
  * exceptional conditions are explicitly handled by client code.
+ * <p>
+ * Subclasses that report an expected business outcome, e.g. a failed login or a missing
+ * record, are constructed as <em>expected outcomes</em>: they skip filling in a stack trace
+ * and recording suppressed exceptions, which would otherwise dominate the cost of creating
+ * them and of sending them back to the client. Stack traces for these can be turned back on
+ * with {@link #setBusinessStackTracesEnabled(boolean)} when debugging.
  */
 public sealed class HRMException extends Exception permits
     AuthenticationException,
     DuplicateUserException,
     EnrollmentException,
     InvalidInputException,
+    InvalidSessionException,
     LeaveManagementException,
     ResourceNotFoundException,
+    ServerBusyException,
     UserNotFoundException {
 
+    private static volatile boolean businessStackTraces = Boolean.getBoolean("hrm.exceptions.businessStackTraces");
+
     private final ErrorCode errorCode;
     private final ErrorContext errorContext;
 
@@ -66,7 +76,28 @@ public sealed class HRMException extends Exception permits
         Throwable cause,
         ErrorContext context
     ) {
-        super(formatMessage(errorCode, message), cause);
+        this(errorCode, message, cause, context, false);
+    }
+
+    /**
+     * Constructs a new HRM exception, optionally as an expected business outcome.
+     *
+     * @param errorCode The error code
+     * @param message The detail message explaining the exception
+     * @param cause The underlying cause of the exception; may be null
+     * @param context The error context; may be null
+     * @param expectedOutcome {@code true} if this reports an expected business outcome, in which
+     *                        case no suppressed exceptions are recorded and, unless business stack
+     *                        traces are enabled, no stack trace is filled in
+     */
+    protected HRMException(
+        ErrorCode errorCode,
+        String message,
+        Throwable cause,
+        ErrorContext context,
+        boolean expectedOutcome
+    ) {
+        super(formatMessage(errorCode, message), cause, !expectedOutcome, !expectedOutcome || businessStackTraces);
 
         this.errorCode = errorCode;
         this.errorContext = context;
@@ -76,7 +107,22 @@ public sealed class HRMException extends Exception permits
         ErrorCode errorCode,
         String message
     ) {
-        return String.format("[%s] %s", errorCode.getCode(), message);
+        return "[" + errorCode.getCode() + "] " + message;
+    }
+
+    /**
+     * Sets whether exceptions for expected business outcomes record a stack trace. Off by
+     * default, or as set by the {@code hrm.exceptions.businessStackTraces} system property.
+     * Affects exceptions constructed afterwards.
+     *
+     * @param enabled {@code true} to record stack traces for every exception
+     */
+    public static void setBusinessStackTracesEnabled(boolean enabled) {
+        businessStackTraces = enabled;
+    }
+
+    public static boolean isBusinessStackTracesEnabled() {
+        return businessStackTraces;
     }
 
     public ErrorCode getErrorCode() {
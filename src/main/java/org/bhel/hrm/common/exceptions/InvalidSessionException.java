@@ -0,0 +1,42 @@
+package org.bhel.hrm.common.exceptions;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.error.ErrorContext;
+
+/**
+ * Thrown when a request carries a session token that is unknown, has expired or
+ * has been logged out.
+ * <p>
+ * The client should discard the token and ask the user to log in again. It is an
+ * expected outcome and carries no stack trace by default; see {@link HRMException}.
+ */
+public final class InvalidSessionException extends HRMException {
+    private static final String MESSAGE = "Your session has expired; please log in again.";
+
+    // Carries no state of its own, so one instance can be shared while stack traces are off.
+    private static final InvalidSessionException SHARED = new InvalidSessionException();
+
+    /**
+     * Constructs an InvalidSessionException.
+     */
+    public InvalidSessionException() {
+        super(ErrorCode.AUTH_TOKEN_EXPIRED, MESSAGE, null, null, true);
+    }
+
+    /**
+     * Constructs an InvalidSessionException with the specified context.
+     *
+     * @param context The error context with additional information
+     */
+    public InvalidSessionException(ErrorContext context) {
+        super(ErrorCode.AUTH_TOKEN_EXPIRED, MESSAGE, null, context, true);
+    }
+
+    /**
+     * Returns a shared instance, or a new one if business stack traces are enabled, so that
+     * rejecting stale tokens does not allocate an exception per call.
+     */
+    public static InvalidSessionException instance() {
+        return isBusinessStackTracesEnabled() ? new InvalidSessionException() : SHARED;
+    }
+}
@@ -8,7 +8,8 @@ import org.bhel.hrm.common.error.ErrorContext;
  * cannot be found by its ID.
  * <p>
  * This is a more general exception than UserNotFoundException and
- * applies to any resource lookup failure.
+ * applies to any resource lookup failure. It is an expected outcome and
+ * carries no stack trace by default; see {@link HRMException}.
  */
 public final class ResourceNotFoundException extends HRMException {
     private final Object resourceId;
@@ -24,7 +25,10 @@ public final class ResourceNotFoundException extends HRMException {
     public ResourceNotFoundException(ErrorCode errorCode, String resourceType, Object resourceId) {
         super(
             errorCode,
-            formatMessage(resourceType, resourceId)
+            formatMessage(resourceType, resourceId),
+            null,
+            null,
+            true
         );
         this.resourceId = resourceId;
         this.resourceType = resourceType;
@@ -47,7 +51,9 @@ public final class ResourceNotFoundException extends HRMException {
         super(
             errorCode,
             formatMessage(resourceType, resourceId),
-            context
+            null,
+            context,
+            true
         );
         this.resourceType = resourceType;
         this.resourceId = resourceId;
@@ -60,7 +66,7 @@ public final class ResourceNotFoundException extends HRMException {
      * @param message The detail message
      */
     public ResourceNotFoundException(ErrorCode errorCode, String message) {
-        super(errorCode, message);
+        super(errorCode, message, null, null, true);
         this.resourceId = null;
         this.resourceType = null;
     }
@@ -73,7 +79,7 @@ public final class ResourceNotFoundException extends HRMException {
      * @param context The error context
      */
     public ResourceNotFoundException(ErrorCode errorCode, String message, ErrorContext context) {
-        super(errorCode, message, context);
+        super(errorCode, message, null, context, true);
         this.resourceId = null;
         this.resourceType = null;
     }
@@ -89,7 +95,9 @@ public final class ResourceNotFoundException extends HRMException {
         super(
             ErrorCode.EMPLOYEE_NOT_FOUND,
             formatMessage(resourceType, resourceId),
-            context
+            null,
+            context,
+            true
         );
         this.resourceId = resourceId;
         this.resourceType = resourceType;
@@ -99,8 +107,7 @@ public final class ResourceNotFoundException extends HRMException {
         String resourceType,
         Object resourceId
     ) {
-        return String.format("%s with ID '%s' was not found",
-            resourceType, resourceId);
+        return resourceType + " with ID '" + resourceId + "' was not found";
     }
 
     public String getResourceType() {
@@ -0,0 +1,55 @@
+package org.bhel.hrm.common.exceptions;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.error.ErrorContext;
+
+/**
+ * Thrown when the server rejects a request because a bounded resource it needs,
+ * such as the password hashing executor, is already at capacity.
+ * <p>
+ * The request was not processed and can safely be retried after a short delay.
+ * Thrown on every rejection under overload, so it carries no stack trace by default;
+ * see {@link HRMException}.
+ */
+public final class ServerBusyException extends HRMException {
+    private final String resource;
+
+    /**
+     * Constructs a ServerBusyException for the saturated resource.
+     *
+     * @param resource A short name of the resource that is at capacity, e.g. "password hashing"
+     */
+    public ServerBusyException(String resource) {
+        this(ErrorCode.SYSTEM_BUSY, resource);
+    }
+
+    /**
+     * Constructs a ServerBusyException with a specific error code.
+     *
+     * @param errorCode The error code describing why the request was rejected
+     * @param resource A short name of the resource that is unavailable
+     */
+    public ServerBusyException(ErrorCode errorCode, String resource) {
+        super(errorCode, formatMessage(resource), null, null, true);
+        this.resource = resource;
+    }
+
+    /**
+     * Constructs a ServerBusyException with context.
+     *
+     * @param resource A short name of the resource that is at capacity
+     * @param context The error context
+     */
+    public ServerBusyException(String resource, ErrorContext context) {
+        super(ErrorCode.SYSTEM_BUSY, formatMessage(resource), null, context, true);
+        this.resource = resource;
+    }
+
+    private static String formatMessage(String resource) {
+        return "The server is at capacity for [" + resource + "]; please retry shortly";
+    }
+
+    public String getResource() {
+        return resource;
+    }
+}
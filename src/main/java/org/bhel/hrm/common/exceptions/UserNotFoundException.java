@@ -7,7 +7,8 @@ import org.bhel.hrm.common.error.ErrorContext;
  * Thrown when a requested user cannot be found in the system.
  * <p>
  * This exception indicates that an operation requiring a specific user failed
- * because no user with the specified identifier exists.
+ * because no user with the specified identifier exists. It is an expected
+ * outcome and carries no stack trace by default; see {@link HRMException}.
  */
 public final class UserNotFoundException extends HRMException {
     private final String identifier;
@@ -20,7 +21,10 @@ public final class UserNotFoundException extends HRMException {
     public UserNotFoundException(String identifier) {
         super(
             ErrorCode.USER_NOT_FOUND,
-            formatMessage(identifier)
+            formatMessage(identifier),
+            null,
+            null,
+            true
         );
         this.identifier = identifier;
     }
@@ -35,7 +39,9 @@ public final class UserNotFoundException extends HRMException {
         super(
             ErrorCode.USER_NOT_FOUND,
             formatMessage(identifier),
-            context
+            null,
+            context,
+            true
         );
         this.identifier = identifier;
     }
@@ -47,13 +53,12 @@ public final class UserNotFoundException extends HRMException {
      * @param message Custom error message
      */
     public UserNotFoundException(String identifier, String message) {
-        super(ErrorCode.USER_NOT_FOUND, message);
+        super(ErrorCode.USER_NOT_FOUND, message, null, null, true);
         this.identifier = identifier;
     }
 
     private static String formatMessage(String identifier) {
-        return String.format("User with identifier '%s' was not found",
-            identifier);
+        return "User with identifier '" + identifier + "' was not found";
     }
 
     public String getIdentifier() {
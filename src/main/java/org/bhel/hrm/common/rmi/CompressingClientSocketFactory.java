@@ -0,0 +1,54 @@
+package org.bhel.hrm.common.rmi;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+
+/**
+ * Creates the client end of compressed, tuned RMI connections. The server exports its
+ * remote object with this factory, and RMI ships it to clients inside the stub, so the
+ * client needs no configuration of its own.
+ * <p>
+ * The options are kept as primitive fields so that the stub passes the RMI registry's
+ * default deserialization filter. Instances with equal options are equal, which lets RMI
+ * reuse connections between them.
+ */
+public final class CompressingClientSocketFactory implements RMIClientSocketFactory, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final int compressionLevel;
+    private final boolean tcpNoDelay;
+    private final int bufferSize;
+
+    public CompressingClientSocketFactory(RmiSocketOptions options) {
+        this.compressionEnabled = options.compressionEnabled();
+        this.compressionThreshold = options.compressionThreshold();
+        this.compressionLevel = options.compressionLevel();
+        this.tcpNoDelay = options.tcpNoDelay();
+        this.bufferSize = options.bufferSize();
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return new CompressingSocket(host, port, options());
+    }
+
+    RmiSocketOptions options() {
+        return new RmiSocketOptions(compressionEnabled, compressionThreshold, compressionLevel, tcpNoDelay, bufferSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompressingClientSocketFactory other && options().equals(other.options());
+    }
+
+    @Override
+    public int hashCode() {
+        return options().hashCode();
+    }
+}
@@ -0,0 +1,149 @@
+package org.bhel.hrm.common.rmi;
+
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.bhel.hrm.common.rmi.CompressingOutputStream.FRAME_DEFLATED;
+import static org.bhel.hrm.common.rmi.CompressingOutputStream.FRAME_RAW;
+import static org.bhel.hrm.common.rmi.CompressingOutputStream.MAX_FRAME_SIZE;
+
+/**
+ * Reads the frames written by {@link CompressingOutputStream}, inflating compressed ones.
+ */
+final class CompressingInputStream extends FilterInputStream {
+    private final DataInputStream frames;
+    private final Inflater inflater = new Inflater();
+    private final byte[] buffer = new byte[MAX_FRAME_SIZE];
+    private final byte[] compressed = new byte[MAX_FRAME_SIZE];
+    private int position;
+    private int limit;
+
+    CompressingInputStream(InputStream in) {
+        super(new DataInputStream(in));
+        this.frames = (DataInputStream) super.in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill())
+            return -1;
+
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+
+        if (!fill())
+            return -1;
+
+        int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0 || !fill())
+            return 0;
+
+        int skipped = (int) Math.min(n, limit - position);
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        // Marking is not supported.
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            frames.close();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Reads the next frame if the current one is used up.
+     *
+     * @return {@code false} at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        while (position >= limit) {
+            int type = frames.read();
+            if (type < 0)
+                return false;
+
+            int length = readLength();
+
+            switch (type) {
+                case FRAME_RAW -> frames.readFully(buffer, 0, length);
+                case FRAME_DEFLATED -> inflate(length);
+                default -> throw new StreamCorruptedException("Unknown frame type " + type + ".");
+            }
+
+            position = 0;
+            limit = length;
+        }
+
+        return true;
+    }
+
+    private void inflate(int length) throws IOException {
+        int compressedLength = readLength();
+        frames.readFully(compressed, 0, compressedLength);
+
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+
+        try {
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int n = inflater.inflate(buffer, inflated, length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+
+                inflated += n;
+            }
+
+            if (inflated != length)
+                throw new StreamCorruptedException("Compressed frame does not match its declared length.");
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("Corrupt compressed frame: " + e.getMessage());
+        }
+    }
+
+    private int readLength() throws IOException {
+        int length = frames.readInt();
+        if (length <= 0 || length > MAX_FRAME_SIZE)
+            throw new StreamCorruptedException("Invalid frame length " + length + ".");
+
+        return length;
+    }
+}
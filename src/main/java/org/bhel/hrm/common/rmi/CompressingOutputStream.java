@@ -0,0 +1,114 @@
+package org.bhel.hrm.common.rmi;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Splits the written bytes into frames at every {@link #flush()} (or every
+ * {@value #MAX_FRAME_SIZE} bytes) and deflates each frame of at least the threshold size.
+ * <p>
+ * RMI flushes once per call or response, so small calls travel as a single uncompressed
+ * frame while large responses, such as the employee listing, are compressed whole. A frame
+ * that does not shrink is sent uncompressed. Each frame starts with a type byte and its
+ * length; compressed frames also carry their compressed length.
+ */
+final class CompressingOutputStream extends FilterOutputStream {
+    static final int MAX_FRAME_SIZE = 64 * 1024;
+    static final int FRAME_RAW = 0;
+    static final int FRAME_DEFLATED = 1;
+
+    private final DataOutputStream frames;
+    private final Deflater deflater;
+    private final int threshold;
+    private final byte[] buffer = new byte[MAX_FRAME_SIZE];
+    private byte[] compressed = new byte[MAX_FRAME_SIZE];
+    private int count;
+
+    CompressingOutputStream(OutputStream out, int threshold, int level) {
+        super(new DataOutputStream(out));
+        this.frames = (DataOutputStream) super.out;
+        this.deflater = new Deflater(level);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length)
+            writeFrame();
+
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length)
+                writeFrame();
+
+            int chunk = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeFrame();
+        frames.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            frames.close();
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count == 0)
+            return;
+
+        if (count >= threshold) {
+            int compressedLength = deflate();
+
+            if (compressedLength < count) {
+                frames.writeByte(FRAME_DEFLATED);
+                frames.writeInt(count);
+                frames.writeInt(compressedLength);
+                frames.write(compressed, 0, compressedLength);
+                count = 0;
+                return;
+            }
+        }
+
+        frames.writeByte(FRAME_RAW);
+        frames.writeInt(count);
+        frames.write(buffer, 0, count);
+        count = 0;
+    }
+
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(buffer, 0, count);
+        deflater.finish();
+
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length)
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        return length;
+    }
+}
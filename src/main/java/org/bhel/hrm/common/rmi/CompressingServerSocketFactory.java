@@ -0,0 +1,56 @@
+package org.bhel.hrm.common.rmi;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.server.RMIServerSocketFactory;
+
+/**
+ * Creates the server end of compressed, tuned RMI connections; the counterpart of
+ * {@link CompressingClientSocketFactory}, which must be created with the same options.
+ * <p>
+ * Instances with equal options are equal, which lets RMI share a listening port between them.
+ */
+public final class CompressingServerSocketFactory implements RMIServerSocketFactory {
+    private final RmiSocketOptions options;
+
+    public CompressingServerSocketFactory(RmiSocketOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket() {
+            @Override
+            public Socket accept() throws IOException {
+                CompressingSocket socket = new CompressingSocket(options);
+                implAccept(socket);
+                socket.applyOptions();
+                return socket;
+            }
+        };
+
+        try {
+            // Accepted sockets inherit the receive buffer size, which must be set before binding.
+            if (options.bufferSize() > 0)
+                serverSocket.setReceiveBufferSize(options.bufferSize());
+
+            serverSocket.bind(new InetSocketAddress(port));
+            return serverSocket;
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompressingServerSocketFactory other && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return options.hashCode();
+    }
+}
@@ -0,0 +1,82 @@
+package org.bhel.hrm.common.rmi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * A socket tuned with {@link RmiSocketOptions} whose streams, when compression is enabled,
+ * compress outgoing and inflate incoming frames. Both ends of a connection must use it.
+ */
+final class CompressingSocket extends Socket {
+    private final RmiSocketOptions options;
+    private InputStream in;
+    private OutputStream out;
+
+    /**
+     * Creates an unconnected socket, to be filled in by {@code ServerSocket.implAccept}.
+     */
+    CompressingSocket(RmiSocketOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Creates a socket connected to the given endpoint.
+     */
+    CompressingSocket(String host, int port, RmiSocketOptions options) throws IOException {
+        this.options = options;
+
+        try {
+            // Buffer sizes must be set before connecting to take part in window negotiation.
+            applyOptions();
+            connect(new InetSocketAddress(host, port));
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies TCP_NODELAY and the socket buffer sizes.
+     */
+    void applyOptions() throws SocketException {
+        setTcpNoDelay(options.tcpNoDelay());
+
+        if (options.bufferSize() > 0) {
+            setSendBufferSize(options.bufferSize());
+            setReceiveBufferSize(options.bufferSize());
+        }
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (in == null) {
+            InputStream raw = super.getInputStream();
+            in = options.compressionEnabled()
+                ? new CompressingInputStream(new BufferedInputStream(raw, options.streamBufferSize()))
+                : raw;
+        }
+
+        return in;
+    }
+
+    @Override
+    public synchronized OutputStream getOutputStream() throws IOException {
+        if (out == null) {
+            OutputStream raw = super.getOutputStream();
+            out = options.compressionEnabled()
+                ? new CompressingOutputStream(
+                    new BufferedOutputStream(raw, options.streamBufferSize()),
+                    options.compressionThreshold(),
+                    options.compressionLevel())
+                : raw;
+        }
+
+        return out;
+    }
+}
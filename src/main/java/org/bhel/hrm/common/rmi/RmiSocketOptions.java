@@ -0,0 +1,36 @@
+package org.bhel.hrm.common.rmi;
+
+import java.util.zip.Deflater;
+
+/**
+ * Transport settings shared by both ends of an RMI connection. The server chooses them and
+ * they reach the client inside the remote stub, as part of its client socket factory.
+ *
+ * @param compressionEnabled Whether messages are sent through a compressing stream
+ * @param compressionThreshold Messages smaller than this many bytes are sent uncompressed
+ * @param compressionLevel The {@link Deflater} level, from 1 (fastest) to 9 (smallest)
+ * @param tcpNoDelay Whether Nagle's algorithm is disabled, so small requests are sent immediately
+ * @param bufferSize The socket send/receive and stream buffer size in bytes; 0 keeps the defaults
+ */
+public record RmiSocketOptions(
+    boolean compressionEnabled,
+    int compressionThreshold,
+    int compressionLevel,
+    boolean tcpNoDelay,
+    int bufferSize
+) {
+    // Used when no buffer size is configured; matches BufferedInputStream's default.
+    static final int DEFAULT_STREAM_BUFFER_SIZE = 8192;
+
+    public RmiSocketOptions {
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Compression level must be between 1 and 9.");
+
+        compressionThreshold = Math.max(0, compressionThreshold);
+        bufferSize = Math.max(0, bufferSize);
+    }
+
+    int streamBufferSize() {
+        return bufferSize > 0 ? bufferSize : DEFAULT_STREAM_BUFFER_SIZE;
+    }
+}
@@ -0,0 +1,160 @@
+package org.bhel.hrm.common.serialization;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of DTOs that serializes its elements in the compact wire format.
+ * <p>
+ * Default Java serialization writes a handle and a field-by-field record for every element
+ * and rebuilds each record reflectively. When every element has the same DTO type with a
+ * codec in {@link DtoCodecs}, this list instead writes the type's schema ID once, followed by
+ * the elements' fields as variable-length integers and de-duplicated strings.
+ * <p>
+ * Lists that cannot be encoded this way (mixed or unregistered types, {@code null} elements)
+ * fall back to default serialization. So does every list if the {@value #COMPACT_PROPERTY}
+ * system property is {@code false} on the sending side. The receiving side reads both forms.
+ *
+ * @param <E> The element type
+ */
+public final class CompactList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Set to {@code false} to send every list with default Java serialization. */
+    public static final String COMPACT_PROPERTY = "hrm.serialization.compact";
+
+    private static final byte FORMAT_JAVA = 0;
+    private static final byte FORMAT_COMPACT = 1;
+
+    // Upper bound on the encoded elements of one list, checked before the buffer is allocated.
+    static final int MAX_COMPACT_BYTES = 64 * 1024 * 1024;
+
+    private static final boolean COMPACT_ENABLED =
+        Boolean.parseBoolean(System.getProperty(COMPACT_PROPERTY, "true"));
+
+    private transient List<E> elements;
+
+    private CompactList(List<E> elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Wraps a list for sending over RMI. The list is not copied, so it must not be modified afterwards.
+     *
+     * @param elements The elements, e.g. from {@code stream().toList()}; must not be null
+     * @return A serializable view of the elements
+     */
+    public static <E> List<E> of(List<E> elements) {
+        return elements instanceof CompactList<E> ? elements : new CompactList<>(elements);
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        DtoCodecs.Registration<E> registration = COMPACT_ENABLED ? registrationFor(elements) : null;
+
+        if (registration == null) {
+            out.writeByte(FORMAT_JAVA);
+            out.writeObject(new ArrayList<>(elements));
+            return;
+        }
+
+        // Roughly what the fields of a typical DTO take, to avoid regrowing the buffer.
+        CompactWriter writer = new CompactWriter(elements.size() * 32);
+        writer.writeInt(elements.size());
+        for (E element : elements)
+            registration.codec().write(element, writer);
+
+        byte[] bytes = writer.toByteArray();
+        out.writeByte(FORMAT_COMPACT);
+        out.writeInt(registration.schemaId());
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        byte format = in.readByte();
+
+        switch (format) {
+            case FORMAT_JAVA -> elements = Collections.unmodifiableList((List<E>) in.readObject());
+            case FORMAT_COMPACT -> elements = readCompact(in);
+            default -> throw new InvalidObjectException("Unknown list format " + format + ".");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> readCompact(ObjectInputStream in) throws IOException {
+        int schemaId = in.readInt();
+        DtoCodecs.Registration<?> registration = DtoCodecs.forSchemaId(schemaId);
+        if (registration == null)
+            throw new InvalidObjectException("Unknown DTO schema ID " + schemaId + "; the peer may be out of date.");
+
+        int length = in.readInt();
+        if (length < 0 || length > MAX_COMPACT_BYTES)
+            throw new InvalidObjectException("Invalid compact list length " + length + ".");
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        try {
+            CompactReader reader = new CompactReader(bytes);
+            int size = reader.readInt();
+            if (size < 0 || size > bytes.length)
+                throw new InvalidObjectException("Invalid list size " + size + ".");
+
+            List<Object> decoded = new ArrayList<>(size);
+            for (int i = 0; i < size; i++)
+                decoded.add(registration.codec().read(reader));
+
+            if (!reader.isExhausted())
+                throw new InvalidObjectException("Unexpected trailing data after " + size + " elements.");
+
+            return (List<E>) Collections.unmodifiableList(decoded);
+        } catch (CompactReader.MalformedDataException e) {
+            InvalidObjectException invalid = new InvalidObjectException("Malformed compact list: " + e.getMessage());
+            invalid.initCause(e);
+            throw invalid;
+        }
+    }
+
+    /**
+     * Returns the codec registration shared by every element, or {@code null} if the
+     * elements cannot be written in the compact format.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> DtoCodecs.Registration<E> registrationFor(List<E> elements) {
+        if (elements.isEmpty() || elements.getFirst() == null)
+            return null;
+
+        Class<E> type = (Class<E>) elements.getFirst().getClass();
+        for (E element : elements) {
+            if (element == null || element.getClass() != type)
+                return null;
+        }
+
+        return DtoCodecs.forType(type);
+    }
+}
@@ -0,0 +1,152 @@
+package org.bhel.hrm.common.serialization;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes values written by {@link CompactWriter}, in the same order they were written.
+ * <p>
+ * Malformed input fails with a {@link MalformedDataException}. A reader decodes a single
+ * response and is not thread-safe.
+ */
+public final class CompactReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * @param buffer The encoded bytes; not copied, so must not be modified while reading
+     */
+    public CompactReader(byte[] buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.length;
+    }
+
+    public int readInt() {
+        long raw = readUnsignedVarLong();
+        if (raw >>> 32 != 0)
+            throw new MalformedDataException("Integer value out of range.");
+
+        return (int) (raw >>> 1) ^ -(int) (raw & 1);
+    }
+
+    public long readLong() {
+        long raw = readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public boolean readBoolean() {
+        return switch (readByte()) {
+            case 0 -> false;
+            case 1 -> true;
+            default -> throw new MalformedDataException("Invalid boolean value.");
+        };
+    }
+
+    public String readString() {
+        long tag = readUnsignedVarLong();
+        if (tag == 0)
+            return null;
+
+        if ((tag & 1) == 1) {
+            long index = tag >>> 1;
+            if (index >= strings.size())
+                throw new MalformedDataException("String back-reference out of range.");
+
+            return strings.get((int) index);
+        }
+
+        long length = (tag >>> 1) - 1;
+        if (length > limit - position)
+            throw new MalformedDataException("Unexpected end of data.");
+
+        String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        strings.add(value);
+        return value;
+    }
+
+    /**
+     * Reads an enum constant written by {@link CompactWriter#writeEnum(Enum)}.
+     *
+     * @param constants The constants of the expected enum, i.e. {@code MyEnum.values()}
+     */
+    public <E extends Enum<E>> E readEnum(E[] constants) {
+        long tag = readUnsignedVarLong();
+        if (tag == 0)
+            return null;
+
+        if (tag > constants.length)
+            throw new MalformedDataException("Unknown enum ordinal " + (tag - 1) + ".");
+
+        return constants[(int) tag - 1];
+    }
+
+    public LocalDateTime readLocalDateTime() {
+        if (!readBoolean())
+            return null;
+
+        return LocalDateTime.ofEpochSecond(readLong(), readInt(), ZoneOffset.UTC);
+    }
+
+    public BigDecimal readBigDecimal() {
+        if (!readBoolean())
+            return null;
+
+        int scale = readInt();
+        return new BigDecimal(new BigInteger(readBytes(readInt())), scale);
+    }
+
+    /**
+     * Returns {@code true} if every byte has been read.
+     */
+    public boolean isExhausted() {
+        return position == limit;
+    }
+
+    private long readUnsignedVarLong() {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return value;
+        }
+
+        throw new MalformedDataException("Variable-length integer is too long.");
+    }
+
+    private byte readByte() {
+        if (position >= limit)
+            throw new MalformedDataException("Unexpected end of data.");
+
+        return buffer[position++];
+    }
+
+    private byte[] readBytes(int length) {
+        if (length < 0 || length > limit - position)
+            throw new MalformedDataException("Unexpected end of data.");
+
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    /**
+     * Thrown when the encoded data is truncated or inconsistent.
+     */
+    public static final class MalformedDataException extends RuntimeException {
+        public MalformedDataException(String message) {
+            super(message);
+        }
+    }
+}
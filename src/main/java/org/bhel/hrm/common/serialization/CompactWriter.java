@@ -0,0 +1,139 @@
+package org.bhel.hrm.common.serialization;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes values into the compact wire format read by {@link CompactReader}.
+ * <p>
+ * Integers are written as variable-length (zig-zag) integers, so small IDs take one or two
+ * bytes. Each distinct string is written once per writer; repeats, such as a department name
+ * shared by many rows, are written as a short back-reference. Enums are written by ordinal.
+ * <p>
+ * A writer buffers everything in memory and is meant to encode a single response. It is not
+ * thread-safe.
+ */
+public final class CompactWriter {
+    private byte[] buffer;
+    private int position;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    public CompactWriter() {
+        this(256);
+    }
+
+    /**
+     * @param initialCapacity The initial buffer size in bytes; the buffer grows as needed
+     */
+    public CompactWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeInt(int value) {
+        writeUnsignedVarLong(((value << 1) ^ (value >> 31)) & 0xFFFF_FFFFL);
+    }
+
+    public void writeLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a string, or a back-reference if the same string was already written.
+     * A {@code null} string is preserved.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeUnsignedVarLong(0);
+            return;
+        }
+
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeUnsignedVarLong(((long) index << 1) | 1);
+            return;
+        }
+
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedVarLong((long) (bytes.length + 1) << 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes an enum constant by ordinal; {@code null} is preserved. Reordering the constants
+     * of an enum used in a DTO changes the wire format.
+     */
+    public void writeEnum(Enum<?> value) {
+        writeUnsignedVarLong(value == null ? 0 : value.ordinal() + 1L);
+    }
+
+    public void writeLocalDateTime(LocalDateTime value) {
+        writeBoolean(value != null);
+
+        if (value != null) {
+            writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeInt(value.getNano());
+        }
+    }
+
+    public void writeBigDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeInt(value.scale());
+            writeInt(unscaled.length);
+            writeBytes(unscaled);
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Returns a copy of the bytes written so far.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+    }
+}
@@ -0,0 +1,13 @@
+package org.bhel.hrm.common.serialization;
+
+/**
+ * Writes and reads one DTO type in the compact wire format. Fields must be read in exactly
+ * the order they are written; changing either side changes the DTO's schema.
+ *
+ * @param <T> The DTO type
+ */
+public interface DtoCodec<T> {
+    void write(T value, CompactWriter out);
+
+    T read(CompactReader in);
+}
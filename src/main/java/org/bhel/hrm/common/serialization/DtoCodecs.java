@@ -0,0 +1,205 @@
+package org.bhel.hrm.common.serialization;
+
+import org.bhel.hrm.common.dtos.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The registry of compact codecs, each bound to a fixed schema ID that is written in place
+ * of the DTO's class descriptor.
+ * <p>
+ * Schema IDs are part of the wire format shared by client and server: never reuse or
+ * renumber one. When a DTO's fields change, register its new codec under a new ID so that
+ * an out-of-date peer fails fast instead of misreading the data.
+ */
+public final class DtoCodecs {
+    private static final Map<Class<?>, Registration<?>> BY_TYPE = new HashMap<>();
+    private static final Map<Integer, Registration<?>> BY_SCHEMA_ID = new HashMap<>();
+
+    static {
+        register(1, EmployeeDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(EmployeeDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeInt(value.userId());
+                out.writeString(value.firstName());
+                out.writeString(value.lastName());
+                out.writeString(value.icPassport());
+            }
+
+            @Override
+            public EmployeeDTO read(CompactReader in) {
+                return new EmployeeDTO(in.readInt(), in.readInt(), in.readString(), in.readString(), in.readString());
+            }
+        });
+
+        register(2, UserDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(UserDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeString(value.username());
+                out.writeEnum(value.role());
+            }
+
+            @Override
+            public UserDTO read(CompactReader in) {
+                return new UserDTO(in.readInt(), in.readString(), in.readEnum(UserDTO.Role.values()));
+            }
+        });
+
+        register(3, LeaveApplicationDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(LeaveApplicationDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeInt(value.employeeId());
+                out.writeLocalDateTime(value.startDateTime());
+                out.writeLocalDateTime(value.endDateTime());
+                out.writeEnum(value.type());
+                out.writeEnum(value.status());
+                out.writeString(value.reason());
+            }
+
+            @Override
+            public LeaveApplicationDTO read(CompactReader in) {
+                return new LeaveApplicationDTO(
+                    in.readInt(),
+                    in.readInt(),
+                    in.readLocalDateTime(),
+                    in.readLocalDateTime(),
+                    in.readEnum(LeaveApplicationDTO.LeaveType.values()),
+                    in.readEnum(LeaveApplicationDTO.LeaveStatus.values()),
+                    in.readString()
+                );
+            }
+        });
+
+        register(4, ApplicantDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(ApplicantDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeInt(value.jobOpeningId());
+                out.writeString(value.fullName());
+                out.writeString(value.email());
+                out.writeString(value.phone());
+                out.writeEnum(value.status());
+            }
+
+            @Override
+            public ApplicantDTO read(CompactReader in) {
+                return new ApplicantDTO(
+                    in.readInt(),
+                    in.readInt(),
+                    in.readString(),
+                    in.readString(),
+                    in.readString(),
+                    in.readEnum(ApplicantDTO.ApplicantStatus.values())
+                );
+            }
+        });
+
+        register(5, TrainingCourseDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(TrainingCourseDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeString(value.title());
+                out.writeString(value.description());
+                out.writeInt(value.durationInHours());
+                out.writeString(value.department());
+            }
+
+            @Override
+            public TrainingCourseDTO read(CompactReader in) {
+                return new TrainingCourseDTO(in.readInt(), in.readString(), in.readString(), in.readInt(), in.readString());
+            }
+        });
+
+        register(6, JobOpeningDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(JobOpeningDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeString(value.title());
+                out.writeString(value.description());
+                out.writeString(value.department());
+                out.writeEnum(value.status());
+            }
+
+            @Override
+            public JobOpeningDTO read(CompactReader in) {
+                return new JobOpeningDTO(
+                    in.readInt(),
+                    in.readString(),
+                    in.readString(),
+                    in.readString(),
+                    in.readEnum(JobOpeningDTO.JobStatus.values())
+                );
+            }
+        });
+
+        register(7, BenefitPlanDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(BenefitPlanDTO value, CompactWriter out) {
+                out.writeInt(value.id());
+                out.writeString(value.planName());
+                out.writeString(value.provider());
+                out.writeString(value.description());
+                out.writeBigDecimal(value.costPerMonth());
+            }
+
+            @Override
+            public BenefitPlanDTO read(CompactReader in) {
+                return new BenefitPlanDTO(in.readInt(), in.readString(), in.readString(), in.readString(), in.readBigDecimal());
+            }
+        });
+
+        register(8, EmployeeRegistrationResultDTO.class, new DtoCodec<>() {
+            @Override
+            public void write(EmployeeRegistrationResultDTO value, CompactWriter out) {
+                out.writeString(value.username());
+                out.writeEnum(value.status());
+                out.writeInt(value.userId());
+                out.writeInt(value.employeeId());
+                out.writeString(value.message());
+            }
+
+            @Override
+            public EmployeeRegistrationResultDTO read(CompactReader in) {
+                return new EmployeeRegistrationResultDTO(
+                    in.readString(),
+                    in.readEnum(EmployeeRegistrationResultDTO.Status.values()),
+                    in.readInt(),
+                    in.readInt(),
+                    in.readString()
+                );
+            }
+        });
+    }
+
+    private DtoCodecs() {
+        throw new UnsupportedOperationException("This class DtoCodecs is a utility class; it should not be instantiated.");
+    }
+
+    /**
+     * Returns the registration for a DTO type, or {@code null} if it has no compact codec.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Registration<T> forType(Class<T> type) {
+        return (Registration<T>) BY_TYPE.get(type);
+    }
+
+    /**
+     * Returns the registration for a schema ID, or {@code null} if the ID is unknown.
+     */
+    static Registration<?> forSchemaId(int schemaId) {
+        return BY_SCHEMA_ID.get(schemaId);
+    }
+
+    private static <T> void register(int schemaId, Class<T> type, DtoCodec<T> codec) {
+        Registration<T> registration = new Registration<>(schemaId, type, codec);
+
+        if (BY_SCHEMA_ID.putIfAbsent(schemaId, registration) != null || BY_TYPE.putIfAbsent(type, registration) != null)
+            throw new IllegalStateException("Duplicate compact codec registration for " + type.getName() + ".");
+    }
+
+    record Registration<T>(int schemaId, Class<T> type, DtoCodec<T> codec) {}
+}
@@ -2,6 +2,7 @@ package org.bhel.hrm.common.services;
 
 import org.bhel.hrm.common.dtos.*;
 import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.InvalidSessionException;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
@@ -11,6 +12,10 @@ import java.util.List;
  * The remote service interface for the BHEL Human Resource Management system.
  * This interface defines the contract between the client and the server, specifying
  * all available remote operations. All data transfers are handled via DTOs.
+ * <p>
+ * Apart from {@link #authenticateUser(String, String)}, every operation takes the token of the
+ * {@link SessionDTO} issued at login as its first argument, and fails with an
+ * {@link InvalidSessionException} if the session has expired or been logged out.
  */
 public interface HRMService extends Remote {
     // A unique name to reference the service from the RMI registry.
@@ -19,127 +24,253 @@ public interface HRMService extends Remote {
     // --- 1. Authentication & User Management ---
 
     /**
-     * Authenticates a user with their credentials.
+     * Authenticates a user with their credentials and starts a session.
      *
      * @param username The user's username.
      * @param password The user's raw password.
-     * @return A {@link UserDTO} if authentication is successful
+     * @return A {@link SessionDTO} whose token authorizes all further calls
      * @throws RemoteException If a communication-related error occurs.
      * @throws HRMException If an authentication-related business rule is violated
      */
-    UserDTO authenticateUser(String username, String password) throws RemoteException, HRMException;
+    SessionDTO authenticateUser(String username, String password) throws RemoteException, HRMException;
+
+    /**
+     * Confirms that a session is still valid and extends it, e.g. after the client has
+     * reconnected. Unlike logging in again, this does not re-verify the password.
+     *
+     * @param sessionToken The token of the session to resume
+     * @return The session with its new expiry time, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If the session has expired or been logged out
+     */
+    SessionDTO resumeSession(String sessionToken) throws RemoteException, HRMException;
+
+    /**
+     * Ends a session. Further calls with its token are rejected. Unknown tokens are ignored.
+     *
+     * @param sessionToken The token of the session to end
+     * @throws RemoteException If a communication error occurs
+     */
+    void logout(String sessionToken) throws RemoteException;
 
     // --- 2. Employee Management (Primarily for HR Staff) ---
 
     /**
      * Registers a new employee, creating their user account and profile in one atomic operation.
      *
+     * @param sessionToken The token of the caller's session
      * @param registrationData A {@link NewEmployeeRegistrationDTO} containing all required details for the new user and employee, not null
      * @throws RemoteException If a communication error occurs
      * @throws HRMException If registration fails (e.g., username already exists) or business rules are violated
      */
-    void registerNewEmployee(NewEmployeeRegistrationDTO registrationData) throws RemoteException, HRMException;
+    void registerNewEmployee(
+        String sessionToken,
+        NewEmployeeRegistrationDTO registrationData
+    ) throws RemoteException, HRMException;
+
+    /**
+     * Registers many new employees in one call, e.g. for a bulk onboarding import. Rows that are
+     * invalid or whose username is already taken are skipped and reported instead of failing the import.
+     *
+     * @param sessionToken The token of the caller's session
+     * @param registrations The registrations to process, not null or empty
+     * @return One {@link EmployeeRegistrationResultDTO} per registration, in the same order, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If the import is too large or cannot be saved
+     */
+    List<EmployeeRegistrationResultDTO> registerNewEmployees(
+        String sessionToken,
+        List<NewEmployeeRegistrationDTO> registrations
+    ) throws RemoteException, HRMException;
 
     /**
      * Retrieves a list of all employees in the system.
      *
+     * @param sessionToken The token of the caller's session
      * @return A list of {@link EmployeeDTO}'s; empty if no employees exist, not null
      * @throws RemoteException If a communication-related error occurs
      * @throws HRMException If a business logic error occurs
      */
-    List<EmployeeDTO> getAllEmployees() throws RemoteException, HRMException;
+    List<EmployeeDTO> getAllEmployees(String sessionToken) throws RemoteException, HRMException;
+
+    /**
+     * Opens a cursor over all employees, in the same order as {@link #getAllEmployees(String)},
+     * for listings too large to fetch in one call. Rows are read from the database as the
+     * client requests chunks, so the first rows arrive before the whole listing is read.
+     *
+     * @param sessionToken The token of the caller's session
+     * @return A {@link RemoteIterator} over the employees, which the caller should close, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If too many cursors are already open or a business logic error occurs
+     */
+    RemoteIterator<EmployeeDTO> streamAllEmployees(String sessionToken) throws RemoteException, HRMException;
+
+    /**
+     * Retrieves one page of employees, ordered by last name, first name and ID.
+     * Pass the {@link EmployeePageDTO#nextCursor()} of a page to fetch the page after it.
+     *
+     * @param sessionToken The token of the caller's session
+     * @param after The cursor returned with the previous page, or {@code null} for the first page
+     * @param pageSize The maximum number of employees to return; must be positive
+     * @return An {@link EmployeePageDTO} with the employees and the cursor for the next page, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If the page size is invalid or a business logic error occurs
+     */
+    EmployeePageDTO getEmployeePage(
+        String sessionToken,
+        EmployeePageCursorDTO after,
+        int pageSize
+    ) throws RemoteException, HRMException;
 
     /**
      * Retrieves the full profile details for a single employee.
      *
+     * @param sessionToken The token of the caller's session
      * @param employeeId The ID of the employee to fetch; must be positive
      * @return An {@link EmployeeDTO} containing the employee's details, not null
      * @throws RemoteException If a communication error occurs
      * @throws HRMException If the employee is not found or another business rule is violated
      */
-    EmployeeDTO getEmployeeById(int employeeId) throws RemoteException, HRMException;
+    EmployeeDTO getEmployeeById(
+        String sessionToken,
+        int employeeId
+    ) throws RemoteException, HRMException;
 
     /**
      * Updates the profile information for an existing employee.
      *
+     * @param sessionToken The token of the caller's session
      * @param employeeDTO The DTO containing updated information; must include a valid ID, not null
      * @throws RemoteException If the update fails or a communication error occurs
      * @throws HRMException If the employee ID is invalid or data validation fails
      */
-    void updateEmployeeProfile(EmployeeDTO employeeDTO) throws RemoteException, HRMException;
+    void updateEmployeeProfile(
+        String sessionToken,
+        EmployeeDTO employeeDTO
+    ) throws RemoteException, HRMException;
 
     // --- 3. Leave Management (For Employees and HR) ---
 
     /**
      * Submits a new leave application for an employee.
      *
+     * @param sessionToken The token of the caller's session
      * @param leaveApplicationDTO The DTO containing the details of the leave request.
      * @throws RemoteException if the application is invalid or a communication error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    void applyForLeave(LeaveApplicationDTO leaveApplicationDTO) throws RemoteException;
+    void applyForLeave(
+        String sessionToken,
+        LeaveApplicationDTO leaveApplicationDTO
+    ) throws RemoteException, HRMException;
 
     /**
      * Retrieves the leave history for a specific employee.
      *
+     * @param sessionToken The token of the caller's session
      * @param employeeId The ID of the employee whose leave history is being requested.
      * @return A List of the employee's LeaveApplicationDTOs.
      * @throws RemoteException if a communication-related error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    List<LeaveApplicationDTO> getLeaveHistoryForEmployees(int employeeId) throws RemoteException;
+    List<LeaveApplicationDTO> getLeaveHistoryForEmployees(
+        String sessionToken,
+        int employeeId
+    ) throws RemoteException, HRMException;
 
     // --- 4. Training Management (For Employees and HR) ---
 
     /**
      * Retrieves a list of all available training courses.
      *
+     * @param sessionToken The token of the caller's session
      * @return A List of TrainingCourseDTOs.
      * @throws RemoteException if a communication-related error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    List<TrainingCourseDTO> getAllTrainingCourses() throws RemoteException;
+    List<TrainingCourseDTO> getAllTrainingCourses(
+        String sessionToken
+    ) throws RemoteException, HRMException;
 
     /**
      * Enrolls an employee in a specific training course.
      *
+     * @param sessionToken The token of the caller's session
      * @param employeeId The ID of the employee to enroll.
      * @param courseId The ID of the course to enroll in.
      * @throws RemoteException if enrollment fails (e.g., course is full) or a communication error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    void enrollInTraining(int employeeId, int courseId) throws RemoteException;
+    void enrollInTraining(
+        String sessionToken,
+        int employeeId,
+        int courseId
+    ) throws RemoteException, HRMException;
 
     // --- 5. Recruitment Management (Primarily for HR Staff) ---
 
     /**
      * Retrieves a list of all open job positions.
      *
+     * @param sessionToken The token of the caller's session
      * @return A List of JobOpeningDTOs.
      * @throws RemoteException if a communication-related error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    List<JobOpeningDTO> getAllJobOpenings() throws RemoteException;
+    List<JobOpeningDTO> getAllJobOpenings(String sessionToken) throws RemoteException, HRMException;
 
     /**
      * Retrieves all applicants for a specific job opening.
      *
+     * @param sessionToken The token of the caller's session
      * @param jobOpeningId The ID of the job opening.
      * @return A List of ApplicantDTOs for that job.
      * @throws RemoteException if a communication-related error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    List<ApplicantDTO> getApplicantsForJob(int jobOpeningId) throws RemoteException;
+    List<ApplicantDTO> getApplicantsForJob(
+        String sessionToken,
+        int jobOpeningId
+    ) throws RemoteException, HRMException;
 
     // --- 6. Benefits Management (For Employees and HR) ---
     /**
      * Retrieves a list of all benefit plans offered by the company.
      *
+     * @param sessionToken The token of the caller's session
      * @return A List of BenefitPlanDTOs.
      * @throws RemoteException if a communication-related error occurs.
+     * @throws HRMException If the session has expired or been logged out
      */
-    List<BenefitPlanDTO> getAllBenefitPlans() throws RemoteException;
+    List<BenefitPlanDTO> getAllBenefitPlans(String sessionToken) throws RemoteException, HRMException;
 
     /**
      * Enrolls an employee in a specific benefit plan.
      *
+     * @param sessionToken The token of the caller's session
      * @param employeeId The ID of the employee to enroll.
      * @param planId The ID of the benefit plan to enroll in.
      * @throws RemoteException if enrollment fails or a communication error occurs.
+     * @throws HRMException If the session has expired or been logged out
+     */
+    void enrollInBenefitPlan(
+        String sessionToken,
+        int employeeId,
+        int planId
+    ) throws RemoteException, HRMException;
+
+    // --- 7. Administration (Read-only, for Operators) ---
+
+    /**
+     * Retrieves a snapshot of the server's runtime metrics, such as connection pool
+     * saturation, open transactions and connection acquire latencies, as well as the
+     * latency percentiles and outcome counts of every remote operation
+     * ({@code rpc.<operation>.*}). Only available to HR staff.
+     *
+     * @param sessionToken The token of the caller's session
+     * @return A {@link ServerMetricsDTO} captured at the time of the call, not null
+     * @throws RemoteException If a communication error occurs
+     * @throws HRMException If the caller is not HR staff or the metrics cannot be collected
      */
-    void enrollInBenefitPlan(int employeeId, int planId) throws RemoteException;
+    ServerMetricsDTO getServerMetrics(String sessionToken) throws RemoteException, HRMException;
 }
@@ -0,0 +1,39 @@
+package org.bhel.hrm.common.services;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * A server-side cursor over a result too large to return in one call. Each call to
+ * {@link #next(int)} fetches the next chunk, so the client can show the first rows while
+ * the rest are still being read, and the server only ever holds one chunk in memory.
+ * <p>
+ * A cursor holds server resources, including a database connection, until its last element
+ * has been read or it is closed. Clients read until {@link #next(int)} returns an empty chunk,
+ * which also closes the cursor, and should close it, e.g. in a {@code finally} block, when they
+ * stop reading early. The server closes cursors that are not read for a while; reading a closed
+ * or expired cursor fails with a {@link NoSuchObjectException}.
+ *
+ * @param <T> The element type, e.g. {@code EmployeeDTO}
+ */
+public interface RemoteIterator<T> extends Remote {
+    /**
+     * Fetches the next chunk of elements. Once every element has been returned, the next
+     * call returns an empty chunk and closes the cursor.
+     *
+     * @param maxElements The maximum number of elements to return; the server may return fewer
+     * @return The next elements, in order; empty once the cursor is exhausted, never null
+     * @throws NoSuchObjectException If the cursor has been closed or has expired
+     * @throws RemoteException If a communication error occurs
+     */
+    List<T> next(int maxElements) throws RemoteException;
+
+    /**
+     * Releases the cursor's server resources. Closing a cursor more than once has no effect.
+     *
+     * @throws RemoteException If a communication error occurs
+     */
+    void close() throws RemoteException;
+}
@@ -9,6 +9,9 @@ import org.slf4j.LoggerFactory;
 
 import java.rmi.RemoteException;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Centralized exception handler for the HRM system that provides consistent error handling,
@@ -24,16 +27,22 @@ import java.sql.SQLException;
  * The handler uses dependency injection for configuration and message providers,
  * allowing for flexible error message customization and exception mapping strategies.
  * All exceptions are logged with unique error IDs for traceability and support.
+ * <p>
+ * Before an exception is logged, it is classified with an {@link ErrorCode} and passed to
+ * every registered {@link ErrorListener}, which is how error rates are kept and how a
+ * failing database is detected.
  *
  * @see ErrorContext
  * @see ExceptionMappingConfig
  * @see ErrorMessageProvider
+ * @see ErrorListener
  */
 public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     private final ExceptionMappingConfig mappingConfig;
     private final ErrorMessageProvider messageProvider;
+    private final List<ErrorListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs a GlobalExceptionHandler with custom configuration.
@@ -56,6 +65,15 @@ public class GlobalExceptionHandler {
         this(new ExceptionMappingConfig(), new ErrorMessageProvider());
     }
 
+    /**
+     * Registers a listener to be told of every exception this handler handles.
+     *
+     * @param listener The listener; it must be cheap and must not throw
+     */
+    public void addErrorListener(ErrorListener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Handles an exception using the provided error context.
      * <p>
@@ -84,6 +102,12 @@ public class GlobalExceptionHandler {
         logger.debug("Handling exception [errorId={}] for operation: {}",
             errorId, operation);
 
+        if (!listeners.isEmpty()) {
+            ErrorCode errorCode = classify(e, operation);
+            for (ErrorListener listener : listeners)
+                listener.onError(operation, errorCode, e);
+        }
+
         // 1. Handle specific and known business exceptions that were thrown.
         if (e instanceof HRMException hrmException) {
             handleBusinessException(hrmException, context);
@@ -126,6 +150,63 @@ public class GlobalExceptionHandler {
         handle(e, context);
     }
 
+    /**
+     * Determines the error code of an exception without translating it.
+     * <p>
+     * Database errors are usually wrapped, e.g. in the {@link DataAccessException} a DAO
+     * throws, so the {@link SQLException} behind them is classified instead: as
+     * {@code DB_CONNECTION_FAILED} if the connection to the database failed, and otherwise
+     * as the configured mapping would translate it. An {@link HRMException} keeps its own
+     * code unless that code is the generic {@code SYSTEM_ERROR}, e.g. for the wrapper that
+     * {@code DatabaseManager.inTransaction} puts around an unexpected failure, in which case
+     * its causes are classified instead.
+     *
+     * @param e         The exception to classify
+     * @param operation The operation that failed
+     * @return The error code; {@code SYSTEM_ERROR} if nothing more specific is known
+     */
+    public ErrorCode classify(Exception e, String operation) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HRMException hrmException && hrmException.getErrorCode() != ErrorCode.SYSTEM_ERROR)
+                return hrmException.getErrorCode();
+        }
+
+        SQLException sqlException = findCause(e, SQLException.class);
+        if (sqlException != null) {
+            return isConnectionFailure(sqlException)
+                ? ErrorCode.DB_CONNECTION_FAILED
+                : mappingConfig.errorCodeFor(sqlException, operation);
+        }
+
+        DataAccessException dataAccessException = findCause(e, DataAccessException.class);
+        if (dataAccessException != null)
+            return dataAccessException.getErrorCode();
+
+        return ErrorCode.SYSTEM_ERROR;
+    }
+
+    private static <T extends Throwable> T findCause(Throwable e, Class<T> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause))
+                return type.cast(cause);
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks for a lost or refused database connection, which drivers report with an SQL
+     * state of class {@code 08}. A timeout waiting for a pooled connection is not one: it
+     * means the pool is busy, not that the database is down.
+     */
+    private static boolean isConnectionFailure(SQLException e) {
+        String sqlState = e.getSQLState();
+        return
+            e instanceof SQLNonTransientConnectionException ||
+            (sqlState != null && sqlState.startsWith("08"))
+        ;
+    }
+
     /**
      * Handles known business exceptions by logging them at the WARN level.
      * <p>
@@ -256,9 +337,14 @@ public class GlobalExceptionHandler {
      * Retryable exceptions include:
      * <ul>
      *   <li>{@link TransientDataAccessException} instances</li>
-     *   <li>Database deadlocks: {@code ErrorCode.DB_DEADLOCK}</li>
-     *   <li>Connection failures: {@code ErrorCode.DB_CONNECTION_FAILED}</li>
-     *   <li>Lock timeouts: {@code ErrorCode.DB_LOCK_TIMEOUT}</li>
+     *   <li>{@link HRMException}'s and {@link DataAccessException}'s with one of these codes:
+     *     <ul>
+     *       <li>Database deadlocks: {@code ErrorCode.DB_DEADLOCK}</li>
+     *       <li>Connection failures: {@code ErrorCode.DB_CONNECTION_FAILED}</li>
+     *       <li>Lock timeouts: {@code ErrorCode.DB_LOCK_TIMEOUT}</li>
+     *       <li>Saturated server resources: {@code ErrorCode.SYSTEM_BUSY}</li>
+     *     </ul>
+     *   </li>
      * </ul>
      *
      * @param e The exception to evaluate
@@ -268,16 +354,17 @@ public class GlobalExceptionHandler {
         if (e instanceof TransientDataAccessException)
             return true;
 
-        if (e instanceof HRMException hrmException) {
-            ErrorCode errorCode = hrmException.getErrorCode();
-
-            return
-                errorCode == ErrorCode.DB_DEADLOCK ||
-                errorCode == ErrorCode.DB_CONNECTION_FAILED ||
-                errorCode == ErrorCode.DB_LOCK_TIMEOUT
-            ;
-        }
+        ErrorCode errorCode = switch (e) {
+            case HRMException hrmException -> hrmException.getErrorCode();
+            case DataAccessException dataAccessException -> dataAccessException.getErrorCode();
+            case null, default -> null;
+        };
 
-        return false;
+        return
+            errorCode == ErrorCode.DB_DEADLOCK ||
+            errorCode == ErrorCode.DB_CONNECTION_FAILED ||
+            errorCode == ErrorCode.DB_LOCK_TIMEOUT ||
+            errorCode == ErrorCode.SYSTEM_BUSY
+        ;
     }
 }
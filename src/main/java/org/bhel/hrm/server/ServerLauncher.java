@@ -19,6 +19,8 @@ public class ServerLauncher {
 
             // 1. Retrieves the current application context.
             ApplicationContext applicationContext = ApplicationContext.get();
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(applicationContext::shutdown, "hrm-shutdown"));
 
             // 2. Setup and start the RMI server
             HRMServer server = getHRMServer(applicationContext);
@@ -33,14 +35,20 @@ public class ServerLauncher {
     }
 
     private static HRMServer getHRMServer(ApplicationContext context) throws RemoteException {
-        String env = context.getConfiguration().getAppEnvironment();
-        logger.info("Application is starting in [{}] environment.", env);
+        logger.info("Application is starting in [{}] environment.", context.getConfiguration().getAppEnvironment());
+        logger.info("Exporting the HRM service with transport options {}.", context.getRmiSocketOptions());
 
         return new HRMServer(
-            context.getDatabaseManager(),
+            context.getRmiClientSocketFactory(),
+            context.getRmiServerSocketFactory(),
+            context.getRequestExecutor(),
             context.getEmployeeService(),
             context.getUserService(),
-            context.getGlobalExceptionHandler()
+            context.getSessionStore(),
+            context.getAdmissionController(),
+            context.getCursorRegistry(),
+            context.getGlobalExceptionHandler(),
+            context.getMetricsRegistry()
         );
     }
 }
@@ -0,0 +1,139 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.domain.Employee;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EmployeeDAO} decorator that serves {@link #findById} and {@link #findAll}
+ * from memory, falling back to the wrapped DAO on a miss.
+ * <p>
+ * Reads inside a transaction always go to the database, so a transaction sees its own
+ * writes and any row locks it takes. Writes through this DAO invalidate the affected
+ * entries once their transaction has committed (immediately, outside a transaction), so
+ * other callers never see a change that could still be rolled back.
+ * <p>
+ * Cached employees are copied on the way in and out, as {@link Employee} is mutable.
+ * Paged and streamed reads are not cached.
+ */
+public class CachingEmployeeDAO implements EmployeeDAO {
+    private static final String ALL_EMPLOYEES = "all";
+
+    private final EmployeeDAO delegate;
+    private final DatabaseManager dbManager;
+    private final ExpiringCache<Integer, Employee> byId;
+    private final ExpiringCache<String, List<Employee>> listing;
+
+    /**
+     * @param delegate The DAO that reads and writes the database
+     * @param dbManager The database manager whose transactions govern invalidation
+     * @param maxSize The maximum number of employees cached by ID
+     * @param ttl How long a cached lookup is served before it is reloaded
+     * @param metrics The registry to publish cache metrics to
+     */
+    public CachingEmployeeDAO(
+        EmployeeDAO delegate,
+        DatabaseManager dbManager,
+        int maxSize,
+        Duration ttl,
+        MetricsRegistry metrics
+    ) {
+        this.delegate = delegate;
+        this.dbManager = dbManager;
+        this.byId = new ExpiringCache<>("employees.byId", maxSize, ttl, metrics);
+        this.listing = new ExpiringCache<>("employees.all", 1, ttl, metrics);
+    }
+
+    @Override
+    public Optional<Employee> findById(Integer id) {
+        if (dbManager.isTransactionActive())
+            return delegate.findById(id);
+
+        Employee cached = byId.get(id, key -> delegate.findById(key).map(CachingEmployeeDAO::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(CachingEmployeeDAO::copyOf);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        if (dbManager.isTransactionActive())
+            return delegate.findAll();
+
+        List<Employee> cached = listing.get(ALL_EMPLOYEES, key -> copyAll(delegate.findAll()));
+        return copyAll(cached);
+    }
+
+    @Override
+    public List<Employee> findPageAfter(EmployeePageCursorDTO after, int limit) {
+        return delegate.findPageAfter(after, limit);
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Set<String> findExistingIcPassports(Collection<String> icPassports) {
+        return delegate.findExistingIcPassports(icPassports);
+    }
+
+    @Override
+    public Set<Name> findExistingNames(Collection<Name> names) {
+        return delegate.findExistingNames(names);
+    }
+
+    @Override
+    public void save(Employee entity) {
+        delegate.save(entity);
+
+        int id = entity.getId();
+        dbManager.afterCommit(() -> invalidate(id));
+    }
+
+    @Override
+    public void saveAll(Collection<Employee> entities) {
+        delegate.saveAll(entities);
+
+        List<Integer> ids = entities.stream().map(Employee::getId).toList();
+        dbManager.afterCommit(() -> ids.forEach(this::invalidate));
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        delegate.deleteById(id);
+        dbManager.afterCommit(() -> invalidate(id));
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    private void invalidate(Integer id) {
+        byId.invalidate(id);
+        listing.invalidateAll();
+    }
+
+    private static List<Employee> copyAll(List<Employee> employees) {
+        return employees.stream().map(CachingEmployeeDAO::copyOf).toList();
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return new Employee(
+            employee.getId(),
+            employee.getUserId(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            employee.getIcPassport()
+        );
+    }
+}
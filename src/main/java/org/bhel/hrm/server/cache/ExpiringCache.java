@@ -0,0 +1,171 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A size-bounded, thread-safe read-through cache whose entries expire a fixed time after
+ * they were loaded.
+ * <p>
+ * Lookups are a single {@link ConcurrentHashMap} read. When the cache grows past its
+ * maximum size, expired entries are dropped first and then the entries closest to expiry,
+ * i.e. the ones loaded longest ago.
+ * <p>
+ * Invalidation is safe against concurrent loads: a value loaded before an invalidation is
+ * never left in the cache after it, even if the load finishes later. Hits, misses and
+ * evictions are published as {@code cache.<name>.*} metrics.
+ *
+ * @param <K> The key type
+ * @param <V> The value type; cached values should be immutable or copied by the caller
+ */
+public final class ExpiringCache<K, V> {
+    // Evicts a little below the limit so a full cache does not evict on every put.
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /**
+     * @param name The name the cache's metrics are published under, e.g. {@code employees.byId}
+     * @param maxSize The maximum number of entries; must be positive
+     * @param ttl How long an entry is served after it was loaded; must be positive
+     * @param metrics The registry to publish cache metrics to
+     */
+    public ExpiringCache(String name, int maxSize, Duration ttl, MetricsRegistry metrics) {
+        this(name, maxSize, ttl, metrics, System::nanoTime);
+    }
+
+    // Visible for testing: time is read from the given clock.
+    ExpiringCache(String name, int maxSize, Duration ttl, MetricsRegistry metrics, LongSupplier nanoClock) {
+        if (maxSize <= 0 || ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("Cache size and TTL must be positive.");
+
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+
+        String prefix = "cache." + name;
+        this.hits = metrics.counter(prefix + ".hits");
+        this.misses = metrics.counter(prefix + ".misses");
+        this.evictions = metrics.counter(prefix + ".evictions");
+        metrics.gauge(prefix + ".size", entries::size);
+    }
+
+    /**
+     * Returns the cached value for a key, loading and caching it on a miss.
+     * A {@code null} result from the loader is returned but not cached.
+     *
+     * @param key The key to look up; must not be null
+     * @param loader Loads the value on a miss, e.g. from the database
+     * @return The cached or freshly loaded value; may be null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = nanoClock.getAsLong();
+        Entry<V> entry = entries.get(key);
+
+        if (entry != null) {
+            if (now - entry.expiresAtNanos() < 0) {
+                hits.increment();
+                return entry.value();
+            }
+
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        long observedGeneration = generation.get();
+        V value = loader.apply(key);
+
+        if (value != null)
+            put(key, value, observedGeneration, now);
+
+        return value;
+    }
+
+    /**
+     * Removes the entry for a key, including one whose load is still in progress.
+     *
+     * @param key The key to invalidate; must not be null
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry, including ones whose load is still in progress.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long observedGeneration, long loadedAt) {
+        Entry<V> entry = new Entry<>(value, loadedAt + ttlNanos);
+        entries.put(key, entry);
+
+        // An invalidation raced with the load, so the value may predate it. The generation is
+        // bumped before entries are removed, so either we see the new generation here or the
+        // invalidation removes this entry after us.
+        if (generation.get() != observedGeneration) {
+            entries.remove(key, entry);
+            return;
+        }
+
+        if (entries.size() > maxSize)
+            evict();
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (entries.size() <= maxSize)
+                return;
+
+            long now = nanoClock.getAsLong();
+            int removed = 0;
+
+            for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                if (now - candidate.getValue().expiresAtNanos() >= 0
+                    && entries.remove(candidate.getKey(), candidate.getValue()))
+                    removed++;
+            }
+
+            int excess = entries.size() - (int) (maxSize * EVICTION_TARGET);
+            if (excess > 0) {
+                var oldest = entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(candidate -> candidate.getValue().expiresAtNanos()))
+                    .limit(excess)
+                    .toList();
+
+                for (Map.Entry<K, Entry<V>> candidate : oldest) {
+                    if (entries.remove(candidate.getKey(), candidate.getValue()))
+                        removed++;
+                }
+            }
+
+            evictions.add(removed);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {}
+}
@@ -0,0 +1,82 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Coalesces concurrent identical read calls: while a call for a key is in flight, further
+ * calls for the same key wait for it and share its result (or its exception) instead of
+ * running the query again.
+ * <p>
+ * Nothing is cached once the call completes; the next call for the key runs afresh. The
+ * shared result is handed to every waiting caller, so it must be immutable. Only wrap
+ * read-only calls. Executions and coalesced calls are published as
+ * {@code singleflight.<name>.*} metrics.
+ *
+ * @param <K> The key identifying identical calls, e.g. the requested ID
+ * @param <V> The result type
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executions;
+    private final Counter coalesced;
+
+    /**
+     * @param name The name the metrics are published under, e.g. {@code getAllEmployees}
+     * @param metrics The registry to publish metrics to
+     */
+    public SingleFlight(String name, MetricsRegistry metrics) {
+        this.executions = metrics.counter("singleflight." + name + ".executions");
+        this.coalesced = metrics.counter("singleflight." + name + ".coalesced");
+    }
+
+    /**
+     * Runs the call for a key, or joins the call for that key already in flight.
+     *
+     * @param key The key identifying identical calls; must not be null
+     * @param call The read to run if no identical call is in flight
+     * @return The result of this call or of the call it joined
+     * @throws Exception Whatever the call threw, rethrown to every caller that shared it
+     */
+    public V execute(K key, Callable<? extends V> call) throws Exception {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V result = call.call();
+            flight.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) throws Exception {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case Exception cause -> throw cause;
+                case Error error -> throw error;
+                default -> throw e;
+            }
+        }
+    }
+}
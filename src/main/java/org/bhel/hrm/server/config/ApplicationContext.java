@@ -1,15 +1,33 @@
 package org.bhel.hrm.server.config;
 
 import org.bhel.hrm.common.error.ErrorMessageProvider;
+import org.bhel.hrm.common.error.ErrorRateMonitor;
 import org.bhel.hrm.common.error.ExceptionMappingConfig;
+import org.bhel.hrm.common.exceptions.ConfigurationException;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.rmi.CompressingClientSocketFactory;
+import org.bhel.hrm.common.rmi.CompressingServerSocketFactory;
+import org.bhel.hrm.common.rmi.RmiSocketOptions;
 import org.bhel.hrm.common.utils.GlobalExceptionHandler;
+import org.bhel.hrm.server.cache.CachingEmployeeDAO;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.daos.UserDAO;
 import org.bhel.hrm.server.daos.impls.EmployeeDAOImpl;
 import org.bhel.hrm.server.daos.impls.UserDAOImpl;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.bhel.hrm.server.metrics.MetricsReporter;
+import org.bhel.hrm.server.services.AdmissionController;
+import org.bhel.hrm.server.services.AdmissionController.OperationClass;
 import org.bhel.hrm.server.services.EmployeeService;
+import org.bhel.hrm.server.services.PasswordHashingExecutor;
+import org.bhel.hrm.server.services.RemoteCursorRegistry;
+import org.bhel.hrm.server.services.RequestExecutor;
+import org.bhel.hrm.server.services.SessionStore;
 import org.bhel.hrm.server.services.UserService;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Responsible for creating and wiring together all the core
  * components, i.e. services, DAOs, managers, of the application.
@@ -19,12 +37,25 @@ public class ApplicationContext {
     private static final ApplicationContext INSTANCE = new ApplicationContext();
 
     private final Configuration configuration;
+    private final MetricsRegistry metricsRegistry;
+    private final MetricsReporter metricsReporter;
     private final DatabaseManager databaseManager;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final SessionStore sessionStore;
+    private final AdmissionController admissionController;
+    private final RequestExecutor requestExecutor;
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
     private DatabaseSeeder databaseSeeder;
 
+    private final RmiSocketOptions rmiSocketOptions;
+    private final CompressingClientSocketFactory rmiClientSocketFactory;
+    private final CompressingServerSocketFactory rmiServerSocketFactory;
+    private final RemoteCursorRegistry cursorRegistry;
+
     private final ErrorMessageProvider errorMessageProvider;
     private final ExceptionMappingConfig exceptionMappingConfig;
     private final GlobalExceptionHandler globalExceptionHandler;
+    private final ErrorRateMonitor errorRateMonitor;
 
     private final UserDAO userDAO;
     private final EmployeeDAO employeeDAO;
@@ -38,21 +69,121 @@ public class ApplicationContext {
      */
     private ApplicationContext() {
         this.configuration = new Configuration();
+        HRMException.setBusinessStackTracesEnabled(configuration.isBusinessStackTracesEnabled());
+        this.metricsRegistry = new MetricsRegistry();
+        this.metricsReporter = createMetricsReporter(configuration, metricsRegistry);
         this.errorMessageProvider = new ErrorMessageProvider();
         this.exceptionMappingConfig = new ExceptionMappingConfig();
-
-        this.databaseManager = new DatabaseManager(configuration);
         this.globalExceptionHandler = new GlobalExceptionHandler(exceptionMappingConfig, errorMessageProvider);
+        this.errorRateMonitor = new ErrorRateMonitor(
+            Duration.ofMillis(configuration.getErrorRateWindowMillis()), metricsRegistry::gauge);
+        globalExceptionHandler.addErrorListener(errorRateMonitor);
+
+        this.databaseManager = new DatabaseManager(
+            configuration,
+            metricsRegistry,
+            createTransactionRetryPolicy(configuration, exceptionMappingConfig, metricsRegistry)
+        );
 
         this.userDAO = new UserDAOImpl(databaseManager);
-        this.employeeDAO = new EmployeeDAOImpl(databaseManager);
+        this.employeeDAO = createEmployeeDAO(configuration, databaseManager, metricsRegistry);
 
-        this.userService = new UserService(databaseManager, userDAO, employeeDAO);
+        this.passwordHashingExecutor = new PasswordHashingExecutor(
+            configuration.getPasswordHashingThreads(),
+            configuration.getPasswordHashingQueueCapacity(),
+            metricsRegistry
+        );
+        this.sessionStore = new SessionStore(
+            Duration.ofMillis(configuration.getSessionIdleTimeoutMillis()),
+            Duration.ofMillis(configuration.getSessionSweepIntervalMillis()),
+            metricsRegistry
+        );
+        this.admissionController = createAdmissionController(configuration, metricsRegistry);
+        this.databaseCircuitBreaker = databaseManager.getCircuitBreaker();
+        globalExceptionHandler.addErrorListener(databaseCircuitBreaker);
+        this.requestExecutor = new RequestExecutor(parseExecutionMode(configuration), metricsRegistry);
+        this.userService = new UserService(
+            databaseManager, userDAO, employeeDAO, passwordHashingExecutor, sessionStore);
         this.employeeService = new EmployeeService(databaseManager, employeeDAO);
 
+        this.rmiSocketOptions = createRmiSocketOptions(configuration);
+        this.rmiClientSocketFactory = new CompressingClientSocketFactory(rmiSocketOptions);
+        this.rmiServerSocketFactory = new CompressingServerSocketFactory(rmiSocketOptions);
+        this.cursorRegistry = new RemoteCursorRegistry(
+            rmiClientSocketFactory,
+            rmiServerSocketFactory,
+            configuration.getRmiCursorMaxOpen(),
+            Duration.ofMillis(configuration.getRmiCursorIdleTimeoutMillis()),
+            metricsRegistry
+        );
+
         seedDatabase(configuration, databaseManager, userDAO, employeeDAO);
     }
 
+    private static EmployeeDAO createEmployeeDAO(
+        Configuration config,
+        DatabaseManager dbManager,
+        MetricsRegistry metrics
+    ) {
+        EmployeeDAO employeeDAO = new EmployeeDAOImpl(dbManager);
+
+        long ttlMillis = config.getEmployeeCacheTtlMillis();
+        int maxSize = config.getEmployeeCacheMaxSize();
+        if (ttlMillis <= 0 || maxSize <= 0)
+            return employeeDAO;
+
+        return new CachingEmployeeDAO(employeeDAO, dbManager, maxSize, Duration.ofMillis(ttlMillis), metrics);
+    }
+
+    private static TransactionRetryPolicy createTransactionRetryPolicy(
+        Configuration config,
+        ExceptionMappingConfig mappingConfig,
+        MetricsRegistry metrics
+    ) {
+        return new TransactionRetryPolicy(
+            config.getDbTransactionRetryMaxAttempts(),
+            Duration.ofMillis(config.getDbTransactionRetryInitialBackoffMillis()),
+            Duration.ofMillis(config.getDbTransactionRetryMaxBackoffMillis()),
+            Duration.ofMillis(config.getDbTransactionRetryBudgetMillis()),
+            mappingConfig,
+            metrics
+        );
+    }
+
+    private static RequestExecutor.Mode parseExecutionMode(Configuration config) {
+        String value = config.getServerExecutionMode();
+        try {
+            return RequestExecutor.Mode.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Property 'server.execution.mode' must be 'platform' or 'virtual' but was: " + value, e);
+        }
+    }
+
+    private static MetricsReporter createMetricsReporter(Configuration config, MetricsRegistry metrics) {
+        long intervalMillis = config.getMetricsLogIntervalMillis();
+        return intervalMillis > 0 ? new MetricsReporter(metrics, Duration.ofMillis(intervalMillis)) : null;
+    }
+
+    private static AdmissionController createAdmissionController(Configuration config, MetricsRegistry metrics) {
+        Map<OperationClass, Integer> limits = Map.of(
+            OperationClass.AUTH, config.getAdmissionAuthMaxConcurrent(),
+            OperationClass.READ, config.getAdmissionReadMaxConcurrent(),
+            OperationClass.WRITE, config.getAdmissionWriteMaxConcurrent()
+        );
+
+        return new AdmissionController(limits, Duration.ofMillis(config.getAdmissionMaxWaitMillis()), metrics);
+    }
+
+    private static RmiSocketOptions createRmiSocketOptions(Configuration config) {
+        return new RmiSocketOptions(
+            config.isRmiCompressionEnabled(),
+            config.getRmiCompressionThresholdBytes(),
+            config.getRmiCompressionLevel(),
+            config.isRmiTcpNoDelay(),
+            config.getRmiSocketBufferSize()
+        );
+    }
+
     private void seedDatabase(
         Configuration config,
         DatabaseManager dbManager,
@@ -65,6 +196,22 @@ public class ApplicationContext {
         }
     }
 
+    /**
+     * Releases resources held by the context, such as pooled database connections.
+     * Intended to be called once from a JVM shutdown hook.
+     */
+    public void shutdown() {
+        if (metricsReporter != null)
+            metricsReporter.close();
+
+        requestExecutor.close();
+        // Open cursors hold streaming result sets, so they are closed before the pool
+        cursorRegistry.close();
+        sessionStore.close();
+        passwordHashingExecutor.close();
+        databaseManager.shutdown();
+    }
+
     /**
      * Retrieves the current context's instance.
      *
@@ -78,6 +225,10 @@ public class ApplicationContext {
         return configuration;
     }
 
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
     public DatabaseManager getDatabaseManager() {
         return databaseManager;
     }
@@ -106,6 +257,42 @@ public class ApplicationContext {
         return employeeDAO;
     }
 
+    public SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    public RequestExecutor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    public DatabaseCircuitBreaker getDatabaseCircuitBreaker() {
+        return databaseCircuitBreaker;
+    }
+
+    public ErrorRateMonitor getErrorRateMonitor() {
+        return errorRateMonitor;
+    }
+
+    public RmiSocketOptions getRmiSocketOptions() {
+        return rmiSocketOptions;
+    }
+
+    public CompressingClientSocketFactory getRmiClientSocketFactory() {
+        return rmiClientSocketFactory;
+    }
+
+    public CompressingServerSocketFactory getRmiServerSocketFactory() {
+        return rmiServerSocketFactory;
+    }
+
+    public RemoteCursorRegistry getCursorRegistry() {
+        return cursorRegistry;
+    }
+
     public UserService getUserService() {
         return userService;
     }
@@ -34,13 +34,19 @@ public class Configuration {
 
     public String getDbUrl() {
         // jdbc:mysql://localhost:3306/hrm_db?useSSL=false&serverTimezone=UTC
-        return String.format("%s:%s://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC",
+        String url = String.format("%s:%s://%s:%s/%s?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true",
             getDbDriver(),
             getDbConnection(),
             getDbHost(),
             getDbPort(),
             getDbName()
         );
+
+        // Statements are prepared on the server once and reused through the pool's statement cache.
+        if (isDbServerPreparedStatementsEnabled())
+            url += "&useServerPrepStmts=true";
+
+        return url;
     }
 
     public String getDbConnection() {
@@ -70,4 +76,172 @@ public class Configuration {
     public String getDbName() {
         return properties.getProperty("db.name");
     }
+
+    public int getDbPoolMinSize() {
+        return getIntProperty("db.pool.minSize", 2);
+    }
+
+    public int getDbPoolMaxSize() {
+        return getIntProperty("db.pool.maxSize", 10);
+    }
+
+    public long getDbPoolAcquireTimeoutMillis() {
+        return getLongProperty("db.pool.acquireTimeoutMillis", 5_000);
+    }
+
+    public long getDbPoolIdleTimeoutMillis() {
+        return getLongProperty("db.pool.idleTimeoutMillis", 600_000);
+    }
+
+    public long getDbPoolMaxLifetimeMillis() {
+        return getLongProperty("db.pool.maxLifetimeMillis", 1_800_000);
+    }
+
+    public long getDbPoolValidationTimeoutMillis() {
+        return getLongProperty("db.pool.validationTimeoutMillis", 3_000);
+    }
+
+    public long getDbPoolLeakDetectionThresholdMillis() {
+        return getLongProperty("db.pool.leakDetectionThresholdMillis", 0);
+    }
+
+    public boolean isDbServerPreparedStatementsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("db.useServerPrepStmts", "true").trim());
+    }
+
+    public int getDbStatementCacheSize() {
+        return getIntProperty("db.statementCacheSize", 64);
+    }
+
+    public int getDbTransactionRetryMaxAttempts() {
+        return getIntProperty("db.transaction.retry.maxAttempts", 3);
+    }
+
+    public long getDbTransactionRetryInitialBackoffMillis() {
+        return getLongProperty("db.transaction.retry.initialBackoffMillis", 20);
+    }
+
+    public long getDbTransactionRetryMaxBackoffMillis() {
+        return getLongProperty("db.transaction.retry.maxBackoffMillis", 200);
+    }
+
+    public long getDbTransactionRetryBudgetMillis() {
+        return getLongProperty("db.transaction.retry.budgetMillis", 1_000);
+    }
+
+    public int getDbCircuitFailureThreshold() {
+        return getIntProperty("db.circuit.failureThreshold", 5);
+    }
+
+    public long getDbCircuitWindowMillis() {
+        return getLongProperty("db.circuit.windowMillis", 10_000);
+    }
+
+    public long getDbCircuitProbeIntervalMillis() {
+        return getLongProperty("db.circuit.probeIntervalMillis", 2_000);
+    }
+
+    public long getErrorRateWindowMillis() {
+        return getLongProperty("errors.rate.windowMillis", 60_000);
+    }
+
+    public int getEmployeeCacheMaxSize() {
+        return getIntProperty("cache.employees.maxSize", 10_000);
+    }
+
+    public long getEmployeeCacheTtlMillis() {
+        return getLongProperty("cache.employees.ttlMillis", 60_000);
+    }
+
+    public boolean isRmiCompressionEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("rmi.compression.enabled", "true").trim());
+    }
+
+    public int getRmiCompressionThresholdBytes() {
+        return getIntProperty("rmi.compression.thresholdBytes", 1024);
+    }
+
+    public int getRmiCompressionLevel() {
+        return getIntProperty("rmi.compression.level", 1);
+    }
+
+    public boolean isRmiTcpNoDelay() {
+        return Boolean.parseBoolean(properties.getProperty("rmi.socket.tcpNoDelay", "true").trim());
+    }
+
+    public int getRmiSocketBufferSize() {
+        return getIntProperty("rmi.socket.bufferSize", 65_536);
+    }
+
+    public int getAdmissionAuthMaxConcurrent() {
+        return getIntProperty("rmi.admission.auth.maxConcurrent", 32);
+    }
+
+    public int getAdmissionReadMaxConcurrent() {
+        return getIntProperty("rmi.admission.read.maxConcurrent", 32);
+    }
+
+    public int getAdmissionWriteMaxConcurrent() {
+        return getIntProperty("rmi.admission.write.maxConcurrent", getDbPoolMaxSize());
+    }
+
+    public long getAdmissionMaxWaitMillis() {
+        return getLongProperty("rmi.admission.maxWaitMillis", 250);
+    }
+
+    public int getRmiCursorMaxOpen() {
+        return getIntProperty("rmi.cursor.maxOpen", 4);
+    }
+
+    public long getRmiCursorIdleTimeoutMillis() {
+        return getLongProperty("rmi.cursor.idleTimeoutMillis", 30_000);
+    }
+
+    public String getServerExecutionMode() {
+        return properties.getProperty("server.execution.mode", "platform");
+    }
+
+    public boolean isBusinessStackTracesEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("exceptions.businessStackTraces", "false").trim());
+    }
+
+    public long getMetricsLogIntervalMillis() {
+        return getLongProperty("metrics.log.intervalMillis", 300_000);
+    }
+
+    public int getPasswordHashingThreads() {
+        return getIntProperty("security.passwordHashing.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getPasswordHashingQueueCapacity() {
+        return getIntProperty("security.passwordHashing.queueCapacity", 64);
+    }
+
+    public long getSessionIdleTimeoutMillis() {
+        return getLongProperty("security.session.idleTimeoutMillis", 1_800_000);
+    }
+
+    public long getSessionSweepIntervalMillis() {
+        return getLongProperty("security.session.sweepIntervalMillis", 60_000);
+    }
+
+    private int getIntProperty(String key, int defaultValue) {
+        long value = getLongProperty(key, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            throw new ConfigurationException("Property '" + key + "' is out of range for a whole number but was: " + value);
+
+        return (int) value;
+    }
+
+    private long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank())
+            return defaultValue;
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ConfigurationException("Property '" + key + "' must be a whole number but was: " + value, e);
+        }
+    }
 }
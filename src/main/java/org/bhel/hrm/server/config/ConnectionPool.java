@@ -0,0 +1,829 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.DbTime;
+import org.bhel.hrm.server.metrics.Histogram;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small, bounded JDBC connection pool used by {@link DatabaseManager}.
+ * <p>
+ * Physical connections are opened through {@link DriverManager} and handed out wrapped
+ * in a proxy whose {@link Connection#close()} returns the connection to the pool instead
+ * of closing the socket. This keeps the existing "close when done" pattern in the DAOs
+ * working unchanged while avoiding a TCP + authentication handshake per call.
+ * <p>
+ * The pool supports:
+ * <ul>
+ *   <li>A minimum number of warm connections and a hard maximum</li>
+ *   <li>A bounded wait when the pool is exhausted ({@code acquireTimeout})</li>
+ *   <li>Eviction of connections idle for longer than {@code idleTimeout}</li>
+ *   <li>Retirement of connections older than {@code maxLifetime}</li>
+ *   <li>Validation on borrow for connections that have been idle for a while</li>
+ *   <li>Leak detection that logs where a connection held past a threshold was borrowed</li>
+ *   <li>A per-connection LRU cache of prepared statements ({@code statementCacheSize}),
+ *       see {@link StatementCache}</li>
+ * </ul>
+ * Pool activity is published to a {@link MetricsRegistry} under the {@code db.pool.*} and
+ * {@code db.connection.*} names.
+ * Locking uses {@link ReentrantLock} rather than {@code synchronized} so that waiting
+ * threads never pin a carrier thread.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // Connections returned to the pool more recently than this are not re-validated on borrow.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    // Session settings a borrower may change, which are restored before the connection is reused
+    private static final Set<String> SESSION_STATE_SETTERS = Set.of("setReadOnly", "setTransactionIsolation");
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionThresholdNanos;
+    private final int statementCacheSize;
+
+    private final MetricsRegistry metrics;
+    private final Histogram acquireTime;
+    private final Counter acquireTimeouts;
+    private final Counter connectionsOpened;
+    private final Counter connectionsClosed;
+    private final Counter leaksDetected;
+    private final ConcurrentHashMap<String, Histogram> borrowTimeByBorrower = new ConcurrentHashMap<>();
+    private final Counter statementCacheHits;
+    private final Counter statementCacheMisses;
+    private final Counter statementCacheEvictions;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionAvailable = lock.newCondition();
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final Set<ConnectionHandle> activeHandles = ConcurrentHashMap.newKeySet();
+
+    // Number of physical connections that are idle, in use, or being opened; guarded by lock.
+    private int totalConnections;
+    // Number of threads blocked waiting for a connection; guarded by lock.
+    private int waitingThreads;
+    private volatile boolean closed;
+
+    private ConnectionPool(ConnectionPoolBuilder builder) {
+        this.url = builder.url;
+        this.username = builder.username;
+        this.password = builder.password;
+        this.maxSize = builder.maxSize;
+        this.minSize = Math.min(builder.minSize, builder.maxSize);
+        this.acquireTimeoutNanos = builder.acquireTimeout.toNanos();
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+        this.maxLifetimeNanos = builder.maxLifetime.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, builder.validationTimeout.toSeconds());
+        this.leakDetectionThresholdNanos = builder.leakDetectionThreshold.toNanos();
+        this.statementCacheSize = builder.statementCacheSize;
+
+        this.metrics = builder.metrics;
+        this.acquireTime = metrics.histogram("db.pool.acquire.nanos");
+        this.acquireTimeouts = metrics.counter("db.pool.acquire.timeouts");
+        this.connectionsOpened = metrics.counter("db.pool.connections.opened");
+        this.connectionsClosed = metrics.counter("db.pool.connections.closed");
+        this.leaksDetected = metrics.counter("db.connection.leaks");
+        this.statementCacheHits = metrics.counter("db.statement.cache.hits");
+        this.statementCacheMisses = metrics.counter("db.statement.cache.misses");
+        this.statementCacheEvictions = metrics.counter("db.statement.cache.evictions");
+        registerGauges();
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hrm-db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = builder.housekeepingPeriod.toMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        if (leakDetectionThresholdNanos > 0) {
+            long leakCheckPeriod = Math.max(1_000, builder.leakDetectionThreshold.toMillis() / 2);
+            housekeeper.scheduleWithFixedDelay(
+                this::detectLeaks, leakCheckPeriod, leakCheckPeriod, TimeUnit.MILLISECONDS);
+        }
+
+        fillToMinimum();
+        logger.info("Connection pool started [minSize={}, maxSize={}, acquireTimeout={}ms, statementCacheSize={}].",
+            minSize, maxSize, builder.acquireTimeout.toMillis(), statementCacheSize);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if the pool is below its
+     * maximum size, or waiting up to the configured acquire timeout otherwise.
+     * The returned connection must be closed to give it back to the pool.
+     *
+     * @return A pooled connection in auto-commit mode; never null
+     * @throws SQLTransientConnectionException If no connection became available in time
+     * @throws SQLException If the pool is closed or a new connection cannot be opened
+     */
+    public Connection acquire() throws SQLException {
+        return acquire("unknown");
+    }
+
+    /**
+     * Borrows a connection on behalf of a named borrower. The borrower name is used to
+     * attribute borrow durations in the metrics and to identify leaked connections.
+     *
+     * @param borrower A short label for the caller, e.g. {@code EmployeeDAOImpl.findById},
+     *                 or {@code null} if the borrow is not attributed to anyone
+     * @return A pooled connection in auto-commit mode; never null
+     * @throws SQLTransientConnectionException If no connection became available in time
+     * @throws SQLException If the pool is closed or a new connection cannot be opened
+     */
+    public Connection acquire(String borrower) throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeoutNanos;
+
+        while (true) {
+            PooledConnection candidate = pollIdleOrReserveSlot(deadline);
+
+            if (candidate == null)
+                candidate = openPhysicalConnection();
+            else if (!isUsable(candidate)) {
+                discard(candidate);
+                continue;
+            }
+
+            long waited = System.nanoTime() - start;
+            acquireTime.record(waited);
+            DbTime.add(waited);
+            return checkout(candidate, borrower);
+        }
+    }
+
+    /**
+     * Returns the number of physical connections currently owned by the pool.
+     */
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of connections currently sitting idle in the pool.
+     */
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idleConnections.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of connections currently checked out by callers.
+     */
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    /**
+     * Returns the number of threads currently blocked waiting for a connection.
+     */
+    public int getWaitingThreads() {
+        lock.lock();
+        try {
+            return waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Checks whether leak detection is on, in which case every borrow should be attributed.
+     */
+    public boolean isLeakDetectionEnabled() {
+        return leakDetectionThresholdNanos > 0;
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeper. Connections that are still
+     * checked out are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        housekeeper.shutdownNow();
+
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            toClose = new ArrayList<>(idleConnections);
+            totalConnections -= idleConnections.size();
+            idleConnections.clear();
+            connectionAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(PooledConnection::closePhysical);
+        logger.info("Connection pool closed.");
+    }
+
+    /**
+     * Takes the most recently used idle connection, or reserves a slot for a new physical
+     * connection. Blocks until one of the two is possible or the deadline passes.
+     *
+     * @return An idle connection, or {@code null} if the caller should open a new one
+     */
+    private PooledConnection pollIdleOrReserveSlot(long deadline) throws SQLException {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed)
+                    throw new SQLException("Connection pool has been closed.");
+
+                PooledConnection idle = idleConnections.pollFirst();
+                if (idle != null)
+                    return idle;
+
+                if (totalConnections < maxSize) {
+                    totalConnections++;
+                    return null;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    acquireTimeouts.increment();
+                    throw new SQLTransientConnectionException(String.format(
+                        "Timed out after %dms waiting for a database connection [total=%d, max=%d].",
+                        TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos), totalConnections, maxSize
+                    ));
+                }
+
+                waitingThreads++;
+                try {
+                    connectionAvailable.awaitNanos(remaining);
+                } finally {
+                    waitingThreads--;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a physical connection for a slot that was already reserved.
+     * The reservation is released if the connection cannot be opened.
+     */
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, username, password);
+            boolean readOnly;
+            int isolation;
+            try {
+                readOnly = physical.isReadOnly();
+                isolation = physical.getTransactionIsolation();
+            } catch (SQLException e) {
+                try {
+                    physical.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+
+            connectionsOpened.increment();
+            logger.debug("Opened new pooled database connection.");
+            StatementCache statements = statementCacheSize > 0
+                ? new StatementCache(physical, statementCacheSize,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions)
+                : null;
+
+            return new PooledConnection(physical, statements, readOnly, isolation);
+        } catch (SQLException | RuntimeException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection connection) {
+        long now = System.nanoTime();
+
+        if (now - connection.createdAt >= maxLifetimeNanos)
+            return false;
+
+        if (now - connection.lastReturnedAt < VALIDATION_BYPASS_NANOS)
+            return true;
+
+        try {
+            return connection.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            logger.debug("Pooled connection failed validation.", e);
+            return false;
+        }
+    }
+
+    private Connection checkout(PooledConnection connection, String borrower) {
+        ConnectionHandle handle = new ConnectionHandle(connection, borrower);
+
+        activeConnections.incrementAndGet();
+        if (leakDetectionThresholdNanos > 0)
+            activeHandles.add(handle);
+
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            handle
+        );
+    }
+
+    /**
+     * Returns the borrow time histogram of a borrower, resolving it by name only the first time.
+     */
+    private Histogram borrowTimeOf(String borrower) {
+        Histogram histogram = borrowTimeByBorrower.get(borrower);
+        return histogram != null ? histogram : borrowTimeByBorrower.computeIfAbsent(borrower,
+            key -> metrics.histogram("db.connection.borrow.nanos." + key));
+    }
+
+    /**
+     * Called when a caller closes its handle: records how long the connection was held
+     * and gives it back to the pool.
+     */
+    private void checkin(ConnectionHandle handle) {
+        activeConnections.decrementAndGet();
+        activeHandles.remove(handle);
+        long held = System.nanoTime() - handle.checkedOutAt;
+        if (handle.borrowTime != null)
+            handle.borrowTime.record(held);
+        DbTime.add(held);
+
+        if (handle.leakReported) {
+            logger.info("Previously reported leaked connection was returned by [{}] after {}ms.",
+                handle.borrower, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - handle.checkedOutAt));
+        }
+
+        release(handle.connection);
+    }
+
+    /**
+     * Gives a connection back to the pool, restoring the default session state first. A
+     * connection whose state cannot be restored is discarded instead.
+     */
+    private void release(PooledConnection connection) {
+        if (!resetSessionState(connection)) {
+            discard(connection);
+            return;
+        }
+
+        connection.lastReturnedAt = System.nanoTime();
+        boolean expired = connection.lastReturnedAt - connection.createdAt >= maxLifetimeNanos;
+
+        lock.lock();
+        try {
+            if (!closed && !expired) {
+                idleConnections.addFirst(connection);
+                connectionAvailable.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        discard(connection);
+    }
+
+    private boolean resetSessionState(PooledConnection connection) {
+        try {
+            Connection physical = connection.physical;
+
+            if (physical.isClosed())
+                return false;
+
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+
+            // A borrower that failed to restore these would otherwise hand them to the next one
+            if (connection.hasSessionChanges()) {
+                physical.setReadOnly(connection.defaultReadOnly);
+                physical.setTransactionIsolation(connection.defaultIsolation);
+                connection.sessionRestored();
+            }
+
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Failed to reset pooled connection; it will be discarded.", e);
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        connection.closePhysical();
+        connectionsClosed.increment();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            connectionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Periodic maintenance: retires expired or long-idle connections
+     * and tops the pool back up to its minimum size.
+     */
+    private void housekeep() {
+        List<PooledConnection> toClose = new ArrayList<>();
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+
+            while (oldestFirst.hasNext()) {
+                PooledConnection connection = oldestFirst.next();
+                boolean expired = now - connection.createdAt >= maxLifetimeNanos;
+                boolean idleTooLong = now - connection.lastReturnedAt >= idleTimeoutNanos
+                    && totalConnections - toClose.size() > minSize;
+
+                if (expired || idleTooLong) {
+                    oldestFirst.remove();
+                    toClose.add(connection);
+                }
+            }
+
+            totalConnections -= toClose.size();
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(PooledConnection::closePhysical);
+        connectionsClosed.add(toClose.size());
+        if (!toClose.isEmpty())
+            logger.debug("Housekeeper retired {} pooled connection(s).", toClose.size());
+
+        fillToMinimum();
+    }
+
+    /**
+     * Logs, once per checkout, every connection that has been held for longer than the
+     * leak detection threshold, together with the stack trace of where it was borrowed.
+     */
+    private void detectLeaks() {
+        long now = System.nanoTime();
+
+        for (ConnectionHandle handle : activeHandles) {
+            if (handle.leakReported || now - handle.checkedOutAt < leakDetectionThresholdNanos)
+                continue;
+
+            handle.leakReported = true;
+            leaksDetected.increment();
+            logger.warn("Possible connection leak: connection borrowed by [{}] has been held for {}ms.",
+                handle.borrower, TimeUnit.NANOSECONDS.toMillis(now - handle.checkedOutAt), handle.borrowedAt);
+        }
+    }
+
+    private void registerGauges() {
+        metrics.gauge("db.pool.connections.total", this::getTotalConnections);
+        metrics.gauge("db.pool.connections.idle", this::getIdleConnections);
+        metrics.gauge("db.pool.connections.active", this::getActiveConnections);
+        metrics.gauge("db.pool.connections.max", () -> maxSize);
+        metrics.gauge("db.pool.threads.waiting", this::getWaitingThreads);
+    }
+
+    private void fillToMinimum() {
+        while (!closed) {
+            lock.lock();
+            try {
+                if (totalConnections >= minSize)
+                    return;
+
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                release(openPhysicalConnection());
+            } catch (SQLException e) {
+                logger.warn("Could not open a warm-up connection for the pool: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * A physical connection together with the bookkeeping the pool needs.
+     */
+    private static final class PooledConnection {
+        private final Connection physical;
+        // Null when statement caching is disabled.
+        private final StatementCache statements;
+        private final long createdAt;
+        private volatile long lastReturnedAt;
+
+        // The session state the connection was opened with, restored when it is returned.
+        private final boolean defaultReadOnly;
+        private final int defaultIsolation;
+        // The session state set through the borrower's handle; confined to the borrower.
+        private boolean readOnly;
+        private int isolation;
+        private boolean sessionStateUnknown;
+
+        private PooledConnection(Connection physical, StatementCache statements, boolean readOnly, int isolation) {
+            this.physical = physical;
+            this.statements = statements;
+            this.createdAt = System.nanoTime();
+            this.lastReturnedAt = createdAt;
+            this.defaultReadOnly = readOnly;
+            this.defaultIsolation = isolation;
+            this.readOnly = readOnly;
+            this.isolation = isolation;
+        }
+
+        /**
+         * Runs a {@code setReadOnly} or {@code setTransactionIsolation} call, recording the new
+         * state. If the call fails, the state is unknown and is restored on return.
+         */
+        private Object changeSessionState(Method method, Object[] args) throws Throwable {
+            sessionStateUnknown = true;
+            Object result = invokePhysical(this, method, args);
+
+            if (method.getName().equals("setReadOnly"))
+                readOnly = (boolean) args[0];
+            else
+                isolation = (int) args[0];
+
+            sessionStateUnknown = false;
+            return result;
+        }
+
+        private boolean hasSessionChanges() {
+            return sessionStateUnknown || readOnly != defaultReadOnly || isolation != defaultIsolation;
+        }
+
+        private void sessionRestored() {
+            readOnly = defaultReadOnly;
+            isolation = defaultIsolation;
+            sessionStateUnknown = false;
+        }
+
+        private void closePhysical() {
+            if (statements != null)
+                statements.closeAll();
+
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing physical connection.", e);
+            }
+        }
+    }
+
+    /**
+     * The per-checkout view of a pooled connection handed to callers. Closing it returns
+     * the underlying connection to the pool exactly once; any later use fails fast.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection connection;
+        private final String borrower;
+        private final Histogram borrowTime;
+        private final long checkedOutAt;
+        private final Throwable borrowedAt;
+        private volatile boolean leakReported;
+        private boolean closed;
+
+        private ConnectionHandle(PooledConnection connection, String borrower) {
+            this.connection = connection;
+            this.borrower = borrower;
+            this.borrowTime = borrower != null ? borrowTimeOf(borrower) : null;
+            this.checkedOutAt = System.nanoTime();
+            this.borrowedAt = leakDetectionThresholdNanos > 0
+                ? new Throwable("Connection borrowed by [" + borrower + "] here")
+                : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        checkin(this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || connection.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled" + connection.physical;
+                }
+                default -> {
+                    if (closed)
+                        throw new SQLException("Connection has already been returned to the pool.");
+                }
+            }
+
+            if (connection.statements != null
+                && method.getName().equals("prepareStatement")
+                && StatementCache.isCacheable(method, args)) {
+                return connection.statements.prepare((Connection) proxy, args);
+            }
+
+            if (SESSION_STATE_SETTERS.contains(method.getName()))
+                return connection.changeSessionState(method, args);
+
+            return invokePhysical(connection, method, args);
+        }
+    }
+
+    private static Object invokePhysical(PooledConnection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection.physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Creates a new ConnectionPoolBuilder instance.
+     *
+     * @return A builder object.
+     */
+    public static ConnectionPoolBuilder builder() {
+        return new ConnectionPoolBuilder();
+    }
+
+    /**
+     * ConnectionPoolBuilder for ConnectionPool. Non-positive sizes and durations are
+     * ignored so that unset configuration values fall back to the defaults.
+     */
+    public static class ConnectionPoolBuilder {
+        private String url;
+        private String username;
+        private String password;
+        private int minSize = 2;
+        private int maxSize = 10;
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration maxLifetime = Duration.ofMinutes(30);
+        private Duration validationTimeout = Duration.ofSeconds(3);
+        private Duration housekeepingPeriod = Duration.ofSeconds(30);
+        private Duration leakDetectionThreshold = Duration.ZERO;
+        private int statementCacheSize = 64;
+        private MetricsRegistry metrics = new MetricsRegistry();
+
+        private ConnectionPoolBuilder() {}
+
+        public ConnectionPoolBuilder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public ConnectionPoolBuilder username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        public ConnectionPoolBuilder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        public ConnectionPoolBuilder minSize(int minSize) {
+            if (minSize >= 0)
+                this.minSize = minSize;
+            return this;
+        }
+
+        public ConnectionPoolBuilder maxSize(int maxSize) {
+            if (maxSize > 0)
+                this.maxSize = maxSize;
+            return this;
+        }
+
+        public ConnectionPoolBuilder acquireTimeout(Duration acquireTimeout) {
+            if (isPositive(acquireTimeout))
+                this.acquireTimeout = acquireTimeout;
+            return this;
+        }
+
+        public ConnectionPoolBuilder idleTimeout(Duration idleTimeout) {
+            if (isPositive(idleTimeout))
+                this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public ConnectionPoolBuilder maxLifetime(Duration maxLifetime) {
+            if (isPositive(maxLifetime))
+                this.maxLifetime = maxLifetime;
+            return this;
+        }
+
+        public ConnectionPoolBuilder validationTimeout(Duration validationTimeout) {
+            if (isPositive(validationTimeout))
+                this.validationTimeout = validationTimeout;
+            return this;
+        }
+
+        public ConnectionPoolBuilder housekeepingPeriod(Duration housekeepingPeriod) {
+            if (isPositive(housekeepingPeriod))
+                this.housekeepingPeriod = housekeepingPeriod;
+            return this;
+        }
+
+        /**
+         * Enables leak detection for connections held longer than the given threshold.
+         * Leak detection is disabled unless a positive threshold is set.
+         */
+        public ConnectionPoolBuilder leakDetectionThreshold(Duration leakDetectionThreshold) {
+            if (isPositive(leakDetectionThreshold))
+                this.leakDetectionThreshold = leakDetectionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of prepared statements cached per physical connection.
+         * A size of zero disables statement caching.
+         */
+        public ConnectionPoolBuilder statementCacheSize(int statementCacheSize) {
+            if (statementCacheSize >= 0)
+                this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        public ConnectionPoolBuilder metrics(MetricsRegistry metrics) {
+            if (metrics != null)
+                this.metrics = metrics;
+            return this;
+        }
+
+        public ConnectionPool build() {
+            if (url == null || url.isBlank())
+                throw new IllegalStateException("A JDBC URL is required to build a connection pool.");
+
+            return new ConnectionPool(this);
+        }
+
+        private static boolean isPositive(Duration duration) {
+            return duration != null && !duration.isZero() && !duration.isNegative();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.error.ErrorListener;
+import org.bhel.hrm.common.error.SlidingWindowCounter;
+import org.bhel.hrm.common.exceptions.DataAccessResourceFailureException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fails calls fast while the database is unreachable, instead of letting every one of them
+ * wait out connection and pool timeouts.
+ * <p>
+ * The breaker listens to the {@code GlobalExceptionHandler} and counts database resource
+ * failures, i.e. exceptions classified as {@code DB_CONNECTION_FAILED} and any
+ * {@link DataAccessResourceFailureException}. Once the failure threshold is reached within
+ * the window, the breaker opens. The {@link DatabaseManager} then refuses to borrow pooled
+ * connections, so only work that needs the database is rejected; calls served from memory,
+ * such as resuming a session or a cache hit, carry on. A rejection is reported to the client
+ * as a {@link ServerBusyException}; see {@link #findRejection}. While the breaker is open, a
+ * background thread runs the probe at a fixed interval; the first probe that succeeds closes
+ * the breaker again.
+ * <p>
+ * The state is published as the {@code db.circuit.open} gauge, 1 while open, alongside the
+ * {@code db.circuit.trips} and {@code db.circuit.rejected} counters.
+ */
+public final class DatabaseCircuitBreaker implements ErrorListener, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    private static final int WINDOW_BUCKETS = 10;
+
+    /**
+     * A check that the database is reachable again, e.g. borrowing and validating a connection.
+     */
+    @FunctionalInterface
+    public interface Probe {
+        /**
+         * @throws Exception If the database is still unreachable
+         */
+        void check() throws Exception;
+    }
+
+    private final int failureThreshold;
+    private final Duration window;
+    private final long probeIntervalNanos;
+    private final Probe probe;
+    private final SlidingWindowCounter failures;
+    private final ScheduledExecutorService prober;
+
+    private final Counter trips;
+    private final Counter rejected;
+
+    private volatile boolean open;
+    private ScheduledFuture<?> probeTask; // Guarded by this
+
+    /**
+     * @param failureThreshold The number of failures within the window that opens the breaker;
+     *                         zero or less disables it
+     * @param window The length of time over which failures are counted
+     * @param probeInterval How often the database is probed while the breaker is open; zero
+     *                      or less disables the breaker, as it could never close again
+     * @param probe Checks whether the database is reachable
+     * @param metrics The registry to publish breaker metrics to
+     */
+    public DatabaseCircuitBreaker(
+        int failureThreshold,
+        Duration window,
+        Duration probeInterval,
+        Probe probe,
+        MetricsRegistry metrics
+    ) {
+        this.failureThreshold = failureThreshold;
+        this.window = window;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.probe = probe;
+        this.failures = new SlidingWindowCounter(window, WINDOW_BUCKETS);
+        this.prober = failureThreshold > 0 && probeIntervalNanos > 0
+            ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "hrm-db-probe");
+                thread.setDaemon(true);
+                return thread;
+            })
+            : null;
+
+        this.trips = metrics.counter("db.circuit.trips");
+        this.rejected = metrics.counter("db.circuit.rejected");
+        metrics.gauge("db.circuit.open", () -> open ? 1 : 0);
+    }
+
+    /**
+     * Returns a breaker that never opens.
+     */
+    public static DatabaseCircuitBreaker disabled(MetricsRegistry metrics) {
+        return new DatabaseCircuitBreaker(0, Duration.ZERO, Duration.ZERO, () -> {}, metrics);
+    }
+
+    /**
+     * Thrown instead of borrowing a connection while the breaker is open. It is unchecked so
+     * that it passes through DAOs and transactions as it is, and carries no stack trace, as it
+     * is thrown on every rejected call.
+     */
+    public static final class OpenCircuitException extends RuntimeException {
+        private OpenCircuitException() {
+            super("The database is unavailable.", null, false, false);
+        }
+    }
+
+    /**
+     * Rejects database access if the database is known to be unreachable.
+     *
+     * @throws OpenCircuitException While the breaker is open
+     */
+    public void ensureAvailable() {
+        if (open) {
+            rejected.increment();
+            throw new OpenCircuitException();
+        }
+    }
+
+    /**
+     * Finds out whether a call failed because the breaker rejected its database access, even if
+     * the rejection was wrapped on the way, e.g. by {@code DatabaseManager.inTransaction}.
+     *
+     * @param failure The exception the call failed with
+     * @return A {@link ServerBusyException} with {@code SYSTEM_SERVICE_UNAVAILABLE} to report
+     *         instead, or {@code null} if the call failed for another reason
+     */
+    public static ServerBusyException findRejection(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OpenCircuitException)
+                return new ServerBusyException(ErrorCode.SYSTEM_SERVICE_UNAVAILABLE, "database");
+        }
+
+        return null;
+    }
+
+    @Override
+    public void onError(String operation, ErrorCode errorCode, Exception e) {
+        if (prober == null)
+            return;
+
+        if (errorCode != ErrorCode.DB_CONNECTION_FAILED && !(e instanceof DataAccessResourceFailureException))
+            return;
+
+        failures.increment();
+        if (!open && failures.sum() >= failureThreshold)
+            trip();
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    private synchronized void trip() {
+        if (open || prober.isShutdown())
+            return;
+
+        open = true;
+        trips.increment();
+        probeTask = prober.scheduleWithFixedDelay(this::probe, probeIntervalNanos, probeIntervalNanos, TimeUnit.NANOSECONDS);
+
+        logger.error(
+            "Database circuit opened after {} connection failures within {}ms; calls will be rejected until it responds.",
+            failureThreshold, window.toMillis()
+        );
+    }
+
+    /**
+     * Runs the probe once, closing the breaker if it succeeds.
+     */
+    void probe() {
+        if (!open)
+            return;
+
+        try {
+            probe.check();
+        } catch (Exception e) {
+            logger.debug("Database is still unreachable: {}", e.getMessage());
+            return;
+        }
+
+        reset();
+        logger.info("Database circuit closed; the database is responding again.");
+    }
+
+    private synchronized void reset() {
+        open = false;
+        failures.reset();
+
+        if (probeTask != null) {
+            probeTask.cancel(false);
+            probeTask = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (prober != null)
+            prober.shutdownNow();
+    }
+}
@@ -1,39 +1,88 @@
 package org.bhel.hrm.server.config;
 
 import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the connection pool and the transactions opened on it.
+ * <p>
+ * Transactions are explicit {@link TransactionContext} objects. A DAO finds the connection
+ * of the transaction bound to its thread through {@link #getConnection()}; with no
+ * transaction bound, each DAO call borrows and releases its own pooled connection.
+ * <p>
+ * Every borrow first asks the {@link DatabaseCircuitBreaker}, which rejects it while the
+ * database is known to be unreachable. A transaction already under way keeps its connection.
+ */
 public final class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
 
+    // Frames from these classes are skipped when attributing a connection to its borrower.
+    private static final String DATABASE_MANAGER_CLASS = DatabaseManager.class.getName();
+    private static final String ABSTRACT_DAO_CLASS = "org.bhel.hrm.server.daos.AbstractDAO";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    // One borrow in this many is attributed to its caller, unless leak detection needs them all.
+    private static final int BORROWER_SAMPLE_RATE = 16;
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
     private final Configuration config;
-    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+    private final MetricsRegistry metrics;
+    private final ConnectionPool connectionPool;
+    private final TransactionRetryPolicy retryPolicy;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final ThreadLocal<TransactionContext> currentTransaction = new ThreadLocal<>();
+    private final AtomicInteger openTransactions = new AtomicInteger();
 
     public DatabaseManager(Configuration config) {
+        this(config, new MetricsRegistry());
+    }
+
+    public DatabaseManager(Configuration config, MetricsRegistry metrics) {
+        this(config, metrics, TransactionRetryPolicy.none(metrics));
+    }
+
+    /**
+     * @param config The database and pool settings
+     * @param metrics The registry to publish pool and transaction metrics to
+     * @param retryPolicy Decides which failed transactions are run again
+     */
+    public DatabaseManager(Configuration config, MetricsRegistry metrics, TransactionRetryPolicy retryPolicy) {
         this.config = config;
+        this.metrics = metrics;
+        this.retryPolicy = retryPolicy;
+        this.connectionPool = createConnectionPool(config, metrics);
+        this.circuitBreaker = createCircuitBreaker(config, metrics);
+
+        metrics.gauge("db.transactions.open", openTransactions::get);
         initializeDatabase();
     }
 
     /**
-     * Gets a connection. If a transaction is active on the current thread,
-     * returns the transaction's connection; otherwise, returns a new connection.
+     * Gets a connection. If a transaction is bound to the current thread,
+     * returns the transaction's connection; otherwise, borrows one from the pool.
      *
      * @return A database connection; never null
      * @throws SQLException If a database access error occurs
+     * @throws DatabaseCircuitBreaker.OpenCircuitException If a connection would be borrowed
+     *                                                     while the database is unreachable
      */
     public Connection getConnection() throws SQLException {
-        Connection conn = transactionConnection.get();
-        if (conn != null)
-            return conn; // Returns an existing transaction connection
+        TransactionContext tx = currentTransaction();
+        if (tx != null)
+            return tx.getConnection(); // Returns an existing transaction connection
 
-        // Returns a new connection for a single, non-transactional operation
-        return DriverManager.getConnection(config.getDbUrl(), config.getDbUser(), config.getDbPassword());
+        // Borrows a pooled connection for a single, non-transactional operation
+        circuitBreaker.ensureAvailable();
+        return connectionPool.acquire(sampleBorrower());
     }
 
     /**
@@ -51,97 +100,141 @@ public final class DatabaseManager {
     }
 
     /**
-     * Executes a given task within a managed database transaction.
+     * A functional interface representing transactional work that is given its
+     * transaction and returns a result.
+     *
+     * @param <R> The type of the result
+     */
+    @FunctionalInterface
+    public interface TransactionalWork<R> {
+        /**
+         * Executes the transactional work.
+         *
+         * @param tx The transaction, bound to the calling thread
+         * @return The result of the work
+         * @throws HRMException If a business rule or data validation error occurs
+         */
+        R execute(TransactionContext tx) throws HRMException;
+    }
+
+    /**
+     * Executes a given task within a managed, read-write database transaction.
      * Handles connection lifecycle, commit, and rollback.
      *
      * @param task The block of code to execute transactionally; must not be null
      * @throws SQLException If a database error occurs during transaction management
      * @throws HRMException If the task throws an HRM specific exception.
+     * @see #inTransaction(TransactionContext.Options, TransactionalWork)
      */
     public void executeInTransaction(TransactionalTask task) throws SQLException, HRMException {
-        beginTransaction();
-        try {
+        inTransaction(TransactionContext.Options.READ_WRITE, tx -> {
             task.execute();
-            commitTransaction();
-        } catch (Exception e) {
-            rollbackTransaction();
-            switch (e) {
-                case HRMException hrmException -> throw hrmException;
-                case SQLException sqlException -> throw sqlException;
-                default -> throw new HRMException("Unexpected error in transaction", e);
-            }
-        }
+            return null;
+        });
     }
 
     /**
-     * Starts a new transaction on the current thread.
+     * Executes work within a new transaction opened with the given options, bound to the
+     * current thread while the work runs. The transaction commits if the work returns and
+     * rolls back if it throws.
+     * <p>
+     * If the work fails with a transient error such as a deadlock, the transaction is rolled
+     * back and the work run again in a new one, as the {@link TransactionRetryPolicy} allows.
+     * The work must therefore have no effects outside the transaction other than those it
+     * registers with {@link TransactionContext#afterCommit}. A failed commit is never retried,
+     * as the transaction may have committed before the error was reported.
+     * <p>
+     * If a transaction is already bound to the current thread, the work joins it instead of
+     * opening a second one on another connection; the outer transaction alone commits, rolls
+     * back and retries. Joining fails fast if the outer transaction is read-only and the work
+     * is not, or if the work asks for a different isolation level.
      *
-     * @throws SQLException If a transaction is already active or connection fails
+     * @param options Whether the transaction is read-only, and its isolation level
+     * @param work The work to execute transactionally; must not be null
+     * @return The result of the work
+     * @throws SQLException If a database error occurs during transaction management
+     * @throws HRMException If the work throws an HRM specific exception.
+     * @throws IllegalStateException If the work cannot join the transaction already bound
+     *                               to the current thread
      */
-    public void beginTransaction() throws SQLException {
-        if (transactionConnection.get() != null)
-            throw new SQLException("Transaction is already active on this thread.");
-
-        Connection conn = DriverManager.getConnection(config.getDbUrl(), config.getDbUser(), config.getDbPassword());
-        try {
-            conn.setAutoCommit(false);
+    public <R> R inTransaction(TransactionContext.Options options, TransactionalWork<R> work) throws SQLException, HRMException {
+        TransactionContext outer = currentTransaction();
+        if (outer != null) {
+            outer.ensureJoinable(options);
+            return work.execute(outer);
+        }
 
-            transactionConnection.set(conn);
-            logger.debug("Transaction started for Thread [{}]", Thread.currentThread().getName());
-        } catch (SQLException e) {
-            try {
-                conn.close();
-            } catch (SQLException suppressed) {
-                logger.warn("Error closing tx connection after begin failure.", suppressed);
+        long start = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            boolean committing = false;
+
+            try (TransactionContext tx = begin(options)) {
+                TransactionContext.Binding binding = tx.bind();
+                try {
+                    R result = work.execute(tx);
+                    committing = true;
+                    tx.commit();
+                    return result;
+                } finally {
+                    binding.close();
+                }
+            } catch (Exception e) {
+                if (committing || !retryPolicy.shouldRetry(e, attempt, start)) {
+                    switch (e) {
+                        case HRMException hrmException -> throw hrmException;
+                        case SQLException sqlException -> throw sqlException;
+                        default -> throw new HRMException("Unexpected error in transaction", e);
+                    }
+                }
             }
         }
     }
 
     /**
-     * Commits the active transaction.
+     * Opens a new transaction that is not bound to any thread. The caller owns the returned
+     * context and must commit or close it, preferably in a try-with-resources block.
      *
-     * @throws SQLException If a database error occurs during commit
+     * @param options Whether the transaction is read-only, and its isolation level
+     * @return The open transaction
+     * @throws SQLException If a connection cannot be borrowed or configured
+     * @throws DatabaseCircuitBreaker.OpenCircuitException If the database is unreachable
      */
-    public void commitTransaction() throws SQLException {
-        Connection conn = transactionConnection.get();
+    public TransactionContext begin(TransactionContext.Options options) throws SQLException {
+        circuitBreaker.ensureAvailable();
+        TransactionContext tx = new TransactionContext(this, connectionPool.acquire(sampleBorrower()), options);
+        openTransactions.incrementAndGet();
+        logger.debug("Transaction started for Thread [{}]", Thread.currentThread().getName());
 
-        if (conn != null) {
-            try {
-                conn.commit();
-                logger.debug("Transaction committed for Thread [{}]", Thread.currentThread().getName());
-            } finally {
-                closeTransactionConnection();
-            }
-        }
+        return tx;
     }
 
     /**
-     * Rolls back the active transaction if one is in progress.
+     * Registers an action to run once the current thread's transaction has committed, e.g. to
+     * invalidate a cache entry for a row the transaction changed. The action is discarded if the
+     * transaction rolls back. Without an active transaction, the action runs immediately.
+     *
+     * @param action The action to run after commit; must not be null
      */
-    public void rollbackTransaction() {
-        Connection conn = transactionConnection.get();
-
-        if (conn != null) {
-            try {
-                conn.rollback();
-                logger.warn("Transaction rolled back for Thread [{}]", Thread.currentThread().getName());
-            } catch (SQLException e) {
-                logger.error("Error during transaction rollback.", e);
-            } finally {
-                closeTransactionConnection();
-            }
+    public void afterCommit(Runnable action) {
+        TransactionContext tx = currentTransaction();
+        if (tx == null) {
+            action.run();
+            return;
         }
+
+        tx.afterCommit(action);
     }
 
     /**
-     * Releases a non-transactional connection.
+     * Releases a non-transactional connection back to the pool.
      *
      * @param conn The connection to release; may be null
      */
     public void releaseConnection(Connection conn) {
-        Connection tx = transactionConnection.get();
+        TransactionContext tx = currentTransaction();
 
-        if (conn != null && conn != tx) {
+        if (conn != null && (tx == null || conn != tx.getConnection())) {
             try {
                 conn.close();
             } catch (SQLException e) {
@@ -151,28 +244,137 @@ public final class DatabaseManager {
     }
 
     /**
-     * Checks if a transaction is active on the current thread.
+     * Checks if a transaction is bound to the current thread.
      *
      * @return {@code true} if a transaction is active, false otherwise
      */
     public boolean isTransactionActive() {
-        return transactionConnection.get() != null;
+        return currentTransaction() != null;
     }
 
     /**
-     * Closes the transactional connection and removes it from ThreadLocal.
+     * Returns the transaction bound to the current thread.
+     *
+     * @return The active transaction, or {@code null} if there is none
      */
-    private void closeTransactionConnection() {
-        Connection conn = transactionConnection.get();
+    public TransactionContext currentTransaction() {
+        TransactionContext tx = currentTransaction.get();
+        if (tx != null && !tx.isActive()) {
+            // Completed on another thread after being unbound here; drops the stale reference.
+            currentTransaction.remove();
+            return null;
+        }
 
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                logger.error("Error closing transaction connection.", e);
-            } finally {
-                transactionConnection.remove(); // Cleans up the ThreadLocal
-            }
+        return tx;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public DatabaseCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Closes the circuit breaker and the connection pool. Called once when the server shuts down.
+     */
+    public void shutdown() {
+        circuitBreaker.close();
+        connectionPool.close();
+    }
+
+    /**
+     * Makes a transaction the current one on this thread, or clears it if {@code null}.
+     *
+     * @return The transaction that was current before
+     */
+    TransactionContext swapCurrentTransaction(TransactionContext tx) {
+        TransactionContext previous = currentTransaction.get();
+        if (tx == null)
+            currentTransaction.remove();
+        else
+            currentTransaction.set(tx);
+
+        return previous;
+    }
+
+    /**
+     * Called by a transaction once it has committed or rolled back and released its connection.
+     */
+    void transactionEnded(TransactionContext tx) {
+        openTransactions.decrementAndGet();
+        if (currentTransaction.get() == tx)
+            currentTransaction.remove(); // Cleans up the ThreadLocal
+    }
+
+    /**
+     * Names the borrower of a connection for a sample of borrows, as walking the stack on every
+     * borrow would cost more than the borrow itself. With leak detection on, every borrow is
+     * named, so that a leak can always be traced to its caller.
+     *
+     * @return The borrower, or {@code null} if this borrow is not sampled
+     */
+    private String sampleBorrower() {
+        if (!connectionPool.isLeakDetectionEnabled() && ThreadLocalRandom.current().nextInt(BORROWER_SAMPLE_RATE) != 0)
+            return null;
+
+        return findBorrower();
+    }
+
+    /**
+     * Names the first caller outside the persistence plumbing, e.g. {@code EmployeeDAOImpl.findById}
+     * for a DAO query or {@code UserService.registerNewEmployee} for a transaction.
+     */
+    private static String findBorrower() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame ->
+                !frame.getClassName().startsWith(DATABASE_MANAGER_CLASS) &&
+                !frame.getClassName().startsWith(ABSTRACT_DAO_CLASS)
+            )
+            .findFirst()
+            .map(frame -> {
+                String className = frame.getClassName();
+                return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+            })
+            .orElse("unknown"));
+    }
+
+    private static ConnectionPool createConnectionPool(Configuration config, MetricsRegistry metrics) {
+        return ConnectionPool.builder()
+            .url(config.getDbUrl())
+            .username(config.getDbUser())
+            .password(config.getDbPassword())
+            .minSize(config.getDbPoolMinSize())
+            .maxSize(config.getDbPoolMaxSize())
+            .acquireTimeout(Duration.ofMillis(config.getDbPoolAcquireTimeoutMillis()))
+            .idleTimeout(Duration.ofMillis(config.getDbPoolIdleTimeoutMillis()))
+            .maxLifetime(Duration.ofMillis(config.getDbPoolMaxLifetimeMillis()))
+            .validationTimeout(Duration.ofMillis(config.getDbPoolValidationTimeoutMillis()))
+            .leakDetectionThreshold(Duration.ofMillis(config.getDbPoolLeakDetectionThresholdMillis()))
+            .statementCacheSize(config.getDbStatementCacheSize())
+            .metrics(metrics)
+            .build();
+    }
+
+    private DatabaseCircuitBreaker createCircuitBreaker(Configuration config, MetricsRegistry metrics) {
+        return new DatabaseCircuitBreaker(
+            config.getDbCircuitFailureThreshold(),
+            Duration.ofMillis(config.getDbCircuitWindowMillis()),
+            Duration.ofMillis(config.getDbCircuitProbeIntervalMillis()),
+            this::probeDatabase,
+            metrics
+        );
+    }
+
+    /**
+     * Borrows and validates a connection past the open circuit breaker. The database counts as
+     * reachable again once this succeeds.
+     */
+    private void probeDatabase() throws SQLException {
+        try (Connection connection = connectionPool.acquire(null)) {
+            if (!connection.isValid(PROBE_TIMEOUT_SECONDS))
+                throw new SQLException("Database connection failed validation.");
         }
     }
 
@@ -189,6 +391,31 @@ public final class DatabaseManager {
         }
     }
 
+    /**
+     * Creates an index unless one with the same name already exists on the table.
+     * MySQL has no {@code CREATE INDEX IF NOT EXISTS}, so this checks the data dictionary first.
+     *
+     * @param stmt The SQL Statement object used to execute DDL commands
+     * @param table The table to index
+     * @param index The name of the index
+     * @param columns The comma-separated list of indexed columns
+     * @throws SQLException If a database access error occurs or index creation fails
+     */
+    private void createIndexIfMissing(Statement stmt, String table, String index, String columns) throws SQLException {
+        String existsSql = String.format("""
+            SELECT 1 FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = '%s' AND index_name = '%s'
+            LIMIT 1
+        """, table, index);
+
+        try (ResultSet result = stmt.executeQuery(existsSql)) {
+            if (result.next())
+                return;
+        }
+
+        stmt.execute(String.format("CREATE INDEX %s ON %s (%s)", index, table, columns));
+    }
+
     /**
      * Creates all HRM (Human Resource Management) database tables and populates lookup tables with initial data.
      * <p>
@@ -260,6 +487,9 @@ public final class DatabaseManager {
             )
         """);
 
+        // Serves the keyset-paginated employee listing without a filesort
+        createIndexIfMissing(stmt, "employees", "idx_employees_listing", "last_name, first_name, id");
+
         // 3. LeaveApplications, LeaveApplicationTypes, and LeaveApplicationStatuses Table
         stmt.execute("""
             CREATE TABLE IF NOT EXISTS leave_application_types (
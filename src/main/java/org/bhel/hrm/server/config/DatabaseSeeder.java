@@ -10,6 +10,8 @@ import org.bhel.hrm.server.services.PasswordService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 public class DatabaseSeeder {
@@ -41,63 +43,69 @@ public class DatabaseSeeder {
         logger.info("Database is empty; seeding with initial fake data...");
 
         try {
-            dbManager.beginTransaction();
+            dbManager.executeInTransaction(this::seed);
+        } catch (Exception e) {
+            // The transaction has already been rolled back by executeInTransaction.
+            logger.error("Database seeding failed; the transaction was rolled back.", e);
+            return;
+        }
 
-            // 1. Creates a default HR Staff user
-            User hrUser = new User(
-                "hr_admin",
-                PasswordService.hashPassword("admin123"),
-                UserDTO.Role.HR_STAFF
-            );
-            userDAO.save(hrUser);
+        logger.info("Successfully seeded the database with {} users.", userDAO.count());
+    }
 
-            Employee hrEmployee = new Employee(
-                hrUser.getId(),
-                "Admin",
-                "User",
-                "S0000000A"
-            );
-            employeeDAO.save(hrEmployee);
+    /**
+     * Inserts the default and random users and their employee profiles.
+     */
+    private void seed() {
+        // 1. Creates a default HR Staff user and a default Employee user
+        List<User> users = new ArrayList<>();
+        users.add(new User(
+            "hr_admin",
+            PasswordService.hashPassword("admin123"),
+            UserDTO.Role.HR_STAFF
+        ));
+        users.add(new User(
+            "employee",
+            PasswordService.hashPassword("user123"),
+            UserDTO.Role.EMPLOYEE
+        ));
 
-            // 2. Creates a default Employee user
-            User employeeUser = new User(
-                "employee",
-                PasswordService.hashPassword("user123"),
+        // 2. Creates 20 random users for development
+        for (int i = 0; i < 20; i++) {
+            users.add(new User(
+                faker.name().name(),
+                PasswordService.hashPassword("password"),
                 UserDTO.Role.EMPLOYEE
-            );
-            userDAO.save(employeeUser);
-
-            Employee testEmployee = new Employee(
-                employeeUser.getId(),
-                "John",
-                "Doe",
-                "S1234567B"
-            );
-            employeeDAO.save(testEmployee);
+            ));
+        }
 
-            // 3. Creates 20 random employees for development
-            for (int i = 0; i < 20; i++) {
-                User randomUser = new User(
-                    faker.name().name(),
-                    PasswordService.hashPassword("password"),
-                    UserDTO.Role.EMPLOYEE
-                );
-                userDAO.save(randomUser);
+        // Saves all users in one batch, which sets their generated IDs
+        userDAO.saveAll(users);
 
-                Employee randomEmployee = new Employee(
-                    randomUser.getId(),
-                    faker.name().firstName(),
-                    faker.name().lastName(),
-                    faker.idNumber().ssnValid()
-                );
-                employeeDAO.save(randomEmployee);
-            }
+        // 3. Creates the employee profiles linked to the users
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(
+            users.get(0).getId(),
+            "Admin",
+            "User",
+            "S0000000A"
+        ));
+        employees.add(new Employee(
+            users.get(1).getId(),
+            "John",
+            "Doe",
+            "S1234567B"
+        ));
 
-            dbManager.commitTransaction();
-            logger.info("Successfully seeded the database with {} users.", userDAO.count());
-        } catch (Exception e) {
-            logger.error("Database seeding failed. Rolling back transaction.", e);
-            dbManager.rollbackTransaction();
+        for (User randomUser : users.subList(2, users.size())) {
+            employees.add(new Employee(
+                randomUser.getId(),
+                faker.name().firstName(),
+                faker.name().lastName(),
+                faker.idNumber().ssnValid()
+            ));
         }
+
+        employeeDAO.saveAll(employees);
     }
 }
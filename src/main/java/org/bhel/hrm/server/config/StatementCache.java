@@ -0,0 +1,289 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.metrics.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded, least-recently-used cache of {@link PreparedStatement}s for a single
+ * physical connection, keyed by SQL text and generated-keys mode.
+ * <p>
+ * Closing a statement obtained from the cache returns it to the cache with its parameters
+ * cleared instead of closing it, so hot queries are parsed (and, with server-side prepared
+ * statements enabled, prepared on MySQL) only once per physical connection. The cache lives
+ * and dies with its connection.
+ * <p>
+ * A caller's fetch size, row limit, query timeout, fetch direction and field size limit are
+ * restored to the statement's original settings when it is returned, so e.g. a streaming
+ * fetch size does not leak into the next query. A statement on which any other setting was
+ * changed is closed on return instead of being reused.
+ * <p>
+ * This class is not thread-safe; it is confined to whichever caller currently has the
+ * owning connection checked out of the pool.
+ */
+final class StatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    // Statement settings that are restored when a statement is returned to the cache
+    private static final Set<String> RESTORED_SETTERS = Set.of(
+        "setFetchSize", "setMaxRows", "setLargeMaxRows", "setQueryTimeout", "setFetchDirection", "setMaxFieldSize"
+    );
+
+    // Statement settings that cannot be restored, so a statement using them is not reused
+    private static final Set<String> UNRESTORABLE_SETTERS = Set.of(
+        "setEscapeProcessing", "setCursorName", "setPoolable", "closeOnCompletion"
+    );
+
+    private final Connection physical;
+    private final Map<StatementKey, CachedStatement> statements;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    StatementCache(Connection physical, int maxSize, Counter hits, Counter misses, Counter evictions) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+                if (size() <= maxSize)
+                    return false;
+
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns {@code true} if a {@code prepareStatement} call with these arguments can be served
+     * from the cache: either {@code (String)} or {@code (String, int autoGeneratedKeys)}.
+     */
+    static boolean isCacheable(Method method, Object[] args) {
+        if (args == null || args.length == 0 || args.length > 2 || !(args[0] instanceof String))
+            return false;
+
+        return args.length == 1 || method.getParameterTypes()[1] == int.class;
+    }
+
+    /**
+     * Returns a cached statement for the given SQL, preparing and caching a new one on a miss.
+     * If the cached statement is already in use (e.g. the same query nested inside a
+     * transaction), an uncached statement is returned instead.
+     *
+     * @param owner The pooled connection handle the statement should report as its connection
+     * @param args The original {@code prepareStatement} arguments
+     * @return A prepared statement whose {@code close()} returns it to the cache
+     * @throws SQLException If the statement cannot be prepared
+     */
+    PreparedStatement prepare(Connection owner, Object[] args) throws SQLException {
+        String sql = (String) args[0];
+        int autoGeneratedKeys = args.length == 2 ? (int) args[1] : Statement.NO_GENERATED_KEYS;
+        StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            return cached.checkout(owner);
+        }
+
+        misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null)
+            return statement;
+
+        Settings settings;
+        try {
+            settings = Settings.of(statement);
+        } catch (SQLException e) {
+            logger.debug("Could not read statement settings; the statement will not be cached.", e);
+            return statement;
+        }
+
+        CachedStatement entry = new CachedStatement(key, statement, settings);
+        statements.put(key, entry);
+        return entry.checkout(owner);
+    }
+
+    /**
+     * Closes every cached statement. Called when the owning physical connection is closed.
+     */
+    void closeAll() {
+        List<CachedStatement> toClose = new ArrayList<>(statements.values());
+        statements.clear();
+        toClose.forEach(CachedStatement::closeQuietly);
+    }
+
+    private void evict(CachedStatement entry) {
+        evictions.increment();
+
+        if (entry.inUse)
+            entry.evicted = true;
+        else
+            entry.closeQuietly();
+    }
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {}
+
+    /**
+     * The settings a statement had when it was prepared, restored when it is returned.
+     */
+    private record Settings(int fetchSize, int maxRows, int queryTimeout, int fetchDirection, int maxFieldSize) {
+        static Settings of(Statement statement) throws SQLException {
+            return new Settings(
+                statement.getFetchSize(),
+                statement.getMaxRows(),
+                statement.getQueryTimeout(),
+                statement.getFetchDirection(),
+                statement.getMaxFieldSize()
+            );
+        }
+
+        void restore(Statement statement) throws SQLException {
+            statement.setFetchSize(fetchSize);
+            statement.setMaxRows(maxRows);
+            statement.setQueryTimeout(queryTimeout);
+            statement.setFetchDirection(fetchDirection);
+            statement.setMaxFieldSize(maxFieldSize);
+        }
+    }
+
+    /**
+     * A physical prepared statement owned by the cache.
+     */
+    private final class CachedStatement {
+        private final StatementKey key;
+        private final PreparedStatement statement;
+        private final Settings settings;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+        private boolean unrestorable;
+
+        private CachedStatement(StatementKey key, PreparedStatement statement, Settings settings) {
+            this.key = key;
+            this.statement = statement;
+            this.settings = settings;
+        }
+
+        private PreparedStatement checkout(Connection owner) {
+            inUse = true;
+
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new StatementHandle(this, owner)
+            );
+        }
+
+        private void checkin() {
+            inUse = false;
+
+            if (unrestorable)
+                statements.remove(key, this);
+
+            if (evicted || unrestorable) {
+                closeQuietly();
+                return;
+            }
+
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+
+                if (settingsChanged) {
+                    settings.restore(statement);
+                    settingsChanged = false;
+                }
+            } catch (SQLException e) {
+                logger.debug("Failed to reset cached statement; it will be discarded.", e);
+                statements.remove(key, this);
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.debug("Error closing cached statement.", e);
+            }
+        }
+    }
+
+    /**
+     * The per-use view of a cached statement. Closing it returns the statement to the
+     * cache exactly once; any later use fails fast.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement entry;
+        private final Connection owner;
+        private boolean closed;
+
+        private StatementHandle(CachedStatement entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        entry.checkin();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || entry.statement.isClosed();
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return entry.statement.toString();
+                }
+                default -> {
+                    if (closed)
+                        throw new SQLException("Statement has already been closed.");
+
+                    if (RESTORED_SETTERS.contains(method.getName()))
+                        entry.settingsChanged = true;
+                    else if (UNRESTORABLE_SETTERS.contains(method.getName()))
+                        entry.unrestorable = true;
+                }
+            }
+
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
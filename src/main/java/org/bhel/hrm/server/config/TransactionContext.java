@@ -0,0 +1,322 @@
+package org.bhel.hrm.server.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A single database transaction and the pooled connection it runs on.
+ * <p>
+ * A context is an ordinary object rather than state hidden in a thread, so it can be handed
+ * to whichever thread does the work. DAOs reach the transaction's connection through
+ * {@link DatabaseManager#getConnection()} while the context is {@linkplain #bind() bound} to
+ * the calling thread; {@link DatabaseManager#inTransaction} binds it for the duration of its
+ * callback. A context may be bound to one thread at a time, as a JDBC connection must not be
+ * used by two threads at once, but may be unbound on one thread and bound on another.
+ * <p>
+ * Closing a context that has not been committed rolls it back, so a context opened in a
+ * try-with-resources block never leaks its connection. The connection's read-only flag and
+ * isolation level are restored before it goes back to the pool.
+ */
+public final class TransactionContext implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionContext.class);
+
+    /**
+     * The isolation level a transaction runs at.
+     */
+    public enum Isolation {
+        /** The connection's current level, i.e. the server default ({@code REPEATABLE READ} on InnoDB). */
+        DEFAULT(-1),
+        READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+        REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+        SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+        private final int jdbcLevel;
+
+        Isolation(int jdbcLevel) {
+            this.jdbcLevel = jdbcLevel;
+        }
+    }
+
+    /**
+     * How a transaction is opened.
+     *
+     * @param readOnly Whether the transaction only reads, which lets InnoDB skip assigning it
+     *                 a transaction ID and rejects any write it attempts
+     * @param isolation The isolation level to run at
+     */
+    public record Options(boolean readOnly, Isolation isolation) {
+        /** A read-write transaction at the default isolation level. */
+        public static final Options READ_WRITE = new Options(false, Isolation.DEFAULT);
+
+        /** A read-only transaction at the default isolation level. */
+        public static final Options READ_ONLY = new Options(true, Isolation.DEFAULT);
+
+        public Options withIsolation(Isolation isolation) {
+            return new Options(readOnly, isolation);
+        }
+    }
+
+    /**
+     * Binds a context to a thread until closed; see {@link #bind()}.
+     */
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final DatabaseManager owner;
+    private final Connection connection;
+    private final Options options;
+    private final int previousIsolation;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+    private final List<Runnable> afterRollbackActions = new ArrayList<>();
+    private final AtomicReference<Thread> boundThread = new AtomicReference<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean active = true;
+
+    /**
+     * Opens the transaction on a connection just borrowed from the pool. If the connection
+     * cannot be configured, it is closed and the exception rethrown.
+     */
+    TransactionContext(DatabaseManager owner, Connection connection, Options options) throws SQLException {
+        this.owner = owner;
+        this.connection = connection;
+        this.options = options;
+
+        try {
+            if (options.isolation() != Isolation.DEFAULT) {
+                previousIsolation = connection.getTransactionIsolation();
+                connection.setTransactionIsolation(options.isolation().jdbcLevel);
+            } else {
+                previousIsolation = -1;
+            }
+
+            if (options.readOnly())
+                connection.setReadOnly(true);
+
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            try {
+                connection.close();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Makes this transaction the current one on the calling thread until the returned binding
+     * is closed, after which the thread's previous transaction, if any, is current again.
+     *
+     * @return The binding to close once the thread is done with the transaction
+     * @throws IllegalStateException If the transaction has completed or is bound to another thread
+     */
+    public Binding bind() {
+        if (!active)
+            throw new IllegalStateException("The transaction has already completed.");
+
+        Thread current = Thread.currentThread();
+        Thread bound = boundThread.compareAndExchange(null, current);
+        if (bound != null && bound != current)
+            throw new IllegalStateException("The transaction is already bound to thread [" + bound.getName() + "].");
+
+        if (bound == current)
+            return () -> { }; // Already bound further up this thread's call stack
+
+        TransactionContext previous = owner.swapCurrentTransaction(this);
+        return () -> {
+            owner.swapCurrentTransaction(previous);
+            boundThread.compareAndSet(current, null);
+        };
+    }
+
+    /**
+     * Registers an action to run once this transaction has committed, e.g. to invalidate a
+     * cache entry for a row it changed. The action is discarded if the transaction rolls back.
+     *
+     * @param action The action to run after commit; must not be null
+     */
+    public void afterCommit(Runnable action) {
+        lock.lock();
+        try {
+            if (!active)
+                throw new IllegalStateException("The transaction has already completed.");
+
+            afterCommitActions.add(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers an action to run if this transaction rolls back, e.g. to clear the generated
+     * IDs written back onto entities whose rows it inserted. The action is discarded if the
+     * transaction commits.
+     *
+     * @param action The action to run after rollback; must not be null
+     */
+    public void afterRollback(Runnable action) {
+        lock.lock();
+        try {
+            if (!active)
+                throw new IllegalStateException("The transaction has already completed.");
+
+            afterRollbackActions.add(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the transaction, returns its connection to the pool and runs the after-commit
+     * actions. If the commit fails, the transaction is rolled back and the after-rollback
+     * actions are run instead.
+     *
+     * @throws SQLException If the commit fails
+     * @throws IllegalStateException If the transaction has already completed
+     */
+    public void commit() throws SQLException {
+        SQLException failure = null;
+
+        lock.lock();
+        try {
+            if (!active)
+                throw new IllegalStateException("The transaction has already completed.");
+
+            try {
+                connection.commit();
+                logger.debug("Transaction committed on Thread [{}]", Thread.currentThread().getName());
+            } catch (SQLException e) {
+                rollbackQuietly();
+                failure = e;
+            } finally {
+                finish();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Once the transaction has completed, no more actions can be registered
+        if (failure != null) {
+            runCompletionActions(afterRollbackActions, "After-rollback");
+            throw failure;
+        }
+
+        runCompletionActions(afterCommitActions, "After-commit");
+    }
+
+    /**
+     * Rolls the transaction back, returns its connection to the pool and runs the
+     * after-rollback actions. Does nothing if the transaction has already completed.
+     */
+    public void rollback() {
+        lock.lock();
+        try {
+            if (!active)
+                return;
+
+            rollbackQuietly();
+            logger.warn("Transaction rolled back on Thread [{}]", Thread.currentThread().getName());
+            finish();
+        } finally {
+            lock.unlock();
+        }
+
+        runCompletionActions(afterRollbackActions, "After-rollback");
+    }
+
+    /**
+     * Rolls the transaction back unless it has already been committed.
+     */
+    @Override
+    public void close() {
+        rollback();
+    }
+
+    /**
+     * Checks that work asking for a transaction with the given options can run in this one
+     * instead of opening its own, as a nested {@link DatabaseManager#inTransaction} call does.
+     *
+     * @param requested The options the nested work asked for
+     * @throws IllegalStateException If the nested work needs to write and this transaction is
+     *                               read-only, or asks for a different isolation level
+     */
+    void ensureJoinable(Options requested) {
+        if (options.readOnly() && !requested.readOnly())
+            throw new IllegalStateException("A read-write transaction cannot join a read-only one.");
+
+        if (requested.isolation() != Isolation.DEFAULT && requested.isolation() != options.isolation())
+            throw new IllegalStateException("A " + requested.isolation() + " transaction cannot join a "
+                + options.isolation() + " one.");
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Options getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the connection the transaction runs on. Closing it has no effect; the
+     * connection is returned to the pool when the transaction completes.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("Error during transaction rollback.", e);
+        }
+    }
+
+    /**
+     * Restores the connection's session state and returns it to the pool. The pool itself
+     * restores auto-commit, and tries the read-only flag and isolation level again if
+     * restoring them here failed, discarding the connection if they still cannot be reset.
+     */
+    private void finish() {
+        active = false;
+        try {
+            if (options.readOnly())
+                connection.setReadOnly(false);
+
+            if (previousIsolation != -1)
+                connection.setTransactionIsolation(previousIsolation);
+        } catch (SQLException e) {
+            logger.warn("Failed to restore the connection's session state.", e);
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.error("Error closing transaction connection.", e);
+        } finally {
+            owner.transactionEnded(this);
+        }
+    }
+
+    private static void runCompletionActions(List<Runnable> actions, String kind) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The transaction has already completed; a failing action must not change its outcome for the caller.
+                logger.error("{} action failed.", kind, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.error.ErrorContext;
+import org.bhel.hrm.common.error.ExceptionMappingConfig;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.TransientDataAccessException;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a failed transaction is worth running again, and how long to wait first.
+ * <p>
+ * A failure is retried only if the {@link SQLException} behind it, translated by the
+ * {@link ExceptionMappingConfig}, is a deadlock, a lock wait timeout or a transient
+ * connection failure. Other errors, including a busy server, would only fail again or add
+ * load, so they are reported at once. Waits grow exponentially from the initial backoff up to
+ * the maximum, with full jitter so that transactions which deadlocked on each other do not
+ * collide again. A transaction is not retried once it has used its attempts, or if the next
+ * wait would take it past its time budget.
+ * <p>
+ * The budget is per {@code inTransaction} call, measured from the start of its first attempt
+ * and including the time the attempts themselves took, so a transaction whose work is slow
+ * gets fewer retries. There is no separate budget per operation.
+ * <p>
+ * Retries are published as the {@code db.transactions.retries} and
+ * {@code db.transactions.retries.exhausted} counters.
+ */
+public final class TransactionRetryPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRetryPolicy.class);
+
+    private static final ErrorContext TRANSACTION_CONTEXT = ErrorContext.forOperation("transaction");
+
+    private static final Set<ErrorCode> RETRYABLE_CODES = EnumSet.of(
+        ErrorCode.DB_DEADLOCK, ErrorCode.DB_LOCK_TIMEOUT, ErrorCode.DB_CONNECTION_FAILED
+    );
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long budgetNanos;
+    private final ExceptionMappingConfig mappingConfig;
+
+    private final Counter retries;
+    private final Counter exhausted;
+
+    /**
+     * @param maxAttempts The maximum number of times a transaction runs, including the first; at least 1
+     * @param initialBackoff The upper bound of the wait before the first retry
+     * @param maxBackoff The upper bound of any single wait
+     * @param budget How long one {@code inTransaction} call may keep retrying, measured from
+     *               the start of its first attempt
+     * @param mappingConfig Translates database errors into application exceptions
+     * @param metrics The registry to publish retry metrics to
+     */
+    public TransactionRetryPolicy(
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        Duration budget,
+        ExceptionMappingConfig mappingConfig,
+        MetricsRegistry metrics
+    ) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("A transaction must be attempted at least once.");
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = Math.max(1, initialBackoff.toNanos());
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+        this.budgetNanos = budget.toNanos();
+        this.mappingConfig = mappingConfig;
+
+        this.retries = metrics.counter("db.transactions.retries");
+        this.exhausted = metrics.counter("db.transactions.retries.exhausted");
+    }
+
+    /**
+     * Returns a policy that never retries.
+     */
+    public static TransactionRetryPolicy none(MetricsRegistry metrics) {
+        return new TransactionRetryPolicy(
+            1, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            new ExceptionMappingConfig(), metrics);
+    }
+
+    /**
+     * Called after a transaction attempt has failed and been rolled back. If the failure is
+     * worth retrying, waits out the backoff and returns {@code true}.
+     *
+     * @param failure The exception the attempt failed with
+     * @param attempt The number of the attempt that failed, starting at 1
+     * @param startNanos The {@link System#nanoTime()} at which the first attempt started,
+     *                   from which the time budget is measured
+     * @return {@code true} if the transaction should be run again
+     */
+    boolean shouldRetry(Exception failure, int attempt, long startNanos) {
+        if (maxAttempts == 1 || !isRetryable(failure))
+            return false;
+
+        long backoffNanos = backoffNanos(attempt);
+        if (attempt >= maxAttempts || System.nanoTime() - startNanos + backoffNanos > budgetNanos) {
+            exhausted.increment();
+            logger.warn("Giving up on transaction after {} attempt(s): {}", attempt, failure.getMessage());
+            return false;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoffNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        retries.increment();
+        logger.info("Retrying transaction (attempt {} of {}) after: {}", attempt + 1, maxAttempts, failure.getMessage());
+        return true;
+    }
+
+    /**
+     * Returns a random wait of up to {@code initialBackoff * 2^(attempt - 1)}, capped at the maximum.
+     */
+    long backoffNanos(int attempt) {
+        long ceiling = initialBackoffNanos << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos)
+            ceiling = maxBackoffNanos;
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private boolean isRetryable(Exception failure) {
+        SQLException sqlException = findSqlException(failure);
+        return isTransient(sqlException == null ? failure : mappingConfig.translate(sqlException, TRANSACTION_CONTEXT));
+    }
+
+    private static boolean isTransient(Exception e) {
+        if (e instanceof TransientDataAccessException)
+            return true;
+
+        ErrorCode errorCode = switch (e) {
+            case HRMException hrmException -> hrmException.getErrorCode();
+            case DataAccessException dataAccessException -> dataAccessException.getErrorCode();
+            default -> null;
+        };
+
+        return errorCode != null && RETRYABLE_CODES.contains(errorCode);
+    }
+
+    /**
+     * Finds the database error behind a failure, which DAOs wrap in a {@code DataAccessException}.
+     */
+    private static SQLException findSqlException(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException)
+                return sqlException;
+        }
+
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package org.bhel.hrm.server.daos;
 
 import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.config.TransactionContext;
 import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,9 +10,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An abstract base class for DAOs using the Template Method Pattern to encapsulate
@@ -24,12 +33,53 @@ import java.util.Optional;
 public abstract class AbstractDAO<T> {
     private static final Logger logger = LoggerFactory.getLogger(AbstractDAO.class);
 
+    /**
+     * The fetch size that makes MySQL Connector/J stream a result set row by row
+     * instead of reading it into memory up front.
+     */
+    protected static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * The number of rows sent to the database per {@code executeBatch} round-trip.
+     */
+    protected static final int BATCH_SIZE = 500;
+
+    /**
+     * The lengths {@link #padInList} pads an {@code IN (...)} list to, so lookups of any
+     * size share a few statements in the statement cache instead of preparing one per size.
+     */
+    private static final int[] IN_LIST_SIZES = { 1, 10, 50, BATCH_SIZE };
+
     protected final DatabaseManager dbManager;
 
     protected AbstractDAO(DatabaseManager dbManager) {
         this.dbManager = dbManager;
     }
 
+    /**
+     * Pads a chunk of at most {@link #BATCH_SIZE} lookup values to the next fixed
+     * {@code IN (...)} list length by repeating its last value, which leaves the
+     * lookup's result unchanged.
+     *
+     * @param chunk The values to look up.
+     * @return The values, padded to one of a few fixed lengths.
+     */
+    protected static <E> List<E> padInList(List<E> chunk) {
+        for (int size : IN_LIST_SIZES) {
+            if (size >= chunk.size()) {
+                if (chunk.isEmpty() || size == chunk.size())
+                    return chunk;
+
+                List<E> padded = new ArrayList<>(size);
+                padded.addAll(chunk);
+                padded.addAll(Collections.nCopies(size - chunk.size(), chunk.getLast()));
+                return padded;
+            }
+        }
+
+        throw new IllegalArgumentException("An IN list holds at most " + BATCH_SIZE + " values");
+    }
+
     /**
      * A functional interface that defines the contract for mapping a row from a
      * {@link ResultSet} to an object of type R.
@@ -66,15 +116,17 @@ public abstract class AbstractDAO<T> {
     }
 
     /**
-     * Template method for executing a query expected to return a list of entities.
+     * Template method for executing a query expected to return a list of entities,
+     * or of any other value a row maps to, such as a single column.
      *
      * @param sql The SQL query to execute.
      * @param setter A lambda expression to set the query parameters on the PreparedStatement.
-     * @param mapper A lambda expression to map each ResultSet row to an entity.
-     * @return A {@link List} of entities, which may be empty if no results are found.
+     * @param mapper A lambda expression to map each ResultSet row to a result.
+     * @return A {@link List} of results, which may be empty if no results are found.
+     * @param <R> The type each row is mapped to.
      */
-    protected List<T> findMany(String sql, StatementSetter setter, RowMapper<T> mapper) {
-        List<T> results = new ArrayList<>();
+    protected <R> List<R> findMany(String sql, StatementSetter setter, RowMapper<R> mapper) {
+        List<R> results = new ArrayList<>();
         Connection conn = null;
 
         try {
@@ -99,6 +151,83 @@ public abstract class AbstractDAO<T> {
         return results;
     }
 
+    /**
+     * A functional interface that defines the contract for setting the parameter
+     * values for one entity of a batch on a {@link PreparedStatement}.
+     * @param <R> The type of the entity being written.
+     */
+    @FunctionalInterface
+    protected interface BatchStatementSetter<R> {
+        void setValues(PreparedStatement stmt, R entity) throws SQLException;
+    }
+
+    /**
+     * Template method for lazily walking the results of a query in constant memory,
+     * using MySQL's row-by-row streaming result sets.
+     *
+     * @see #stream(String, StatementSetter, RowMapper, int)
+     */
+    protected Stream<T> stream(String sql, StatementSetter setter, RowMapper<T> mapper) {
+        return stream(sql, setter, mapper, STREAMING_FETCH_SIZE);
+    }
+
+    /**
+     * Template method for lazily walking the results of a query. Rows are mapped one at a
+     * time as the stream is consumed, so the whole result never has to fit in memory.
+     * <p>
+     * The connection, statement and result set are held for the lifetime of the stream and
+     * released when it is closed, or as soon as the last row has been read. Callers must
+     * therefore use the stream in a try-with-resources block. While a streaming result set
+     * is open, MySQL does not allow other statements on the same connection, so a stream
+     * opened inside a transaction must be closed before the transaction issues further queries.
+     *
+     * @param sql The SQL query to execute.
+     * @param setter A lambda expression to set the query parameters on the PreparedStatement.
+     * @param mapper A lambda expression to map each ResultSet row to an entity.
+     * @param fetchSize The JDBC fetch size; {@link #STREAMING_FETCH_SIZE} streams row by row,
+     *                  while a positive size fetches in batches when {@code useCursorFetch} is enabled.
+     * @return A sequential, ordered {@link Stream} of entities that must be closed.
+     */
+    protected Stream<T> stream(String sql, StatementSetter setter, RowMapper<T> mapper, int fetchSize) {
+        boolean ownsConnection = !dbManager.isTransactionActive();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+
+        try {
+            conn = dbManager.getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            setter.setValues(stmt);
+
+            ResultSet result = stmt.executeQuery();
+            logger.info("{}", stmt);
+
+            ResultSetCursor cursor = new ResultSetCursor(sql, conn, ownsConnection, stmt, result, mapper);
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+            if (ownsConnection)
+                dbManager.releaseConnection(conn);
+
+            throw new DataAccessException("Error executing query: " + sql, e);
+        }
+    }
+
+    /**
+     * Template method for visiting every row of a query in constant memory, releasing the
+     * connection once all rows have been visited or the action throws.
+     *
+     * @param sql The SQL query to execute.
+     * @param setter A lambda expression to set the query parameters on the PreparedStatement.
+     * @param mapper A lambda expression to map each ResultSet row to an entity.
+     * @param action The action to perform on each entity, in result order.
+     */
+    protected void forEach(String sql, StatementSetter setter, RowMapper<T> mapper, Consumer<? super T> action) {
+        try (Stream<T> rows = stream(sql, setter, mapper)) {
+            rows.forEach(action);
+        }
+    }
+
     /**
      * Template method for executing an INSERT, UPDATE, or DELETE statement.
      *
@@ -124,6 +253,239 @@ public abstract class AbstractDAO<T> {
         }
     }
 
+    /**
+     * One statement to run in a batch: the SQL, the entities to run it for, how to set the
+     * parameters for each, and, for an INSERT, how to write each generated key back.
+     *
+     * @param sql The SQL statement to execute for each entity.
+     * @param entities The entities to write; may be empty.
+     * @param setter A lambda expression to set the parameters for one entity.
+     * @param generatedKeySetter A callback that writes each generated key back onto its entity,
+     *                           or {@code null} if the statement does not generate keys.
+     */
+    protected record BatchWrite<R>(
+        String sql,
+        List<R> entities,
+        BatchStatementSetter<R> setter,
+        ObjIntConsumer<R> generatedKeySetter
+    ) {
+        // Public, as a protected record's implicit constructor cannot be called from subclasses
+        public BatchWrite {}
+    }
+
+    /**
+     * Template method for executing an INSERT or UPDATE statement once per entity using
+     * JDBC batching; see {@link #executeBatches(List)}.
+     *
+     * @param sql The SQL statement to execute for each entity.
+     * @param entities The entities to write; may be empty.
+     * @param setter A lambda expression to set the parameters for one entity.
+     * @param generatedKeySetter A callback that writes each generated key back onto its entity,
+     *                           or {@code null} if the statement does not generate keys.
+     */
+    protected void executeBatch(
+        String sql,
+        List<T> entities,
+        BatchStatementSetter<T> setter,
+        ObjIntConsumer<T> generatedKeySetter
+    ) {
+        executeBatches(List.of(new BatchWrite<>(sql, entities, setter, generatedKeySetter)));
+    }
+
+    /**
+     * Template method for executing several batched statements, e.g. the inserts and the
+     * updates of a {@code saveAll}, sending up to {@link #BATCH_SIZE} rows per round-trip.
+     * With {@code rewriteBatchedStatements} enabled, MySQL receives each chunk of inserts as
+     * a single multi-row statement.
+     * <p>
+     * When no transaction is active, every statement runs in one local transaction, so that
+     * either every row is written or none is, and generated keys are written back onto the
+     * entities only once it has committed. Inside a transaction, the statements join it: the
+     * keys are written back as soon as the statements succeed, so later work in the
+     * transaction can use them, and are reset to 0 if the transaction rolls back. Either way,
+     * an entity never keeps the ID of a row that was not written.
+     *
+     * @param writes The statements to execute, in order.
+     */
+    protected void executeBatches(List<BatchWrite<T>> writes) {
+        if (writes.stream().allMatch(write -> write.entities().isEmpty()))
+            return;
+
+        TransactionContext outerTransaction = dbManager.currentTransaction();
+        boolean localTransaction = outerTransaction == null;
+        List<GeneratedKeys<T>> generatedKeys = new ArrayList<>();
+        Connection conn = null;
+
+        try {
+            conn = dbManager.getConnection();
+            if (localTransaction)
+                conn.setAutoCommit(false);
+
+            for (BatchWrite<T> write : writes) {
+                int[] keys = runBatch(conn, write);
+                if (keys != null)
+                    generatedKeys.add(new GeneratedKeys<>(write, keys));
+            }
+
+            if (localTransaction)
+                conn.commit();
+        } catch (SQLException e) {
+            if (localTransaction)
+                rollbackQuietly(conn);
+
+            throw new DataAccessException("Error executing batch: " + writes.getFirst().sql(), e);
+        } finally {
+            dbManager.releaseConnection(conn);
+        }
+
+        for (GeneratedKeys<T> keys : generatedKeys) {
+            keys.assign();
+
+            if (!localTransaction)
+                outerTransaction.afterRollback(keys::reset);
+        }
+    }
+
+    /**
+     * Runs one batched statement in chunks.
+     *
+     * @return The generated keys in entity order, or {@code null} if the statement generates none
+     */
+    private int[] runBatch(Connection conn, BatchWrite<T> write) throws SQLException {
+        List<T> entities = write.entities();
+        if (entities.isEmpty())
+            return null;
+
+        boolean returnsKeys = write.generatedKeySetter() != null;
+        int[] keys = returnsKeys ? new int[entities.size()] : null;
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+            write.sql(), returnsKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS
+        )) {
+            for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+                int to = Math.min(from + BATCH_SIZE, entities.size());
+
+                for (T entity : entities.subList(from, to)) {
+                    write.setter().setValues(stmt, entity);
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+
+                if (returnsKeys)
+                    readGeneratedKeys(stmt, keys, from, to);
+            }
+        }
+
+        logger.info("Executed batch of {} row(s): {}", entities.size(), write.sql());
+        return keys;
+    }
+
+    private static void readGeneratedKeys(PreparedStatement stmt, int[] keys, int from, int to) throws SQLException {
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            for (int i = from; i < to; i++) {
+                if (!generatedKeys.next())
+                    throw new SQLException("Expected a generated key for each row of the batch.");
+
+                keys[i] = generatedKeys.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * The keys generated for a batched INSERT, held until they can be written back.
+     */
+    private record GeneratedKeys<R>(BatchWrite<R> write, int[] keys) {
+        void assign() {
+            for (int i = 0; i < keys.length; i++)
+                write.generatedKeySetter().accept(write.entities().get(i), keys[i]); // Sets the new ID back on the object
+        }
+
+        void reset() {
+            for (R entity : write.entities())
+                write.generatedKeySetter().accept(entity, 0);
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        if (conn == null)
+            return;
+
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.debug("Error rolling back batch.", e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null)
+            return;
+
+        try {
+            resource.close();
+        } catch (Exception e) {
+            logger.debug("Error closing JDBC resource.", e);
+        }
+    }
+
+    /**
+     * A {@link Spliterator} over an open result set that owns the JDBC resources behind it.
+     */
+    private final class ResultSetCursor extends Spliterators.AbstractSpliterator<T> {
+        private final String sql;
+        private final Connection conn;
+        private final boolean ownsConnection;
+        private final PreparedStatement stmt;
+        private final ResultSet result;
+        private final RowMapper<T> mapper;
+        private boolean closed;
+
+        private ResultSetCursor(
+            String sql, Connection conn, boolean ownsConnection,
+            PreparedStatement stmt, ResultSet result, RowMapper<T> mapper
+        ) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.sql = sql;
+            this.conn = conn;
+            this.ownsConnection = ownsConnection;
+            this.stmt = stmt;
+            this.result = result;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed)
+                return false;
+
+            try {
+                if (!result.next()) {
+                    close();
+                    return false;
+                }
+
+                action.accept(mapper.mapRow(result));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new DataAccessException("Error reading query results: " + sql, e);
+            }
+        }
+
+        private void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            closeQuietly(result);
+            closeQuietly(stmt);
+
+            if (ownsConnection)
+                dbManager.releaseConnection(conn);
+        }
+    }
+
     /**
      * Inserts a new entity into the data store.
      *
@@ -1,7 +1,9 @@
 package org.bhel.hrm.server.daos;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A generic Data Access Object (DAO) interface defining the standard CRUD
@@ -26,6 +28,15 @@ public interface DAO<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * Lazily walks all entities of this type in the same order as {@link #findAll()},
+     * without loading them into memory at once. The returned stream holds a database
+     * connection until it is closed, so it must be used in a try-with-resources block.
+     *
+     * @return A {@link Stream} of all entities that must be closed after use.
+     */
+    Stream<T> streamAll();
+
     /**
      * Saves a given entity. Use the returned instance for further operations
      * as the save operation might have changed the entity instance completely.
@@ -35,6 +46,15 @@ public interface DAO<T, ID> {
      */
     void save(T entity);
 
+    /**
+     * Saves the given entities using batched statements: new entities are inserted and
+     * have their generated IDs set, existing ones are updated. Outside a transaction the
+     * call is all-or-nothing; inside one it joins the active transaction.
+     *
+     * @param entities The entities to save; may be empty.
+     */
+    void saveAll(Collection<T> entities);
+
     /**
      * Deletes an entity by its ID.
      *
@@ -1,13 +1,49 @@
 package org.bhel.hrm.server.daos;
 
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
 import org.bhel.hrm.server.domain.Employee;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Data Access Object interface for Employee entities.
  * Inherits all standard CRUD operations from the generic DAO interface.
  */
 public interface EmployeeDAO extends DAO<Employee, Integer> {
-    // No custom methods are required for the initial core functionality.
-    // Future methods could include:
-    // List<Employee> findByDepartment(int departmentId);
+    /**
+     * An employee's first and last name, which together must be unique.
+     */
+    record Name(String firstName, String lastName) {}
+
+    /**
+     * Retrieves one page of employees ordered by last name, first name and ID, using
+     * keyset (seek) pagination so that the cost of a page does not grow with its offset.
+     *
+     * @param after The cursor of the last employee on the previous page, or {@code null} for the first page
+     * @param limit The maximum number of employees to return; must be positive
+     * @return A {@link List} of at most {@code limit} employees sorting after the cursor.
+     */
+    List<Employee> findPageAfter(EmployeePageCursorDTO after, int limit);
+
+    /**
+     * Finds which of the given IC/passport numbers already belong to an employee, in as few
+     * queries as possible. Matching follows the database collation, so the returned numbers
+     * are spelled as stored.
+     *
+     * @param icPassports The IC/passport numbers to look up; may be empty.
+     * @return A {@link Set} of the stored IC/passport numbers that match any of the given ones.
+     */
+    Set<String> findExistingIcPassports(Collection<String> icPassports);
+
+    /**
+     * Finds which of the given names already belong to an employee, in as few queries as
+     * possible. Matching follows the database collation, so the returned names are spelled
+     * as stored.
+     *
+     * @param names The first and last names to look up; may be empty.
+     * @return A {@link Set} of the stored names that match any of the given ones.
+     */
+    Set<Name> findExistingNames(Collection<Name> names);
 }
@@ -2,7 +2,9 @@ package org.bhel.hrm.server.daos;
 
 import org.bhel.hrm.server.domain.User;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data Access Object interface for User entities.
@@ -18,4 +20,13 @@ public interface UserDAO extends DAO<User, Integer> {
      * @return An {@link Optional} containing the User if found, otherwise an empty Optional.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Finds which of the given usernames are already taken, in as few queries as possible.
+     * Matching follows the database collation, so the returned usernames are spelled as stored.
+     *
+     * @param usernames The usernames to look up; may be empty.
+     * @return A {@link Set} of the stored usernames that match any of the given ones.
+     */
+    Set<String> findExistingUsernames(Collection<String> usernames);
 }
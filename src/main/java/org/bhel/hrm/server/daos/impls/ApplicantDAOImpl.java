@@ -9,8 +9,10 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class ApplicantDAOImpl extends AbstractDAO<Applicant> implements ApplicantDAO {
     private static final Logger logger = LoggerFactory.getLogger(ApplicantDAOImpl.class);
@@ -34,11 +36,21 @@ public class ApplicantDAOImpl extends AbstractDAO<Applicant> implements Applican
         return List.of();
     }
 
+    @Override
+    public Stream<Applicant> streamAll() {
+        return Stream.empty();
+    }
+
     @Override
     public void save(Applicant entity) {
         throw new UnsupportedOperationException("not implemented yet");
     }
 
+    @Override
+    public void saveAll(Collection<Applicant> entities) {
+        throw new UnsupportedOperationException("not implemented yet");
+    }
+
     @Override
     protected void insert(Applicant entity) {
         throw new UnsupportedOperationException("not implemented yet");
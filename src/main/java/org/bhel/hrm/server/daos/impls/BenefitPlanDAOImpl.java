@@ -9,8 +9,10 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements BenefitPlanDAO {
     private static final Logger logger = LoggerFactory.getLogger(BenefitPlanDAOImpl.class);
@@ -29,11 +31,21 @@ public class BenefitPlanDAOImpl extends AbstractDAO<BenefitPlan> implements Bene
         return List.of();
     }
 
+    @Override
+    public Stream<BenefitPlan> streamAll() {
+        return Stream.empty();
+    }
+
     @Override
     public void save(BenefitPlan entity) {
         throw new UnsupportedOperationException("not implemented yet");
     }
 
+    @Override
+    public void saveAll(Collection<BenefitPlan> entities) {
+        throw new UnsupportedOperationException("not implemented yet");
+    }
+
     @Override
     protected void insert(BenefitPlan entity) {
         throw new UnsupportedOperationException("not implemented yet");
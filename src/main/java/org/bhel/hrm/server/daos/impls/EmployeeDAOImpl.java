@@ -1,5 +1,6 @@
 package org.bhel.hrm.server.daos.impls;
 
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.AbstractDAO;
 import org.bhel.hrm.server.daos.EmployeeDAO;
@@ -8,12 +9,60 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDAO {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDAOImpl.class);
 
+    private static final String FIND_ALL_SQL = """
+        SELECT
+            id,
+            user_id,
+            first_name,
+            last_name,
+            ic_passport
+        FROM
+            employees
+        ORDER BY
+            last_name, first_name ASC
+    """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO
+            employees (
+                user_id,
+                first_name,
+                last_name,
+                ic_passport
+            )
+        VALUES (
+            ?,
+            ?,
+            ?,
+            ?
+        )
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE
+            employees
+        SET
+            user_id = ?,
+            first_name = ?,
+            last_name = ?,
+            ic_passport = ?
+        WHERE
+            id = ?
+    """;
+
     private final RowMapper<Employee> rowMapper = result -> new Employee(
         result.getInt("id"),
         result.getInt("user_id"),
@@ -46,6 +95,34 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
 
     @Override
     public List<Employee> findAll() {
+        return findMany(FIND_ALL_SQL, stmt -> {}, rowMapper);
+    }
+
+    @Override
+    public Stream<Employee> streamAll() {
+        return stream(FIND_ALL_SQL, stmt -> {}, rowMapper);
+    }
+
+    @Override
+    public List<Employee> findPageAfter(EmployeePageCursorDTO after, int limit) {
+        if (after == null) {
+            String sql = """
+                SELECT
+                    id,
+                    user_id,
+                    first_name,
+                    last_name,
+                    ic_passport
+                FROM
+                    employees
+                ORDER BY
+                    last_name, first_name, id
+                LIMIT ?
+            """;
+
+            return findMany(sql, stmt -> stmt.setInt(1, limit), rowMapper);
+        }
+
         String sql = """
             SELECT
                 id,
@@ -55,11 +132,71 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
                 ic_passport
             FROM
                 employees
+            WHERE
+                (last_name, first_name, id) > (?, ?, ?)
             ORDER BY
-                last_name, first_name ASC
+                last_name, first_name, id
+            LIMIT ?
         """;
 
-        return findMany(sql, stmt -> {}, rowMapper);
+        return findMany(sql, stmt -> {
+            stmt.setString(1, after.lastName());
+            stmt.setString(2, after.firstName());
+            stmt.setInt(3, after.id());
+            stmt.setInt(4, limit);
+        }, rowMapper);
+    }
+
+    @Override
+    public Set<String> findExistingIcPassports(Collection<String> icPassports) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(icPassports));
+        Set<String> existing = new HashSet<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<String> chunk = padInList(distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size())));
+            String sql = """
+                SELECT
+                    ic_passport
+                FROM
+                    employees
+                WHERE
+                    ic_passport IN (%s)
+            """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            existing.addAll(findMany(sql, stmt -> {
+                for (int i = 0; i < chunk.size(); i++)
+                    stmt.setString(i + 1, chunk.get(i));
+            }, result -> result.getString("ic_passport")));
+        }
+
+        return existing;
+    }
+
+    @Override
+    public Set<Name> findExistingNames(Collection<Name> names) {
+        List<Name> distinct = List.copyOf(new LinkedHashSet<>(names));
+        Set<Name> existing = new HashSet<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<Name> chunk = padInList(distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size())));
+            String sql = """
+                SELECT
+                    first_name, last_name
+                FROM
+                    employees
+                WHERE
+                    (first_name, last_name) IN (%s)
+            """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)")));
+
+            existing.addAll(findMany(sql, stmt -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(2 * i + 1, chunk.get(i).firstName());
+                    stmt.setString(2 * i + 2, chunk.get(i).lastName());
+                }
+            }, result -> new Name(result.getString("first_name"), result.getString("last_name"))));
+        }
+
+        return existing;
     }
 
     @Override
@@ -71,29 +208,30 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
     }
 
     @Override
-    protected void insert(Employee employee) {
-        String sql = """
-            INSERT INTO
-                employees (
-                    user_id,
-                    first_name,
-                    last_name,
-                    ic_passport
-                )
-            VALUES (
-                ?,
-                ?,
-                ?,
-                ?
-            )
-        """;
+    public void saveAll(Collection<Employee> employees) {
+        List<Employee> toInsert = new ArrayList<>();
+        List<Employee> toUpdate = new ArrayList<>();
 
+        for (Employee employee : employees)
+            (employee.getId() == 0 ? toInsert : toUpdate).add(employee);
+
+        executeBatches(List.of(
+            new BatchWrite<>(INSERT_SQL, toInsert, this::setSaveParameters, Employee::setId),
+            new BatchWrite<>(UPDATE_SQL, toUpdate, (stmt, employee) -> {
+                setSaveParameters(stmt, employee);
+                stmt.setInt(5, employee.getId());
+            }, null)
+        ));
+    }
+
+    @Override
+    protected void insert(Employee employee) {
         Connection conn = null;
 
         try {
             conn = dbManager.getConnection();
 
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
                 setSaveParameters(stmt, employee);
                 stmt.executeUpdate();
 
@@ -111,19 +249,7 @@ public class EmployeeDAOImpl extends AbstractDAO<Employee> implements EmployeeDA
 
     @Override
     protected void update(Employee employee) {
-        String sql = """
-            UPDATE
-                employees
-            SET
-                user_id = ?,
-                first_name = ?,
-                last_name = ?,
-                ic_passport = ?
-            WHERE
-                id = ?
-        """;
-
-        executeUpdate(sql, stmt -> {
+        executeUpdate(UPDATE_SQL, stmt -> {
             setSaveParameters(stmt, employee);
             stmt.setInt(5, employee.getId());
         });
@@ -10,8 +10,10 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class JobOpeningDAOImpl extends AbstractDAO<JobOpening> implements JobOpeningDAO {
     private static final Logger logger = LoggerFactory.getLogger(JobOpeningDAOImpl.class);
@@ -35,11 +37,21 @@ public class JobOpeningDAOImpl extends AbstractDAO<JobOpening> implements JobOpe
         return List.of();
     }
 
+    @Override
+    public Stream<JobOpening> streamAll() {
+        return Stream.empty();
+    }
+
     @Override
     public void save(JobOpening entity) {
         throw new UnsupportedOperationException("not implemented yet");
     }
 
+    @Override
+    public void saveAll(Collection<JobOpening> entities) {
+        throw new UnsupportedOperationException("not implemented yet");
+    }
+
     @Override
     protected void insert(JobOpening entity) {
         throw new UnsupportedOperationException("not implemented yet");
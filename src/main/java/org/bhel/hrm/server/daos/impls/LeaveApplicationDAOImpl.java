@@ -9,8 +9,10 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> implements LeaveApplicationDAO {
     private static final Logger logger = LoggerFactory.getLogger(LeaveApplicationDAOImpl.class);
@@ -34,11 +36,21 @@ public class LeaveApplicationDAOImpl extends AbstractDAO<LeaveApplication> imple
         return List.of();
     }
 
+    @Override
+    public Stream<LeaveApplication> streamAll() {
+        return Stream.empty();
+    }
+
     @Override
     public void save(LeaveApplication entity) {
         throw new UnsupportedOperationException("not implemented yet");
     }
 
+    @Override
+    public void saveAll(Collection<LeaveApplication> entities) {
+        throw new UnsupportedOperationException("not implemented yet");
+    }
+
     @Override
     protected void insert(LeaveApplication entity) {
         throw new UnsupportedOperationException("not implemented yet");
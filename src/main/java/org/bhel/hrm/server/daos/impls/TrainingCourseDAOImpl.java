@@ -9,8 +9,10 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implements TrainingCourseDAO {
     private static final Logger logger = LoggerFactory.getLogger(TrainingCourseDAOImpl.class);
@@ -29,6 +31,11 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
         return List.of();
     }
 
+    @Override
+    public Stream<TrainingCourse> streamAll() {
+        return Stream.empty();
+    }
+
     @Override
     public void save(TrainingCourse course) {
         if (course.getId() == 0)
@@ -37,6 +44,11 @@ public class TrainingCourseDAOImpl extends AbstractDAO<TrainingCourse> implement
             update(course);
     }
 
+    @Override
+    public void saveAll(Collection<TrainingCourse> entities) {
+        throw new UnsupportedOperationException("not implemented yet");
+    }
+
     @Override
     protected void insert(TrainingCourse course) {
         throw new UnsupportedOperationException("not implemented yet");
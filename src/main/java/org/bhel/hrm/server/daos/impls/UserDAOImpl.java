@@ -10,12 +10,56 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
     private static final Logger logger = LoggerFactory.getLogger(UserDAOImpl.class);
 
+    private static final String FIND_ALL_SQL = """
+        SELECT
+            id,
+            username,
+            password_hash,
+            role_id
+        FROM
+            users
+        ORDER BY
+            username ASC
+    """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO
+            users (
+                username,
+                password_hash,
+                role_id
+            )
+        VALUES (
+            ?,
+            ?,
+            ?
+        )
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE
+            users
+        SET
+            username = ?,
+            password_hash = ?,
+            role_id = ?
+        WHERE
+            id = ?
+    """;
+
     private final RowMapper<User> rowMapper = result -> new User(
         result.getInt("id"),
         result.getString("username"),
@@ -46,19 +90,12 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
 
     @Override
     public List<User> findAll() {
-        String sql = """
-            SELECT
-                id,
-                username,
-                password_hash,
-                role_id
-            FROM
-                users
-            ORDER BY
-                username ASC
-        """;
+        return findMany(FIND_ALL_SQL, stmt -> {}, rowMapper);
+    }
 
-        return findMany(sql, stmt -> {}, rowMapper);
+    @Override
+    public Stream<User> streamAll() {
+        return stream(FIND_ALL_SQL, stmt -> {}, rowMapper);
     }
 
     @Override
@@ -70,27 +107,30 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
     }
 
     @Override
-    protected void insert(User user) {
-        String sql = """
-            INSERT INTO
-                users (
-                    username,
-                    password_hash,
-                    role_id
-                )
-            VALUES (
-                ?,
-                ?,
-                ?
-            )
-        """;
+    public void saveAll(Collection<User> users) {
+        List<User> toInsert = new ArrayList<>();
+        List<User> toUpdate = new ArrayList<>();
+
+        for (User user : users)
+            (user.getId() == 0 ? toInsert : toUpdate).add(user);
+
+        executeBatches(List.of(
+            new BatchWrite<>(INSERT_SQL, toInsert, this::setSaveParameters, User::setId),
+            new BatchWrite<>(UPDATE_SQL, toUpdate, (stmt, user) -> {
+                setSaveParameters(stmt, user);
+                stmt.setInt(4, user.getId());
+            }, null)
+        ));
+    }
 
+    @Override
+    protected void insert(User user) {
         Connection conn = null;
 
         try {
             conn = dbManager.getConnection();
 
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
                 setSaveParameters(stmt, user);
                 stmt.executeUpdate();
 
@@ -108,18 +148,7 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
 
     @Override
     protected void update(User user) {
-        String sql = """
-            UPDATE
-                users
-            SET
-                username = ?,
-                password_hash = ?,
-                role_id = ?
-            WHERE
-                id = ?
-        """;
-
-        executeUpdate(sql, stmt -> {
+        executeUpdate(UPDATE_SQL, stmt -> {
             setSaveParameters(stmt, user);
             stmt.setInt(4, user.getId());
         });
@@ -186,6 +215,31 @@ public class UserDAOImpl extends AbstractDAO<User> implements UserDAO {
         return findOne(sql, stmt -> stmt.setString(1, username), rowMapper);
     }
 
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(usernames));
+        Set<String> existing = new HashSet<>();
+
+        for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+            List<String> chunk = padInList(distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size())));
+            String sql = """
+                SELECT
+                    username
+                FROM
+                    users
+                WHERE
+                    username IN (%s)
+            """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+
+            existing.addAll(findMany(sql, stmt -> {
+                for (int i = 0; i < chunk.size(); i++)
+                    stmt.setString(i + 1, chunk.get(i));
+            }, result -> result.getString("username")));
+        }
+
+        return existing;
+    }
+
     private static UserDTO.Role mapRole(Integer roleId) {
         if (roleId == null)
             throw new IllegalStateException("users.role_id is NULL");
@@ -0,0 +1,41 @@
+package org.bhel.hrm.server.metrics;
+
+/**
+ * Accumulates, per thread, the time spent waiting for and holding database connections,
+ * so that a remote call's database time can be told apart from its total time.
+ * <p>
+ * The connection pool adds to the current thread's total; {@link RpcMetrics} resets it when
+ * a call starts and reads it when the call ends, and a call body run on another thread
+ * hands its total back to the calling thread. Adding is a thread-local read and a field
+ * write, and never allocates after the thread's first call.
+ */
+public final class DbTime {
+    private static final ThreadLocal<long[]> ACCUMULATED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private DbTime() {
+        throw new UnsupportedOperationException("This class DbTime is a utility class; it should not be instantiated.");
+    }
+
+    /**
+     * Adds database time to the current thread's total.
+     *
+     * @param nanos The time spent waiting for or holding a connection, in nanoseconds
+     */
+    public static void add(long nanos) {
+        ACCUMULATED_NANOS.get()[0] += nanos;
+    }
+
+    /**
+     * Clears the current thread's total, e.g. at the start of a remote call.
+     */
+    static void reset() {
+        ACCUMULATED_NANOS.get()[0] = 0;
+    }
+
+    /**
+     * Returns the current thread's total since it was last reset, in nanoseconds.
+     */
+    public static long get() {
+        return ACCUMULATED_NANOS.get()[0];
+    }
+}
@@ -0,0 +1,124 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.dtos.HistogramSnapshotDTO;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-memory, log-linear histogram in the spirit of HdrHistogram.
+ * <p>
+ * Each power-of-two range is split into {@value #SUB_BUCKETS} linear sub-buckets, which
+ * bounds the relative error of any reported percentile to roughly 6% while covering the
+ * full {@code long} range in under a thousand buckets. Recording a value is a handful of
+ * bit operations and an atomic increment, and never allocates.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {}
+
+    /**
+     * Records a single value. Negative values are recorded as zero.
+     *
+     * @param value The value to record, e.g. a duration in nanoseconds
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+
+        buckets.incrementAndGet(bucketIndex(clamped));
+        count.increment();
+        sum.add(clamped);
+
+        long currentMax = max.get();
+        while (clamped > currentMax && !max.compareAndSet(currentMax, clamped))
+            currentMax = max.get();
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()} reading.
+     *
+     * @param startNanos A value previously obtained from {@code System.nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Captures a point-in-time summary of the recorded values. Concurrent recordings
+     * may or may not be reflected, but the snapshot is always internally consistent
+     * enough for monitoring purposes.
+     *
+     * @return A serializable summary of this histogram
+     */
+    public HistogramSnapshotDTO snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long maxValue = max.get();
+        if (total == 0)
+            return new HistogramSnapshotDTO(0, 0, 0, 0, 0, 0, 0);
+
+        return new HistogramSnapshotDTO(
+            total,
+            (double) sum.sum() / total,
+            valueAtPercentile(counts, total, 50.0, maxValue),
+            valueAtPercentile(counts, total, 90.0, maxValue),
+            valueAtPercentile(counts, total, 99.0, maxValue),
+            valueAtPercentile(counts, total, 99.9, maxValue),
+            maxValue
+        );
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return (shift + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + mantissa) << shift;
+
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile, long maxValue) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(bucketUpperBound(i), maxValue);
+        }
+
+        return maxValue;
+    }
+}
@@ -0,0 +1,72 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.dtos.HistogramSnapshotDTO;
+import org.bhel.hrm.common.dtos.ServerMetricsDTO;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A minimal, in-process registry of named counters, gauges and histograms.
+ * <p>
+ * Metrics are created on first use and live for the lifetime of the server.
+ * Callers on hot paths should look a metric up once and keep the reference
+ * rather than resolving it by name on every event.
+ */
+public class MetricsRegistry {
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Gets or creates the counter with the given name.
+     *
+     * @param name The metric name, e.g. {@code db.pool.acquire.timeouts}
+     * @return The counter; never null
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Gets or creates the histogram with the given name.
+     *
+     * @param name The metric name, e.g. {@code db.pool.acquire.nanos}
+     * @return The histogram; never null
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge whose value is sampled when a snapshot is taken.
+     * Registering a second gauge with the same name replaces the first.
+     *
+     * @param name The metric name, e.g. {@code db.pool.connections.active}
+     * @param supplier Supplies the current value; must be cheap and thread-safe
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Captures the current value of every registered metric.
+     *
+     * @return A serializable snapshot, sorted by metric name
+     */
+    public ServerMetricsDTO snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+
+        Map<String, HistogramSnapshotDTO> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+
+        return new ServerMetricsDTO(Instant.now(), counterValues, gaugeValues, histogramValues);
+    }
+}
@@ -0,0 +1,97 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.dtos.HistogramSnapshotDTO;
+import org.bhel.hrm.common.dtos.ServerMetricsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes a summary of the remote call metrics to the log, so latency
+ * percentiles can be compared across releases without an operator connecting.
+ * <p>
+ * Each operation that has been called gets one line with its call count, error counts and
+ * total and database latency percentiles in milliseconds. Histograms cover the server's
+ * whole uptime rather than just the last interval.
+ */
+public final class MetricsReporter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private static final String RPC_PREFIX = "rpc.";
+    private static final String TOTAL_SUFFIX = ".total.nanos";
+
+    private final MetricsRegistry metrics;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param metrics The registry to report from
+     * @param interval How often to write the summary; must be positive
+     */
+    public MetricsReporter(MetricsRegistry metrics, Duration interval) {
+        this.metrics = metrics;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hrm-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::report, period, period, TimeUnit.MILLISECONDS);
+
+        logger.info("Metrics reporter started [interval={}ms].", period);
+    }
+
+    /**
+     * Writes the current summary to the log.
+     */
+    void report() {
+        try {
+            ServerMetricsDTO snapshot = metrics.snapshot();
+
+            for (Map.Entry<String, HistogramSnapshotDTO> entry : snapshot.histograms().entrySet()) {
+                String name = entry.getKey();
+                if (!name.startsWith(RPC_PREFIX) || !name.endsWith(TOTAL_SUFFIX))
+                    continue;
+
+                String operation = name.substring(RPC_PREFIX.length(), name.length() - TOTAL_SUFFIX.length());
+                logOperation(operation, entry.getValue(), snapshot);
+            }
+        } catch (RuntimeException e) {
+            // A failed report must not cancel the schedule.
+            logger.warn("Failed to report metrics.", e);
+        }
+    }
+
+    private static void logOperation(String operation, HistogramSnapshotDTO total, ServerMetricsDTO snapshot) {
+        String prefix = RPC_PREFIX + operation;
+        HistogramSnapshotDTO db = snapshot.histograms().get(prefix + ".db.nanos");
+
+        logger.info("RPC {} [calls={}, businessErrors={}, systemErrors={}, p50={}ms, p99={}ms, max={}ms, dbP50={}ms, dbP99={}ms]",
+            operation,
+            total.count(),
+            snapshot.counters().getOrDefault(prefix + ".failed.business", 0L),
+            snapshot.counters().getOrDefault(prefix + ".failed.system", 0L),
+            millis(total.p50()),
+            millis(total.p99()),
+            millis(total.max()),
+            millis(db == null ? 0 : db.p50()),
+            millis(db == null ? 0 : db.p99()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Stops reporting.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
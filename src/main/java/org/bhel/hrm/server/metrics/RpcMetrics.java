@@ -0,0 +1,96 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.error.ErrorCode;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency and outcome of every remote call, per operation.
+ * <p>
+ * For each operation, e.g. {@code getAllEmployees}, the following metrics are published:
+ * <ul>
+ *   <li>{@code rpc.<operation>.total.nanos}: the call's wall-clock time on the server</li>
+ *   <li>{@code rpc.<operation>.db.nanos}: the part of it spent waiting for or holding
+ *       database connections, see {@link DbTime}</li>
+ *   <li>{@code rpc.<operation>.succeeded}, {@code .failed.business} and {@code .failed.system}:
+ *       call counts by outcome, where a system failure is one whose error code is a system
+ *       or database error, see {@link ErrorCode#isSystemError()}</li>
+ * </ul>
+ * A call is timed on the thread that runs it: {@link #begin()} must be called on that
+ * thread before any database work, and {@link #succeeded} or {@link #failed} after it.
+ * Recording never allocates once an operation has been seen.
+ */
+public final class RpcMetrics {
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+    private final MetricsRegistry metrics;
+
+    public RpcMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts timing a call on the current thread.
+     *
+     * @return The start time, to pass to {@link #succeeded} or {@link #failed}
+     */
+    public long begin() {
+        DbTime.reset();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a call that completed normally.
+     *
+     * @param operation The name of the remote method, e.g. {@code getAllEmployees}
+     * @param startNanos The value returned by {@link #begin()}
+     */
+    public void succeeded(String operation, long startNanos) {
+        Operation stats = operation(operation);
+        stats.succeeded.increment();
+        stats.record(startNanos);
+    }
+
+    /**
+     * Records a call that failed, counting it as a business or system error by its error code.
+     *
+     * @param operation The name of the remote method, e.g. {@code getAllEmployees}
+     * @param startNanos The value returned by {@link #begin()}
+     * @param errorCode The error code the failure was classified as
+     */
+    public void failed(String operation, long startNanos, ErrorCode errorCode) {
+        Operation stats = operation(operation);
+        if (errorCode.isSystemError())
+            stats.systemErrors.increment();
+        else
+            stats.businessErrors.increment();
+
+        stats.record(startNanos);
+    }
+
+    private Operation operation(String name) {
+        Operation stats = operations.get(name);
+        return stats != null ? stats : operations.computeIfAbsent(name, key -> new Operation(key, metrics));
+    }
+
+    private static final class Operation {
+        private final Histogram totalNanos;
+        private final Histogram dbNanos;
+        private final Counter succeeded;
+        private final Counter businessErrors;
+        private final Counter systemErrors;
+
+        private Operation(String name, MetricsRegistry metrics) {
+            String prefix = "rpc." + name;
+            this.totalNanos = metrics.histogram(prefix + ".total.nanos");
+            this.dbNanos = metrics.histogram(prefix + ".db.nanos");
+            this.succeeded = metrics.counter(prefix + ".succeeded");
+            this.businessErrors = metrics.counter(prefix + ".failed.business");
+            this.systemErrors = metrics.counter(prefix + ".failed.system");
+        }
+
+        private void record(long startNanos) {
+            totalNanos.recordSince(startNanos);
+            dbNanos.record(DbTime.get());
+        }
+    }
+}
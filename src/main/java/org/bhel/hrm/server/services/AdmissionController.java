@@ -0,0 +1,194 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.Histogram;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many RMI calls of each {@link OperationClass} the server runs at once.
+ * <p>
+ * RMI dispatches every incoming call on its own thread without any upper bound, so a
+ * burst of clients can start far more calls than there are pooled database connections.
+ * Each call must first take a permit for its class. When none is free, the call waits up
+ * to a short, configurable time and is then rejected with a retryable
+ * {@link ServerBusyException}, instead of queueing indefinitely for a connection.
+ * <p>
+ * Limits are separate per class, so a flood of logins cannot starve reads and writes of
+ * capacity, and vice versa. In-flight calls are published per class and per operation as
+ * {@code rpc.inflight.*} gauges, alongside {@code rpc.admission.<class>.*} rejection and
+ * wait-time metrics, to help size the limits.
+ */
+public final class AdmissionController {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+    /**
+     * The classes of operations that are limited independently of one another.
+     */
+    public enum OperationClass {
+        /** Logins, which are CPU-bound on password hashing. */
+        AUTH,
+        /** Queries that do not modify data. */
+        READ,
+        /** Operations that run a database transaction. */
+        WRITE
+    }
+
+    private final Map<OperationClass, Gate> gates = new EnumMap<>(OperationClass.class);
+    private final ConcurrentHashMap<String, AtomicInteger> inFlightByOperation = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final MetricsRegistry metrics;
+
+    /**
+     * @param limits The maximum number of concurrent calls per class; every class must be
+     *               present with a positive limit
+     * @param maxWait How long a call waits for a permit before it is rejected; zero rejects
+     *                immediately when a class is at capacity
+     * @param metrics The registry to publish admission metrics to
+     */
+    public AdmissionController(Map<OperationClass, Integer> limits, Duration maxWait, MetricsRegistry metrics) {
+        if (maxWait.isNegative())
+            throw new IllegalArgumentException("The maximum admission wait must not be negative.");
+
+        this.maxWaitNanos = maxWait.toNanos();
+        this.metrics = metrics;
+
+        for (OperationClass operationClass : OperationClass.values()) {
+            Integer limit = limits.get(operationClass);
+            if (limit == null || limit <= 0)
+                throw new IllegalArgumentException("A positive concurrency limit is required for " + operationClass + ".");
+
+            gates.put(operationClass, new Gate(operationClass, limit, metrics));
+        }
+
+        logger.info("Admission control started [limits={}, maxWait={}ms].", limits, maxWait.toMillis());
+    }
+
+    /**
+     * Takes a permit for a call, waiting briefly if its class is at capacity. The permit
+     * must be closed when the call completes, ideally with try-with-resources.
+     *
+     * @param operationClass The class whose limit the call counts against
+     * @param operation The name of the remote method, e.g. {@code getAllEmployees}
+     * @return The permit to close once the call completes
+     * @throws ServerBusyException If no permit became free within the maximum wait
+     */
+    public Permit admit(OperationClass operationClass, String operation) throws ServerBusyException {
+        Gate gate = gates.get(operationClass);
+        gate.acquire(maxWaitNanos);
+
+        AtomicInteger operationInFlight = inFlightByOperation.computeIfAbsent(operation, this::registerOperation);
+        operationInFlight.incrementAndGet();
+
+        return new Permit(gate, operationInFlight);
+    }
+
+    /**
+     * Runs a call under a permit for its class, releasing the permit once the call completes.
+     *
+     * @param operationClass The class whose limit the call counts against
+     * @param operation The name of the remote method, e.g. {@code getAllEmployees}
+     * @param call The body of the call
+     * @return The result of the call
+     * @throws ServerBusyException If no permit became free within the maximum wait
+     * @throws Exception Whatever the call throws
+     */
+    public <T> T run(OperationClass operationClass, String operation, Callable<T> call) throws Exception {
+        Permit permit = admit(operationClass, operation);
+        try {
+            return call.call();
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * Returns the number of calls of a class currently admitted.
+     */
+    public int inFlight(OperationClass operationClass) {
+        Gate gate = gates.get(operationClass);
+        return gate.limit - gate.permits.availablePermits();
+    }
+
+    private AtomicInteger registerOperation(String operation) {
+        AtomicInteger inFlight = new AtomicInteger();
+        metrics.gauge("rpc.inflight.method." + operation, inFlight::get);
+        return inFlight;
+    }
+
+    /**
+     * An admitted call's hold on its class's capacity. Closing it more than once has no
+     * further effect.
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Gate gate;
+        private final AtomicInteger operationInFlight;
+        private boolean released;
+
+        private Permit(Gate gate, AtomicInteger operationInFlight) {
+            this.gate = gate;
+            this.operationInFlight = operationInFlight;
+        }
+
+        @Override
+        public void close() {
+            if (released)
+                return;
+
+            released = true;
+            operationInFlight.decrementAndGet();
+            gate.permits.release();
+        }
+    }
+
+    private static final class Gate {
+        private final String resource;
+        private final int limit;
+        // Fair, so calls that have waited longest are admitted first rather than barged past.
+        private final Semaphore permits;
+        private final Counter rejected;
+        private final Histogram waitNanos;
+
+        private Gate(OperationClass operationClass, int limit, MetricsRegistry metrics) {
+            String name = operationClass.name().toLowerCase(Locale.ROOT);
+            this.resource = name + " requests";
+            this.limit = limit;
+            this.permits = new Semaphore(limit, true);
+
+            String prefix = "rpc.admission." + name;
+            this.rejected = metrics.counter(prefix + ".rejected");
+            this.waitNanos = metrics.histogram(prefix + ".wait.nanos");
+            metrics.gauge("rpc.inflight." + name, () -> limit - permits.availablePermits());
+        }
+
+        private void acquire(long maxWaitNanos) throws ServerBusyException {
+            // The timed form honours fairness even with a zero wait; the untimed one barges.
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            waitNanos.recordSince(start);
+
+            if (!acquired) {
+                rejected.increment();
+                throw new ServerBusyException(resource);
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package org.bhel.hrm.server.services;
 
 import org.bhel.hrm.common.dtos.EmployeeDTO;
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
+import org.bhel.hrm.common.dtos.EmployeePageDTO;
 import org.bhel.hrm.common.error.ErrorCode;
 import org.bhel.hrm.common.exceptions.HRMException;
 import org.bhel.hrm.common.exceptions.InvalidInputException;
 import org.bhel.hrm.common.exceptions.ResourceNotFoundException;
+import org.bhel.hrm.common.serialization.CompactList;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.domain.Employee;
@@ -14,6 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service class containing business logic for employee profile management.
@@ -21,6 +25,9 @@ import java.util.List;
 public class EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
+    // Upper bound on a single page so one request cannot pull the whole table.
+    static final int MAX_PAGE_SIZE = 500;
+
     private final DatabaseManager dbManager;
     private final EmployeeDAO employeeDAO;
 
@@ -38,7 +45,44 @@ public class EmployeeService {
         List<Employee> employees = employeeDAO.findAll();
 
         logger.info("Successfully retrieved all employees.");
-        return EmployeeMapper.mapToDtoList(employees);
+        return CompactList.of(EmployeeMapper.mapToDtoList(employees));
+    }
+
+    /**
+     * Lazily walks all employees, in the same order as {@link #getAllEmployees()}. The stream
+     * holds a database connection until it is closed.
+     *
+     * @return A stream of EmployeeDTOs that must be closed after use
+     */
+    public Stream<EmployeeDTO> streamAllEmployees() {
+        return employeeDAO.streamAll().map(EmployeeMapper::mapToDto);
+    }
+
+    /**
+     * Retrieves one page of the employee listing, ordered by last name, first name and ID.
+     *
+     * @param after The cursor returned with the previous page, or {@code null} for the first page
+     * @param pageSize The maximum number of employees to return; between 1 and {@value #MAX_PAGE_SIZE}
+     * @return The requested {@link EmployeePageDTO}; never null
+     * @throws InvalidInputException If the page size is out of range
+     */
+    public EmployeePageDTO getEmployeePage(EmployeePageCursorDTO after, int pageSize) throws InvalidInputException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        // Fetches one extra row to learn whether another page follows without a COUNT query.
+        List<Employee> employees = employeeDAO.findPageAfter(after, pageSize + 1);
+        boolean hasMore = employees.size() > pageSize;
+        List<EmployeeDTO> page = EmployeeMapper.mapToDtoList(
+            hasMore ? employees.subList(0, pageSize) : employees);
+
+        EmployeePageCursorDTO nextCursor = hasMore
+            ? EmployeePageCursorDTO.after(page.getLast())
+            : null;
+
+        logger.info("Successfully retrieved a page of {} employees.", page.size());
+        return new EmployeePageDTO(CompactList.of(page), nextCursor);
     }
 
     /**
@@ -1,157 +1,354 @@
 package org.bhel.hrm.server.services;
 
 import org.bhel.hrm.common.dtos.*;
-import org.bhel.hrm.common.error.ErrorContext;
+import org.bhel.hrm.common.error.ErrorCode;
 import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.InvalidSessionException;
 import org.bhel.hrm.common.services.HRMService;
+import org.bhel.hrm.common.services.RemoteIterator;
 import org.bhel.hrm.common.utils.GlobalExceptionHandler;
-import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.cache.SingleFlight;
+import org.bhel.hrm.server.services.AdmissionController.OperationClass;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.bhel.hrm.server.metrics.RpcMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
 
+/**
+ * The server side of {@link HRMService}. Each call's session is validated and the call is
+ * admitted by the {@link AdmissionController} on the RMI connection thread, so calls with
+ * a bad session never take capacity. Its body, i.e. the service call, is then run by the
+ * {@link RequestExecutor}.
+ */
 public class HRMServer extends UnicastRemoteObject implements HRMService {
     private static final Logger logger = LoggerFactory.getLogger(HRMServer.class);
 
-    private final transient DatabaseManager dbManager;
+    private final transient RequestExecutor requests;
     private final transient EmployeeService employeeService;
     private final transient UserService userService;
+    private final transient SessionStore sessionStore;
+    private final transient AdmissionController admission;
+    private final transient RemoteCursorRegistry cursors;
     private final transient GlobalExceptionHandler exceptionHandler;
+    private final transient MetricsRegistry metrics;
+    private final transient RpcMetrics rpc;
 
+    // Concurrent identical reads share one query; see SingleFlight.
+    private final transient SingleFlight<String, List<EmployeeDTO>> allEmployeesReads;
+    private final transient SingleFlight<Integer, EmployeeDTO> employeeByIdReads;
+
+    /**
+     * @param clientSocketFactory The factory clients use to connect, or {@code null} for plain sockets
+     * @param serverSocketFactory The matching server socket factory, or {@code null} for plain sockets
+     */
     public HRMServer(
-        DatabaseManager databaseManager,
+        RMIClientSocketFactory clientSocketFactory,
+        RMIServerSocketFactory serverSocketFactory,
+        RequestExecutor requestExecutor,
         EmployeeService employeeService,
         UserService userService,
-        GlobalExceptionHandler exceptionHandler
+        SessionStore sessionStore,
+        AdmissionController admissionController,
+        RemoteCursorRegistry cursorRegistry,
+        GlobalExceptionHandler exceptionHandler,
+        MetricsRegistry metrics
     ) throws RemoteException {
-        this.dbManager = databaseManager;
+        super(0, clientSocketFactory, serverSocketFactory);
+        this.requests = requestExecutor;
         this.employeeService = employeeService;
         this.userService = userService;
+        this.sessionStore = sessionStore;
+        this.admission = admissionController;
+        this.cursors = cursorRegistry;
         this.exceptionHandler = exceptionHandler;
+        this.metrics = metrics;
+        this.rpc = new RpcMetrics(metrics);
+
+        this.allEmployeesReads = new SingleFlight<>("getAllEmployees", metrics);
+        this.employeeByIdReads = new SingleFlight<>("getEmployeeById", metrics);
     }
 
     @Override
-    public UserDTO authenticateUser(
+    public SessionDTO authenticateUser(
         String username,
         String password
     ) throws RemoteException, HRMException {
         logger.info("Authentication attempt for user: {}.", username);
-        ErrorContext context = ErrorContext.forUser(
-            "authenticateUser", username);
 
+        long start = rpc.begin();
+        try {
+            SessionDTO session = admission.run(OperationClass.AUTH, "authenticateUser",
+                () -> requests.execute(() -> userService.authenticate(username, password)));
+            rpc.succeeded("authenticateUser", start);
+            return session;
+        } catch (Exception e) {
+            rpc.failed("authenticateUser", start, exceptionHandler.classify(e, "authenticateUser"));
+            exceptionHandler.handle(e, "authenticateUser", username);
+            throw new AssertionError("unreachable code");
+        }
+    }
+
+    @Override
+    public SessionDTO resumeSession(String sessionToken) throws RemoteException, HRMException {
+        logger.debug("RMI Call: resumeSession() received.");
+
+        long start = rpc.begin();
         try {
-            return userService.authenticate(username, password);
+            SessionDTO session = admission.run(OperationClass.READ, "resumeSession",
+                () -> requests.execute(() -> sessionStore.resume(sessionToken)));
+            rpc.succeeded("resumeSession", start);
+            return session;
         } catch (Exception e) {
-            exceptionHandler.handle(e, context);
+            rpc.failed("resumeSession", start, exceptionHandler.classify(e, "resumeSession"));
+            exceptionHandler.handle(e, "resumeSession");
             throw new AssertionError("unreachable code");
         }
     }
 
+    // Logging out and reading metrics are cheap and must keep working under overload,
+    // so they bypass admission control.
+    @Override
+    public void logout(String sessionToken) throws RemoteException {
+        logger.debug("RMI Call: logout() received.");
+        sessionStore.invalidate(sessionToken);
+    }
+
     @Override
     public void registerNewEmployee(
+        String sessionToken,
         NewEmployeeRegistrationDTO registrationData
     ) throws RemoteException, HRMException {
         logger.info("Attempting to register new employee: {}.", registrationData.username());
-        ErrorContext context = ErrorContext.forUser(
-            "registerNewEmployee", registrationData.username());
 
+        long start = rpc.begin();
+        try {
+            requireSession(sessionToken);
+            admission.run(OperationClass.WRITE, "registerNewEmployee", () -> requests.execute(() -> {
+                userService.registerNewEmployee(registrationData);
+                return null;
+            }));
+            rpc.succeeded("registerNewEmployee", start);
+        } catch (Exception e) {
+            rpc.failed("registerNewEmployee", start, exceptionHandler.classify(e, "registerNewEmployee"));
+            exceptionHandler.handle(e, "registerNewEmployee", registrationData.username());
+        }
+    }
+
+    @Override
+    public List<EmployeeRegistrationResultDTO> registerNewEmployees(
+        String sessionToken,
+        List<NewEmployeeRegistrationDTO> registrations
+    ) throws RemoteException, HRMException {
+        logger.info("Attempting to register {} new employees.", registrations == null ? 0 : registrations.size());
+
+        long start = rpc.begin();
         try {
-            userService.registerNewEmployee(registrationData);
+            requireSession(sessionToken);
+            List<EmployeeRegistrationResultDTO> results = admission.run(OperationClass.WRITE, "registerNewEmployees",
+                () -> requests.execute(() -> userService.registerNewEmployees(registrations)));
+            rpc.succeeded("registerNewEmployees", start);
+            return results;
         } catch (Exception e) {
-            exceptionHandler.handle(e, context);
-        } finally {
-            // Ensure transaction is closed even if an unexpected exception occurs.
-            if (dbManager.isTransactionActive())
-                dbManager.rollbackTransaction();
+            rpc.failed("registerNewEmployees", start, exceptionHandler.classify(e, "registerNewEmployees"));
+            exceptionHandler.handle(e, "registerNewEmployees");
+            throw new AssertionError("unreachable code");
         }
     }
 
     @Override
-    public List<EmployeeDTO> getAllEmployees() throws RemoteException, HRMException {
+    public List<EmployeeDTO> getAllEmployees(String sessionToken) throws RemoteException, HRMException {
         logger.debug("RMI Call: getAllEmployees() received.");
 
+        long start = rpc.begin();
         try {
-            return employeeService.getAllEmployees();
+            requireSession(sessionToken);
+            List<EmployeeDTO> employees = admission.run(OperationClass.READ, "getAllEmployees",
+                () -> requests.execute(() -> allEmployeesReads.execute("all", employeeService::getAllEmployees)));
+            rpc.succeeded("getAllEmployees", start);
+            return employees;
         } catch (Exception e) {
+            rpc.failed("getAllEmployees", start, exceptionHandler.classify(e, "getAllEmployees"));
             exceptionHandler.handle(e, "getAllEmployees");
             throw new AssertionError("unreachable code");
         }
     }
 
+    @Override
+    public RemoteIterator<EmployeeDTO> streamAllEmployees(String sessionToken) throws RemoteException, HRMException {
+        logger.debug("RMI Call: streamAllEmployees() received.");
+
+        long start = rpc.begin();
+        try {
+            requireSession(sessionToken);
+            RemoteIterator<EmployeeDTO> cursor = admission.run(OperationClass.READ, "streamAllEmployees",
+                () -> requests.execute(() -> cursors.open(employeeService::streamAllEmployees)));
+            rpc.succeeded("streamAllEmployees", start);
+            return cursor;
+        } catch (Exception e) {
+            rpc.failed("streamAllEmployees", start, exceptionHandler.classify(e, "streamAllEmployees"));
+            exceptionHandler.handle(e, "streamAllEmployees");
+            throw new AssertionError("unreachable code");
+        }
+    }
+
+    @Override
+    public EmployeePageDTO getEmployeePage(
+        String sessionToken,
+        EmployeePageCursorDTO after,
+        int pageSize
+    ) throws RemoteException, HRMException {
+        logger.debug("RMI Call: getEmployeePage() received with page size: {}", pageSize);
+
+        long start = rpc.begin();
+        try {
+            requireSession(sessionToken);
+            EmployeePageDTO page = admission.run(OperationClass.READ, "getEmployeePage",
+                () -> requests.execute(() -> employeeService.getEmployeePage(after, pageSize)));
+            rpc.succeeded("getEmployeePage", start);
+            return page;
+        } catch (Exception e) {
+            rpc.failed("getEmployeePage", start, exceptionHandler.classify(e, "getEmployeePage"));
+            exceptionHandler.handle(e, "getEmployeePage");
+            throw new AssertionError("unreachable code");
+        }
+    }
+
     @Override
     public EmployeeDTO getEmployeeById(
+        String sessionToken,
         int employeeId
     ) throws RemoteException, HRMException {
         logger.debug("RMI Call: getEmployeeById() for ID: {}", employeeId);
-        ErrorContext context = ErrorContext.forUser(
-            "getEmployeeById", String.valueOf(employeeId));
 
+        long start = rpc.begin();
         try {
-            return employeeService.getEmployeeById(employeeId);
+            requireSession(sessionToken);
+            EmployeeDTO employee = admission.run(OperationClass.READ, "getEmployeeById", () -> requests.execute(
+                () -> employeeByIdReads.execute(employeeId, () -> employeeService.getEmployeeById(employeeId))));
+            rpc.succeeded("getEmployeeById", start);
+            return employee;
         } catch (Exception e) {
-            exceptionHandler.handle(e, context);
+            rpc.failed("getEmployeeById", start, exceptionHandler.classify(e, "getEmployeeById"));
+            exceptionHandler.handle(e, "getEmployeeById", String.valueOf(employeeId));
             throw new AssertionError("unreachable code");
         }
     }
 
     @Override
     public void updateEmployeeProfile(
+        String sessionToken,
         EmployeeDTO employeeDTO
     ) throws RemoteException, HRMException {
         logger.info("RMI Call: updateEmployeeProfile() for employee ID: {}", employeeDTO.id());
-        ErrorContext context = ErrorContext.forUser(
-            "updateEmployeeProfile", String.valueOf(employeeDTO.id()));
 
+        long start = rpc.begin();
         try {
-            employeeService.updateEmployeeProfile(employeeDTO);
+            requireSession(sessionToken);
+            admission.run(OperationClass.WRITE, "updateEmployeeProfile", () -> requests.execute(() -> {
+                employeeService.updateEmployeeProfile(employeeDTO);
+                return null;
+            }));
+            rpc.succeeded("updateEmployeeProfile", start);
         } catch (Exception e) {
-            exceptionHandler.handle(e, context);
-        } finally {
-            if (dbManager.isTransactionActive())
-                dbManager.rollbackTransaction();
+            rpc.failed("updateEmployeeProfile", start, exceptionHandler.classify(e, "updateEmployeeProfile"));
+            exceptionHandler.handle(e, "updateEmployeeProfile", String.valueOf(employeeDTO.id()));
         }
     }
 
     @Override
-    public void applyForLeave(LeaveApplicationDTO leaveApplicationDTO) throws RemoteException {
+    public void applyForLeave(
+        String sessionToken,
+        LeaveApplicationDTO leaveApplicationDTO
+    ) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         throw new RemoteException("not yet implemented");
     }
 
     @Override
-    public List<LeaveApplicationDTO> getLeaveHistoryForEmployees(int employeeId) throws RemoteException {
+    public List<LeaveApplicationDTO> getLeaveHistoryForEmployees(
+        String sessionToken,
+        int employeeId
+    ) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         return List.of();
     }
 
     @Override
-    public List<TrainingCourseDTO> getAllTrainingCourses() throws RemoteException {
+    public List<TrainingCourseDTO> getAllTrainingCourses(String sessionToken) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         return List.of();
     }
 
     @Override
-    public void enrollInTraining(int employeeId, int courseId) throws RemoteException {
+    public void enrollInTraining(
+        String sessionToken,
+        int employeeId,
+        int courseId
+    ) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         throw new RemoteException("not yet implemented");
     }
 
     @Override
-    public List<JobOpeningDTO> getAllJobOpenings() throws RemoteException {
+    public List<JobOpeningDTO> getAllJobOpenings(String sessionToken) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         return List.of();
     }
 
     @Override
-    public List<ApplicantDTO> getApplicantsForJob(int jobOpeningId) throws RemoteException {
+    public List<ApplicantDTO> getApplicantsForJob(
+        String sessionToken,
+        int jobOpeningId
+    ) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         return List.of();
     }
 
     @Override
-    public List<BenefitPlanDTO> getAllBenefitPlans() throws RemoteException {
+    public List<BenefitPlanDTO> getAllBenefitPlans(String sessionToken) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         return List.of();
     }
 
     @Override
-    public void enrollInBenefitPlan(int employeeId, int planId) throws RemoteException {
+    public void enrollInBenefitPlan(
+        String sessionToken,
+        int employeeId,
+        int planId
+    ) throws RemoteException, HRMException {
+        requireSession(sessionToken);
         throw new RemoteException("not yet implemented");
     }
+
+    @Override
+    public ServerMetricsDTO getServerMetrics(String sessionToken) throws RemoteException, HRMException {
+        logger.debug("RMI Call: getServerMetrics() received.");
+
+        try {
+            UserDTO user = requireSession(sessionToken);
+            if (user.role() != UserDTO.Role.HR_STAFF)
+                throw new HRMException(ErrorCode.AUTH_INSUFFICIENT_PERMISSIONS, "Server metrics are only available to HR staff.");
+
+            return metrics.snapshot();
+        } catch (Exception e) {
+            exceptionHandler.handle(e, "getServerMetrics");
+            throw new AssertionError("unreachable code");
+        }
+    }
+
+    /**
+     * Rejects the call unless the token belongs to a live session. Called first
+     * by every operation except authentication.
+     *
+     * @return The user the session belongs to
+     */
+    private UserDTO requireSession(String sessionToken) throws InvalidSessionException {
+        return sessionStore.validate(sessionToken);
+    }
 }
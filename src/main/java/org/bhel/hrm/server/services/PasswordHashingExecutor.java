@@ -0,0 +1,207 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.Histogram;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs Argon2id password hashing and verification on a dedicated, bounded thread pool.
+ * <p>
+ * Each Argon2id call costs tens of milliseconds of CPU and the configured memory
+ * (see {@code psw4j.properties}), so running it directly on RMI worker threads lets a
+ * login storm exhaust both. This executor caps the number of concurrent hashes and the
+ * number of requests waiting for one; anything beyond that is rejected immediately with
+ * a {@link ServerBusyException} rather than queueing without bound.
+ * <p>
+ * Time spent waiting in the queue and time spent hashing are recorded separately under
+ * {@code security.password.*}.
+ */
+public final class PasswordHashingExecutor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+    private static final String RESOURCE_NAME = "password hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final int maxConcurrency;
+    private final UnaryOperator<String> hashFunction;
+    private final BiPredicate<String, String> verifyFunction;
+
+    private final Histogram queueWaitTime;
+    private final Histogram hashTime;
+    private final Histogram verifyTime;
+    private final Counter rejections;
+
+    /**
+     * @param maxConcurrency The maximum number of passwords hashed or verified at once
+     * @param queueCapacity The maximum number of requests waiting for a hashing thread
+     * @param metrics The registry to publish queue and hashing metrics to
+     */
+    public PasswordHashingExecutor(int maxConcurrency, int queueCapacity, MetricsRegistry metrics) {
+        this(maxConcurrency, queueCapacity, metrics, PasswordService::hashPassword, PasswordService::checkPassword);
+    }
+
+    PasswordHashingExecutor(
+        int maxConcurrency,
+        int queueCapacity,
+        MetricsRegistry metrics,
+        UnaryOperator<String> hashFunction,
+        BiPredicate<String, String> verifyFunction
+    ) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.hashFunction = hashFunction;
+        this.verifyFunction = verifyFunction;
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+            this.maxConcurrency,
+            this.maxConcurrency,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "hrm-password-hasher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.queueWaitTime = metrics.histogram("security.password.queue.nanos");
+        this.hashTime = metrics.histogram("security.password.hash.nanos");
+        this.verifyTime = metrics.histogram("security.password.verify.nanos");
+        this.rejections = metrics.counter("security.password.rejected");
+        metrics.gauge("security.password.active", executor::getActiveCount);
+        metrics.gauge("security.password.queued", () -> executor.getQueue().size());
+
+        logger.info("Password hashing executor started [maxConcurrency={}, queueCapacity={}].",
+            this.maxConcurrency, Math.max(1, queueCapacity));
+    }
+
+    /**
+     * Hashes a password, waiting for a free hashing thread if necessary.
+     *
+     * @param plainTextPassword The password to hash; must not be null
+     * @return The encoded Argon2id hash
+     * @throws ServerBusyException If the hashing queue is full
+     */
+    public String hashPassword(String plainTextPassword) throws ServerBusyException {
+        return await(submit(() -> hashFunction.apply(plainTextPassword), hashTime));
+    }
+
+    /**
+     * Verifies a password against a stored hash, waiting for a free hashing thread if necessary.
+     *
+     * @param plainTextPassword The password provided by the user
+     * @param storedHash The hash retrieved from the database
+     * @return {@code true} if the password matches the hash, false otherwise
+     * @throws ServerBusyException If the hashing queue is full
+     */
+    public boolean checkPassword(String plainTextPassword, String storedHash) throws ServerBusyException {
+        return await(submit(() -> verifyFunction.test(plainTextPassword, storedHash), verifyTime));
+    }
+
+    /**
+     * Hashes many passwords in parallel, e.g. for a bulk import. At most {@code maxConcurrency}
+     * of them are submitted at a time, so a large import never fills the queue on its own and
+     * leaves room for interactive logins.
+     *
+     * @param plainTextPasswords The passwords to hash; none may be null
+     * @return The hashes, in the same order as the passwords
+     * @throws ServerBusyException If the hashing queue is full
+     */
+    public List<String> hashPasswords(List<String> plainTextPasswords) throws ServerBusyException {
+        Semaphore window = new Semaphore(maxConcurrency);
+        List<Future<String>> pending = new ArrayList<>(plainTextPasswords.size());
+
+        try {
+            for (String password : plainTextPasswords) {
+                window.acquire();
+
+                try {
+                    pending.add(submit(() -> {
+                        try {
+                            return hashFunction.apply(password);
+                        } finally {
+                            window.release();
+                        }
+                    }, hashTime));
+                } catch (ServerBusyException e) {
+                    window.release();
+                    throw e;
+                }
+            }
+
+            List<String> hashes = new ArrayList<>(pending.size());
+            for (Future<String> future : pending)
+                hashes.add(await(future));
+
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting passwords for hashing.", e);
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Stops accepting new work and lets queued hashes finish in the background.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task, Histogram timer) throws ServerBusyException {
+        long enqueuedAt = System.nanoTime();
+
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTime.record(startedAt - enqueuedAt);
+
+                try {
+                    return task.call();
+                } finally {
+                    timer.recordSince(startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            logger.warn("Rejected a password hashing request; {} running and {} queued.",
+                executor.getActiveCount(), executor.getQueue().size());
+            throw new ServerBusyException(RESOURCE_NAME);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.common.serialization.CompactList;
+import org.bhel.hrm.common.services.RemoteIterator;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Opens, tracks and expires the {@link RemoteIterator} cursors handed out to clients.
+ * <p>
+ * Each cursor is exported as its own remote object, over the same socket factories as the
+ * service, and reads lazily from a stream, typically a streaming {@code AbstractDAO} query.
+ * An open cursor therefore pins a pooled database connection between client calls. To keep
+ * cursors from starving ordinary requests of connections, the number open at once is capped
+ * and cursors that go unread for longer than the idle timeout are closed by a background sweeper.
+ * <p>
+ * Once the last element has been read, the stream is closed and its slot freed straight away,
+ * but the cursor stays exported so that the client's next read receives the empty chunk that
+ * marks the end; that read, or an explicit close, unexports it.
+ * <p>
+ * Chunks are capped at {@value #MAX_CHUNK_SIZE} elements and sent in the compact wire format.
+ * Cursor activity is published as {@code rmi.cursors.*} metrics.
+ */
+public final class RemoteCursorRegistry implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteCursorRegistry.class);
+
+    // Upper bound on a single chunk, matching the largest employee page.
+    static final int MAX_CHUNK_SIZE = 500;
+
+    private final Set<Cursor<?>> cursors = ConcurrentHashMap.newKeySet();
+    private final Semaphore openSlots;
+    private final RMIClientSocketFactory clientSocketFactory;
+    private final RMIServerSocketFactory serverSocketFactory;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService sweeper;
+
+    private final Counter opened;
+    private final Counter expired;
+
+    /**
+     * @param clientSocketFactory The factory clients use to reach cursors, or {@code null} for plain sockets
+     * @param serverSocketFactory The matching server socket factory, or {@code null} for plain sockets
+     * @param maxOpen The maximum number of cursors open at once; must be positive
+     * @param idleTimeout How long a cursor may go unread before it is closed
+     * @param metrics The registry to publish cursor metrics to
+     */
+    public RemoteCursorRegistry(
+        RMIClientSocketFactory clientSocketFactory,
+        RMIServerSocketFactory serverSocketFactory,
+        int maxOpen,
+        Duration idleTimeout,
+        MetricsRegistry metrics
+    ) {
+        if (maxOpen <= 0)
+            throw new IllegalArgumentException("The maximum number of open cursors must be positive.");
+
+        this.clientSocketFactory = clientSocketFactory;
+        this.serverSocketFactory = serverSocketFactory;
+        this.openSlots = new Semaphore(maxOpen);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        this.opened = metrics.counter("rmi.cursors.opened");
+        this.expired = metrics.counter("rmi.cursors.expired");
+        metrics.gauge("rmi.cursors.open", cursors::size);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hrm-cursor-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1_000, idleTimeout.toMillis() / 2);
+        sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+
+        logger.info("Remote cursor registry started [maxOpen={}, idleTimeout={}].", maxOpen, idleTimeout);
+    }
+
+    /**
+     * Opens a cursor over a stream and exports it to clients. The stream is only opened once
+     * a cursor slot is free, and is closed with the cursor.
+     *
+     * @param source Opens the stream to read from, e.g. {@code employeeDAO::streamAll}
+     * @return The exported cursor to return to the client
+     * @throws ServerBusyException If the maximum number of cursors is already open
+     * @throws RemoteException If the cursor cannot be exported
+     */
+    public <T> RemoteIterator<T> open(Supplier<Stream<T>> source) throws ServerBusyException, RemoteException {
+        if (!openSlots.tryAcquire())
+            throw new ServerBusyException("open cursors");
+
+        Stream<T> stream = null;
+        try {
+            stream = source.get();
+            Cursor<T> cursor = new Cursor<>(stream);
+
+            @SuppressWarnings("unchecked")
+            RemoteIterator<T> stub = (RemoteIterator<T>) UnicastRemoteObject.exportObject(
+                cursor, 0, clientSocketFactory, serverSocketFactory);
+
+            cursors.add(cursor);
+            opened.increment();
+            return stub;
+        } catch (RemoteException | RuntimeException e) {
+            if (stream != null)
+                stream.close();
+
+            openSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every cursor that has not been read for longer than the idle timeout.
+     *
+     * @return The number of cursors closed
+     */
+    int sweep() {
+        long now = System.nanoTime();
+        int removed = 0;
+
+        for (Cursor<?> cursor : cursors) {
+            if (now - cursor.lastAccessNanos > idleTimeoutNanos && cursor.closeIfIdle(now)) {
+                expired.increment();
+                removed++;
+            }
+        }
+
+        if (removed > 0)
+            logger.debug("Closed {} idle cursors; {} remain open.", removed, cursors.size());
+
+        return removed;
+    }
+
+    int size() {
+        return cursors.size();
+    }
+
+    /**
+     * Stops the sweeper and closes every open cursor.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        cursors.forEach(Cursor::release);
+    }
+
+    /**
+     * A single exported cursor. Calls on one cursor are serialized, so a client that
+     * issues overlapping reads still receives disjoint, ordered chunks.
+     */
+    private final class Cursor<T> implements RemoteIterator<T> {
+        private final Stream<T> stream;
+        private final Iterator<T> iterator;
+        private volatile long lastAccessNanos;
+        private boolean exhausted;
+        private boolean closed;
+
+        private Cursor(Stream<T> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+            this.lastAccessNanos = System.nanoTime();
+        }
+
+        @Override
+        public synchronized List<T> next(int maxElements) throws RemoteException {
+            if (closed)
+                throw new NoSuchObjectException("The cursor has been closed or has expired.");
+
+            if (exhausted) {
+                release();
+                return CompactList.of(List.of());
+            }
+
+            int limit = Math.clamp(maxElements, 1, MAX_CHUNK_SIZE);
+            List<T> chunk = new ArrayList<>(limit);
+
+            try {
+                while (chunk.size() < limit && iterator.hasNext())
+                    chunk.add(iterator.next());
+
+                if (!iterator.hasNext())
+                    closeStream();
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            } finally {
+                lastAccessNanos = System.nanoTime();
+            }
+
+            return CompactList.of(chunk);
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+
+        private synchronized boolean closeIfIdle(long now) {
+            // Re-checked under the lock, as a read may have finished since the sweeper looked.
+            if (closed || now - lastAccessNanos <= idleTimeoutNanos)
+                return false;
+
+            release();
+            return true;
+        }
+
+        /**
+         * Closes the stream and frees the cursor's slot, leaving the cursor exported.
+         */
+        private synchronized void closeStream() {
+            if (exhausted)
+                return;
+
+            exhausted = true;
+            try {
+                stream.close();
+            } finally {
+                openSlots.release();
+            }
+        }
+
+        private synchronized void release() {
+            if (closed)
+                return;
+
+            closed = true;
+            try {
+                closeStream();
+            } finally {
+                cursors.remove(this);
+                unexport();
+            }
+        }
+
+        private void unexport() {
+            try {
+                UnicastRemoteObject.unexportObject(this, true);
+            } catch (NoSuchObjectException e) {
+                logger.debug("Cursor was already unexported.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.config.DatabaseCircuitBreaker;
+import org.bhel.hrm.server.metrics.DbTime;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the body of each remote call, either directly on the RMI connection thread or on a
+ * fresh virtual thread, so the two can be benchmarked against each other with the same
+ * connection pool and admission limits.
+ * <p>
+ * A call body always runs start to finish on a single thread, and every transaction it
+ * opens is scoped to {@code DatabaseManager.inTransaction}, so no transaction outlives the
+ * body in either mode. Database time recorded on a virtual thread is carried back to the
+ * calling thread for {@code RpcMetrics}.
+ * <p>
+ * Virtual threads unmount while they wait for a pooled connection, as the pool locks with
+ * {@code ReentrantLock}, and the MySQL driver does not pin them during socket I/O. The
+ * number of virtual threads that reach the database is still bounded by
+ * {@link AdmissionController}, which admits calls before they are dispatched here.
+ * <p>
+ * A body whose database access was refused by the open {@link DatabaseCircuitBreaker} fails
+ * with a {@link ServerBusyException}, however the rejection was wrapped on its way out.
+ */
+public final class RequestExecutor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RequestExecutor.class);
+
+    /**
+     * Where call bodies run.
+     */
+    public enum Mode {
+        /** On the RMI connection thread that received the call. */
+        PLATFORM,
+        /** On a new virtual thread per call, while the RMI thread waits for it. */
+        VIRTUAL;
+
+        /**
+         * Parses a mode name, ignoring case, e.g. from configuration.
+         *
+         * @throws IllegalArgumentException If the name is not a known mode
+         */
+        public static Mode parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final Mode mode;
+    private final ExecutorService virtualThreads;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param mode Where call bodies run
+     * @param metrics The registry to publish executor metrics to
+     */
+    public RequestExecutor(Mode mode, MetricsRegistry metrics) {
+        this.mode = mode;
+        this.virtualThreads = mode == Mode.VIRTUAL
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hrm-rpc-vt-", 0).factory())
+            : null;
+
+        metrics.gauge("rpc.executor.inflight", inFlight::get);
+        logger.info("Remote calls will run on {} threads.", mode.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Runs a call body and returns its result.
+     *
+     * @param body The work of the call, e.g. validating the session and calling a service
+     * @return The body's result
+     * @throws ServerBusyException If the body needed the database while it was unreachable
+     * @throws Exception Whatever else the body threw
+     */
+    public <T> T execute(Callable<T> body) throws Exception {
+        inFlight.incrementAndGet();
+        try {
+            return mode == Mode.VIRTUAL
+                ? executeOnVirtualThread(body)
+                : body.call();
+        } catch (Exception e) {
+            ServerBusyException rejection = DatabaseCircuitBreaker.findRejection(e);
+            throw rejection != null ? rejection : e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    private <T> T executeOnVirtualThread(Callable<T> body) throws Exception {
+        long[] dbNanos = new long[1];
+        Future<T> future = virtualThreads.submit(() -> {
+            try {
+                return body.call();
+            } finally {
+                dbNanos[0] = DbTime.get();
+            }
+        });
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case Exception cause -> throw cause;
+                case Error error -> throw error;
+                default -> throw e;
+            }
+        } finally {
+            // Future.get() orders this read after the virtual thread's write.
+            DbTime.add(dbNanos[0]);
+        }
+    }
+
+    /**
+     * Stops accepting calls in virtual thread mode. Calls already running are not interrupted.
+     */
+    @Override
+    public void close() {
+        if (virtualThreads != null)
+            virtualThreads.shutdown();
+    }
+}
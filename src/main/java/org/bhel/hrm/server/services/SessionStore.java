@@ -0,0 +1,204 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.dtos.SessionDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.InvalidSessionException;
+import org.bhel.hrm.server.metrics.Counter;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-memory store of authenticated sessions, keyed by an opaque random token.
+ * <p>
+ * A session is issued once per login, after the (expensive) Argon2id password check, and
+ * then presented on every call instead of the password. Sessions expire after a period of
+ * inactivity; every accepted call slides the expiry forward. A background sweeper removes
+ * sessions that expired without being used again.
+ * <p>
+ * Validation is a single {@link ConcurrentHashMap} lookup and, at most once per second
+ * per session, a volatile write; it does not allocate on success, so it can run on every RPC.
+ * Sessions do not survive a server restart.
+ */
+public final class SessionStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+
+    // 256 bits of randomness, encoded as 43 URL-safe characters.
+    private static final int TOKEN_BYTES = 32;
+
+    // Refreshing the last-access time more often than this only adds contention.
+    private static final long TOUCH_GRANULARITY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService sweeper;
+
+    private final Counter created;
+    private final Counter expired;
+    private final Counter rejected;
+
+    /**
+     * @param idleTimeout How long a session stays valid without being used
+     * @param sweepInterval How often expired sessions are purged from memory
+     * @param metrics The registry to publish session metrics to
+     */
+    public SessionStore(Duration idleTimeout, Duration sweepInterval, MetricsRegistry metrics) {
+        this(idleTimeout, metrics, System::nanoTime);
+
+        long period = Math.max(1_000, sweepInterval.toMillis());
+        sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+
+        logger.info("Session store started [idleTimeout={}, sweepInterval={}ms].", idleTimeout, period);
+    }
+
+    // Visible for testing: no sweeper is scheduled and time is read from the given clock.
+    SessionStore(Duration idleTimeout, MetricsRegistry metrics, LongSupplier nanoClock) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hrm-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.created = metrics.counter("security.sessions.created");
+        this.expired = metrics.counter("security.sessions.expired");
+        this.rejected = metrics.counter("security.sessions.rejected");
+        metrics.gauge("security.sessions.active", sessions::size);
+    }
+
+    /**
+     * Issues a new session for a user who has just been authenticated.
+     *
+     * @param user The authenticated user; must not be null
+     * @return The new session, including its token
+     */
+    public SessionDTO create(UserDTO user) {
+        String token = newToken();
+        sessions.put(token, new Session(user, nanoClock.getAsLong()));
+        created.increment();
+
+        return toDto(token, user);
+    }
+
+    /**
+     * Checks that a token belongs to a live session and extends its expiry.
+     *
+     * @param token The session token presented by the client; may be null
+     * @return The user the session belongs to
+     * @throws InvalidSessionException If the token is unknown, expired or logged out
+     */
+    public UserDTO validate(String token) throws InvalidSessionException {
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) {
+            rejected.increment();
+            throw InvalidSessionException.instance();
+        }
+
+        long now = nanoClock.getAsLong();
+        long lastAccess = session.lastAccessNanos;
+
+        if (now - lastAccess > idleTimeoutNanos) {
+            if (sessions.remove(token, session))
+                expired.increment();
+
+            rejected.increment();
+            throw InvalidSessionException.instance();
+        }
+
+        if (now - lastAccess > TOUCH_GRANULARITY_NANOS)
+            session.lastAccessNanos = now;
+
+        return session.user;
+    }
+
+    /**
+     * Validates a token and returns its session with the refreshed expiry, e.g. when a
+     * client reconnects and needs to confirm its session is still usable.
+     *
+     * @param token The session token presented by the client; may be null
+     * @return The session with its new expiry time
+     * @throws InvalidSessionException If the token is unknown, expired or logged out
+     */
+    public SessionDTO resume(String token) throws InvalidSessionException {
+        return toDto(token, validate(token));
+    }
+
+    /**
+     * Ends a session immediately. Unknown or already-expired tokens are ignored.
+     *
+     * @param token The session token to invalidate; may be null
+     */
+    public void invalidate(String token) {
+        if (token != null)
+            sessions.remove(token);
+    }
+
+    /**
+     * Removes every session that has been idle for longer than the timeout.
+     *
+     * @return The number of sessions removed
+     */
+    int sweep() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+
+        for (var entry : sessions.entrySet()) {
+            if (now - entry.getValue().lastAccessNanos > idleTimeoutNanos
+                && sessions.remove(entry.getKey(), entry.getValue()))
+                removed++;
+        }
+
+        if (removed > 0) {
+            expired.add(removed);
+            logger.debug("Swept {} expired sessions; {} remain active.", removed, sessions.size());
+        }
+
+        return removed;
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops the sweeper. Existing sessions remain valid until the store is discarded.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return encoder.encodeToString(bytes);
+    }
+
+    private SessionDTO toDto(String token, UserDTO user) {
+        return new SessionDTO(token, user, Instant.now().plusNanos(idleTimeoutNanos));
+    }
+
+    private static final class Session {
+        private final UserDTO user;
+        private volatile long lastAccessNanos;
+
+        private Session(UserDTO user, long lastAccessNanos) {
+            this.user = user;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
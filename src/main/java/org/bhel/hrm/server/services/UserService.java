@@ -1,11 +1,15 @@
 package org.bhel.hrm.server.services;
 
+import org.bhel.hrm.common.dtos.EmployeeRegistrationResultDTO;
 import org.bhel.hrm.common.dtos.NewEmployeeRegistrationDTO;
-import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.dtos.SessionDTO;
 import org.bhel.hrm.common.exceptions.AuthenticationException;
 import org.bhel.hrm.common.exceptions.DuplicateUserException;
 import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.InvalidInputException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
 import org.bhel.hrm.common.exceptions.UserNotFoundException;
+import org.bhel.hrm.common.serialization.CompactList;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.daos.EmployeeDAO;
 import org.bhel.hrm.server.daos.UserDAO;
@@ -16,6 +20,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Service class containing business logic for user management,
@@ -24,35 +34,57 @@ import java.sql.SQLException;
 public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // Upper bound on a single bulk registration call.
+    static final int MAX_BULK_REGISTRATIONS = 10_000;
+
     private final DatabaseManager dbManager;
     private final EmployeeDAO employeeDAO;
     private final UserDAO userDAO;
+    private final PasswordHashingExecutor passwordHasher;
+    private final SessionStore sessionStore;
 
-    public UserService(DatabaseManager databaseManager, UserDAO userDAO, EmployeeDAO employeeDAO) {
+    /**
+     * @param passwordHasher The bounded executor all password hashing and verification runs on
+     * @param sessionStore The store that sessions are issued from after a successful login
+     */
+    public UserService(
+        DatabaseManager databaseManager,
+        UserDAO userDAO,
+        EmployeeDAO employeeDAO,
+        PasswordHashingExecutor passwordHasher,
+        SessionStore sessionStore
+    ) {
         this.dbManager = databaseManager;
         this.userDAO = userDAO;
         this.employeeDAO = employeeDAO;
+        this.passwordHasher = passwordHasher;
+        this.sessionStore = sessionStore;
     }
 
     /**
-     * Authenticates a user based on their username and password.
+     * Authenticates a user based on their username and password and issues a session
+     * for their subsequent calls.
      *
      * @param username The username to authenticate; must not be null or empty
      * @param password The plain-text password to verify; must not be null
-     * @return A {@link UserDTO} representing the authenticated user
+     * @return A {@link SessionDTO} for the authenticated user
      * @throws UserNotFoundException If no user exists with the given username
      * @throws AuthenticationException If the password does not match the stored hash
+     * @throws ServerBusyException If too many passwords are already being verified
      */
-    public UserDTO authenticate(String username, String password) throws AuthenticationException, UserNotFoundException {
+    public SessionDTO authenticate(
+        String username,
+        String password
+    ) throws AuthenticationException, UserNotFoundException, ServerBusyException {
         User user = userDAO.findByUsername(username)
             .orElseThrow(() -> new UserNotFoundException(username));
 
-        boolean passwordMatches = PasswordService.checkPassword(password, user.getPasswordHash());
+        boolean passwordMatches = passwordHasher.checkPassword(password, user.getPasswordHash());
         if (!passwordMatches)
             throw new AuthenticationException(username);
 
         logger.info("User '{}' authenticated successfully.", username);
-        return UserMapper.mapToDto(user);
+        return sessionStore.create(UserMapper.mapToDto(user));
     }
 
     /**
@@ -64,13 +96,16 @@ public class UserService {
      * @throws HRMException If the username already exists or another business rule is violated
      */
     public void registerNewEmployee(NewEmployeeRegistrationDTO registrationData) throws SQLException, HRMException {
+        // Hashes before the transaction so the connection is not held during the expensive step.
+        String passwordHash = passwordHasher.hashPassword(registrationData.initialPassword());
+
         dbManager.executeInTransaction(() -> {
             if (userDAO.findByUsername(registrationData.username()).isPresent())
                 throw new DuplicateUserException(registrationData.username());
 
             User newUser = new User(
                 registrationData.username(),
-                PasswordService.hashPassword(registrationData.initialPassword()),
+                passwordHash,
                 registrationData.role()
             );
             userDAO.save(newUser);
@@ -87,4 +122,235 @@ public class UserService {
                 newEmployee.getFirstName(), newUser.getId());
         });
     }
+
+    /**
+     * Registers many employees at once, reporting the outcome of each row instead of failing
+     * the whole import for a single bad row.
+     * <p>
+     * Rows with missing fields, or whose username, IC/passport number or first and last name
+     * is taken or repeated within the import, are skipped. Passwords of the remaining rows are hashed in parallel <em>before</em> the
+     * transaction opens, so the connection is only held for the batched inserts.
+     *
+     * @param registrations The registrations to process; must not be null or empty
+     * @return One {@link EmployeeRegistrationResultDTO} per registration, in the same order
+     * @throws InvalidInputException If the list is empty or larger than {@value #MAX_BULK_REGISTRATIONS}
+     * @throws SQLException If a database access error occurs during the transaction
+     * @throws HRMException If another business rule is violated
+     */
+    public List<EmployeeRegistrationResultDTO> registerNewEmployees(
+        List<NewEmployeeRegistrationDTO> registrations
+    ) throws SQLException, HRMException {
+        if (registrations == null || registrations.isEmpty())
+            throw new InvalidInputException("At least one registration is required.");
+
+        if (registrations.size() > MAX_BULK_REGISTRATIONS)
+            throw new InvalidInputException(
+                "A single import may register at most " + MAX_BULK_REGISTRATIONS + " employees.");
+
+        EmployeeRegistrationResultDTO[] results = new EmployeeRegistrationResultDTO[registrations.size()];
+        List<Integer> accepted = validateRegistrations(registrations, results);
+
+        // Drops rows that would conflict with existing ones up front so their passwords are never hashed.
+        rejectExistingRows(registrations, accepted, results);
+        List<String> hashes = passwordHasher.hashPasswords(accepted.stream()
+            .map(index -> registrations.get(index).initialPassword())
+            .toList());
+
+        String[] passwordHashes = new String[registrations.size()];
+        for (int i = 0; i < accepted.size(); i++)
+            passwordHashes[accepted.get(i)] = hashes.get(i);
+
+        dbManager.executeInTransaction(() -> {
+            // Checks again in case conflicting rows were registered while hashing.
+            rejectExistingRows(registrations, accepted, results);
+
+            List<User> newUsers = new ArrayList<>(accepted.size());
+            for (int index : accepted) {
+                NewEmployeeRegistrationDTO registration = registrations.get(index);
+                newUsers.add(new User(registration.username(), passwordHashes[index], registration.role()));
+            }
+            userDAO.saveAll(newUsers);
+
+            List<Employee> newEmployees = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                NewEmployeeRegistrationDTO registration = registrations.get(accepted.get(i));
+                newEmployees.add(new Employee(
+                    newUsers.get(i).getId(),
+                    registration.firstName(),
+                    registration.lastName(),
+                    registration.icPassport()
+                ));
+            }
+            employeeDAO.saveAll(newEmployees);
+
+            for (int i = 0; i < accepted.size(); i++) {
+                results[accepted.get(i)] = EmployeeRegistrationResultDTO.registered(
+                    newUsers.get(i).getUsername(), newUsers.get(i).getId(), newEmployees.get(i).getId());
+            }
+        });
+
+        logger.info("Bulk registration finished: {} of {} employees registered.",
+            accepted.size(), registrations.size());
+        return CompactList.of(List.of(results));
+    }
+
+    /**
+     * Records a result for every invalid or repeated registration.
+     *
+     * @return The indexes of the registrations that passed validation, in input order
+     */
+    private List<Integer> validateRegistrations(
+        List<NewEmployeeRegistrationDTO> registrations,
+        EmployeeRegistrationResultDTO[] results
+    ) {
+        List<Integer> accepted = new ArrayList<>(registrations.size());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenIcPassports = new HashSet<>();
+        Set<EmployeeDAO.Name> seenNames = new HashSet<>();
+
+        for (int i = 0; i < registrations.size(); i++) {
+            NewEmployeeRegistrationDTO registration = registrations.get(i);
+            String problem = findValidationProblem(registration);
+
+            if (problem != null) {
+                String username = registration == null ? null : registration.username();
+                results[i] = EmployeeRegistrationResultDTO.skipped(
+                    username, EmployeeRegistrationResultDTO.Status.INVALID, problem);
+            } else if (seenUsernames.contains(normalize(registration.username()))) {
+                results[i] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_USERNAME,
+                    "Username appears more than once in this import."
+                );
+            } else if (seenIcPassports.contains(normalize(registration.icPassport()))) {
+                results[i] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_IC_PASSPORT,
+                    "IC/Passport appears more than once in this import."
+                );
+            } else if (seenNames.contains(normalizedName(registration))) {
+                results[i] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_NAME,
+                    "First and last name appear more than once in this import."
+                );
+            } else {
+                seenUsernames.add(normalize(registration.username()));
+                seenIcPassports.add(normalize(registration.icPassport()));
+                seenNames.add(normalizedName(registration));
+                accepted.add(i);
+            }
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Removes registrations whose username, IC/passport number or first and last name already
+     * exists from {@code accepted}, recording a duplicate result for each.
+     */
+    private void rejectExistingRows(
+        List<NewEmployeeRegistrationDTO> registrations,
+        List<Integer> accepted,
+        EmployeeRegistrationResultDTO[] results
+    ) {
+        if (accepted.isEmpty())
+            return;
+
+        Set<String> takenUsernames = normalizeAll(userDAO.findExistingUsernames(accepted.stream()
+            .map(index -> registrations.get(index).username())
+            .toList()));
+        Set<String> takenIcPassports = normalizeAll(employeeDAO.findExistingIcPassports(accepted.stream()
+            .map(index -> registrations.get(index).icPassport())
+            .toList()));
+        Set<EmployeeDAO.Name> takenNames = new HashSet<>();
+        employeeDAO.findExistingNames(accepted.stream()
+            .map(index -> name(registrations.get(index)))
+            .toList()
+        ).forEach(name -> takenNames.add(normalize(name)));
+
+        if (takenUsernames.isEmpty() && takenIcPassports.isEmpty() && takenNames.isEmpty())
+            return;
+
+        Iterator<Integer> it = accepted.iterator();
+        while (it.hasNext()) {
+            int index = it.next();
+            NewEmployeeRegistrationDTO registration = registrations.get(index);
+
+            if (takenUsernames.contains(normalize(registration.username()))) {
+                results[index] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_USERNAME,
+                    "Username is already taken."
+                );
+                it.remove();
+            } else if (takenIcPassports.contains(normalize(registration.icPassport()))) {
+                results[index] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_IC_PASSPORT,
+                    "IC/Passport is already registered to another employee."
+                );
+                it.remove();
+            } else if (takenNames.contains(normalizedName(registration))) {
+                results[index] = EmployeeRegistrationResultDTO.skipped(
+                    registration.username(),
+                    EmployeeRegistrationResultDTO.Status.DUPLICATE_NAME,
+                    "An employee with this first and last name already exists."
+                );
+                it.remove();
+            }
+        }
+    }
+
+    private static String findValidationProblem(NewEmployeeRegistrationDTO dto) {
+        if (dto == null)
+            return "Registration must not be null.";
+
+        if (isBlank(dto.username()))
+            return "Username is a required field.";
+
+        if (dto.initialPassword() == null || dto.initialPassword().isEmpty())
+            return "Initial password is a required field.";
+
+        if (dto.role() == null)
+            return "Role is a required field.";
+
+        if (isBlank(dto.firstName()))
+            return "First Name is a required field.";
+
+        if (isBlank(dto.lastName()))
+            return "Last Name is a required field.";
+
+        if (isBlank(dto.icPassport()))
+            return "IC/Passport is a required field.";
+
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // Usernames and IC/passport numbers compare case-insensitively, matching the default MySQL collation.
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static EmployeeDAO.Name normalize(EmployeeDAO.Name name) {
+        return new EmployeeDAO.Name(normalize(name.firstName()), normalize(name.lastName()));
+    }
+
+    private static EmployeeDAO.Name name(NewEmployeeRegistrationDTO registration) {
+        return new EmployeeDAO.Name(registration.firstName(), registration.lastName());
+    }
+
+    private static EmployeeDAO.Name normalizedName(NewEmployeeRegistrationDTO registration) {
+        return normalize(name(registration));
+    }
+
+    private static Set<String> normalizeAll(Set<String> values) {
+        Set<String> normalized = new HashSet<>();
+        values.forEach(value -> normalized.add(normalize(value)));
+        return normalized;
+    }
 }
@@ -0,0 +1,213 @@
+package org.bhel.hrm.client.services;
+
+import org.bhel.hrm.common.dtos.EmployeeDTO;
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.ResourceNotFoundException;
+import org.bhel.hrm.common.services.HRMService;
+import org.bhel.hrm.common.services.RemoteIterator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AsyncHRMService unit tests")
+class AsyncHRMServiceTest {
+    private static final String TOKEN = "session-token";
+    private static final EmployeeDTO EMPLOYEE = new EmployeeDTO(1, 10, "Jane", "Doe", "S1234567A");
+
+    private ServiceManager serviceManager;
+    private HRMService hrmService;
+    private AsyncHRMService asyncService;
+
+    @BeforeEach
+    void setUp() {
+        serviceManager = mock(ServiceManager.class);
+        hrmService = mock(HRMService.class);
+        when(serviceManager.getHrmService()).thenReturn(hrmService);
+        when(serviceManager.getSessionToken()).thenReturn(TOKEN);
+
+        asyncService = new AsyncHRMService(serviceManager, 1, 4, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+    }
+
+    @Nested
+    @DisplayName("calls")
+    class CallTests {
+        @Test
+        @DisplayName("should complete with the result of the call made with the session token")
+        void shouldCompleteWithResult() throws Exception {
+            // Given
+            when(hrmService.getEmployeeById(TOKEN, 1)).thenReturn(EMPLOYEE);
+
+            // When
+            EmployeeDTO employee = asyncService.getEmployeeById(1).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(employee).isEqualTo(EMPLOYEE);
+        }
+
+        @Test
+        @DisplayName("should fail with the call's own exception")
+        void shouldFailWithCallException() throws Exception {
+            // Given
+            ResourceNotFoundException notFound = new ResourceNotFoundException(ErrorCode.EMPLOYEE_NOT_FOUND, "Employee", 1);
+            when(hrmService.getEmployeeById(TOKEN, 1)).thenThrow(notFound);
+
+            // When
+            CompletableFuture<EmployeeDTO> future = asyncService.getEmployeeById(1);
+
+            // Then
+            assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .satisfies(e -> assertThat(AsyncHRMService.unwrap(e)).isSameAs(notFound));
+        }
+
+        @Test
+        @DisplayName("should fail with a RemoteException when not connected")
+        void shouldFailWhenNotConnected() {
+            // Given
+            when(serviceManager.getHrmService()).thenReturn(null);
+
+            // When, Then
+            assertThatThrownBy(() -> asyncService.getAllEmployees().join())
+                .satisfies(e -> assertThat(AsyncHRMService.unwrap(e)).isInstanceOf(RemoteException.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("streaming")
+    class StreamTests {
+        private static final EmployeeDTO OTHER = new EmployeeDTO(2, 11, "John", "Roe", "S7654321B");
+
+        @Test
+        @DisplayName("should hand over each chunk in order until the cursor is exhausted")
+        @SuppressWarnings("unchecked")
+        void shouldStreamChunksInOrder() throws Exception {
+            // Given: A cursor with two chunks
+            RemoteIterator<EmployeeDTO> cursor = mock(RemoteIterator.class);
+            when(hrmService.streamAllEmployees(TOKEN)).thenReturn(cursor);
+            when(cursor.next(100)).thenReturn(List.of(EMPLOYEE), List.of(OTHER), List.of());
+            List<EmployeeDTO> received = new CopyOnWriteArrayList<>();
+
+            // When
+            int total = asyncService.streamAllEmployees(100, received::addAll).get(5, TimeUnit.SECONDS);
+
+            // Then: The server closed the cursor with the empty chunk, so the client does not
+            assertThat(total).isEqualTo(2);
+            assertThat(received).containsExactly(EMPLOYEE, OTHER);
+            verify(cursor, never()).close();
+        }
+
+        @Test
+        @DisplayName("should close the cursor when reading stops early")
+        @SuppressWarnings("unchecked")
+        void shouldCloseCursorOnFailure() throws Exception {
+            // Given: A cursor whose second read fails
+            RemoteIterator<EmployeeDTO> cursor = mock(RemoteIterator.class);
+            when(hrmService.streamAllEmployees(TOKEN)).thenReturn(cursor);
+            when(cursor.next(100))
+                .thenReturn(List.of(EMPLOYEE))
+                .thenThrow(new RemoteException("Connection reset"));
+
+            // When
+            CompletableFuture<Integer> future = asyncService.streamAllEmployees(100, chunk -> {});
+
+            // Then
+            assertThatThrownBy(future::join)
+                .satisfies(e -> assertThat(AsyncHRMService.unwrap(e)).isInstanceOf(RemoteException.class));
+            verify(cursor).close();
+        }
+    }
+
+    @Nested
+    @DisplayName("timeouts and cancellation")
+    class TimeoutTests {
+        @Test
+        @DisplayName("should bound RMI response reads beyond the default call timeout unless configured")
+        void shouldInstallResponseTimeout() {
+            String previous = System.getProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY);
+            try {
+                // Given, When: No timeout is configured
+                System.clearProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY);
+                AsyncHRMService.installResponseTimeout();
+
+                // Then
+                assertThat(System.getProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY))
+                    .isEqualTo(String.valueOf(AsyncHRMService.RESPONSE_TIMEOUT.toMillis()));
+
+                // Given, When: A timeout is configured explicitly
+                System.setProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY, "1234");
+                AsyncHRMService.installResponseTimeout();
+
+                // Then: It is kept
+                assertThat(System.getProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY)).isEqualTo("1234");
+            } finally {
+                if (previous == null)
+                    System.clearProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY);
+                else
+                    System.setProperty(AsyncHRMService.RESPONSE_TIMEOUT_PROPERTY, previous);
+            }
+        }
+
+        @Test
+        @DisplayName("should time out a slow call and interrupt its worker")
+        void shouldTimeOutSlowCall() throws Exception {
+            // Given: A call that blocks until it is interrupted
+            CountDownLatch interrupted = new CountDownLatch(1);
+            CompletableFuture<Void> future = asyncService.submit("slow", (service, token) -> {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }, Duration.ofMillis(50));
+
+            // When, Then
+            assertThatThrownBy(future::join)
+                .satisfies(e -> assertThat(AsyncHRMService.unwrap(e)).isInstanceOf(TimeoutException.class));
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not send a call that was cancelled while queued")
+        void shouldSkipCancelledCall() throws Exception {
+            // Given: The only worker is busy
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> busy = asyncService.submit("busy", (service, token) -> {
+                release.await();
+                return null;
+            });
+
+            CompletableFuture<EmployeeDTO> queued = asyncService.getEmployeeById(1);
+
+            // When: The queued call is cancelled before a worker picks it up
+            queued.cancel(false);
+            release.countDown();
+            busy.get(5, TimeUnit.SECONDS);
+            asyncService.submit("barrier", (service, token) -> null).get(5, TimeUnit.SECONDS);
+
+            // Then
+            verify(hrmService, never()).getEmployeeById(anyString(), anyInt());
+        }
+    }
+}
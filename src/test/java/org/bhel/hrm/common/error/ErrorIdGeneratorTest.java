@@ -0,0 +1,51 @@
+package org.bhel.hrm.common.error;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ErrorIdGenerator unit tests")
+class ErrorIdGeneratorTest {
+    @Test
+    @DisplayName("should issue fixed-width IDs that sort in the order they were issued")
+    void shouldIssueOrderedIds() {
+        // When
+        List<String> ids = IntStream.range(0, 1_000)
+            .mapToObj(i -> ErrorIdGenerator.next())
+            .toList();
+
+        // Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).allMatch(id -> id.matches("[0-9a-f]{16}-[0-9a-f]{12}"));
+    }
+
+    @Test
+    @DisplayName("should never issue the same ID twice across threads")
+    void shouldBeUniqueAcrossThreads() {
+        // Given
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(ErrorIdGenerator.next()));
+
+        // Then
+        assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    @DisplayName("should give a context built without an ID a generated one")
+    void shouldGenerateIdForContext() {
+        // When
+        ErrorContext context = ErrorContext.forUser("getEmployeeById", "42");
+
+        // Then
+        assertThat(context.getErrorId()).matches("[0-9a-f]{16}-[0-9a-f]{12}");
+        assertThat(context.getAdditionalData()).isEmpty();
+    }
+}
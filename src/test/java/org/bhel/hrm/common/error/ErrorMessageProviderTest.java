@@ -0,0 +1,117 @@
+package org.bhel.hrm.common.error;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ErrorMessageProvider unit tests")
+class ErrorMessageProviderTest {
+    private ErrorMessageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new ErrorMessageProvider("error-messages", Locale.ROOT);
+    }
+
+    @Nested
+    @DisplayName("getMessage")
+    class GetMessageTests {
+        @Test
+        @DisplayName("should use the message from the resource bundle")
+        void shouldUseBundleMessage() {
+            // When
+            String message = provider.getMessage(ErrorCode.USER_NOT_FOUND);
+
+            // Then
+            assertThat(message).contains("The requested user could not be found in the system.");
+            assertThat(provider.hasMessage(ErrorCode.USER_NOT_FOUND)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reuse the compiled message on repeated calls")
+        void shouldReuseCompiledMessage() {
+            // When
+            String first = provider.getMessage(ErrorCode.SYSTEM_ERROR);
+            String second = provider.getMessage(ErrorCode.SYSTEM_ERROR);
+
+            // Then
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("should fall back to the default messages when the bundle does not exist")
+        void shouldFallBackWithoutBundle() {
+            // Given
+            ErrorMessageProvider missingBundle = new ErrorMessageProvider("no-such-messages", Locale.ROOT);
+
+            // When
+            String message = missingBundle.getMessage(ErrorCode.DB_DEADLOCK);
+
+            // Then
+            assertThat(message).isEqualTo(ErrorCode.DB_DEADLOCK.getDefaultMessage());
+            assertThat(missingBundle.hasMessage(ErrorCode.DB_DEADLOCK)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("getMessage with parameters")
+    class FormattedMessageTests {
+        @Test
+        @DisplayName("should return the message unchanged when no parameters are given")
+        void shouldSkipFormattingWithoutParams() {
+            // When, Then
+            assertThat(provider.getMessage(ErrorCode.USER_NOT_FOUND, Locale.ROOT, (Object[]) null))
+                .isEqualTo(provider.getMessage(ErrorCode.USER_NOT_FOUND));
+        }
+
+        @Test
+        @DisplayName("should format the same message from several threads")
+        void shouldFormatConcurrently() throws InterruptedException {
+            // Given
+            String expected = provider.getMessage(ErrorCode.DB_DEADLOCK, "unused");
+            Thread[] threads = new Thread[8];
+            boolean[] matched = new boolean[threads.length];
+
+            // When
+            for (int i = 0; i < threads.length; i++) {
+                int index = i;
+                threads[i] = new Thread(() -> {
+                    boolean allMatched = true;
+                    for (int j = 0; j < 1_000; j++)
+                        allMatched &= expected.equals(provider.getMessage(ErrorCode.DB_DEADLOCK, "unused"));
+
+                    matched[index] = allMatched;
+                });
+                threads[i].start();
+            }
+
+            for (Thread thread : threads)
+                thread.join();
+
+            // Then
+            assertThat(matched).containsOnly(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("clearCache")
+    class ClearCacheTests {
+        @Test
+        @DisplayName("should resolve messages again after the cache is cleared")
+        void shouldReloadAfterClear() {
+            // Given
+            String before = provider.getMessage(ErrorCode.EMPLOYEE_NOT_FOUND);
+
+            // When
+            provider.clearCache();
+
+            // Then
+            assertThat(provider.getMessage(ErrorCode.EMPLOYEE_NOT_FOUND)).isEqualTo(before);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.bhel.hrm.common.error;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ErrorRateMonitor unit tests")
+class ErrorRateMonitorTest {
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private AtomicLong nanoTime;
+    private Map<String, LongSupplier> gauges;
+    private ErrorRateMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        nanoTime = new AtomicLong();
+        gauges = new HashMap<>();
+        monitor = new ErrorRateMonitor(WINDOW, gauges::put, nanoTime::get);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    @Nested
+    @DisplayName("counting")
+    class CountingTests {
+        @Test
+        @DisplayName("should count errors per error code and per operation")
+        void shouldCountByCodeAndOperation() {
+            // When
+            monitor.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+            monitor.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+            monitor.onError("authenticateUser", ErrorCode.AUTH_INVALID_CREDENTIALS, null);
+
+            // Then
+            assertThat(monitor.total()).isEqualTo(3);
+            assertThat(monitor.count(ErrorCode.DB_CONNECTION_FAILED)).isEqualTo(2);
+            assertThat(monitor.count(ErrorCode.AUTH_INVALID_CREDENTIALS)).isEqualTo(1);
+            assertThat(monitor.count("getAllEmployees")).isEqualTo(2);
+            assertThat(monitor.count(ErrorCode.DB_DEADLOCK)).isZero();
+            assertThat(monitor.count("updateEmployeeProfile")).isZero();
+        }
+
+        @Test
+        @DisplayName("should forget errors once they fall out of the window")
+        void shouldForgetOldErrors() {
+            // Given
+            monitor.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+            advance(Duration.ofSeconds(30));
+            monitor.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+
+            // When
+            advance(Duration.ofSeconds(40));
+
+            // Then: Only the second error is within the last minute
+            assertThat(monitor.count(ErrorCode.DB_CONNECTION_FAILED)).isEqualTo(1);
+
+            // When
+            advance(Duration.ofSeconds(60));
+
+            // Then
+            assertThat(monitor.total()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("gauges")
+    class GaugeTests {
+        @Test
+        @DisplayName("should publish a gauge for each error code and operation it has seen")
+        void shouldRegisterGauges() {
+            // When
+            monitor.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+
+            // Then
+            assertThat(gauges).containsOnlyKeys(
+                "errors.window.total",
+                "errors.window.code." + ErrorCode.DB_CONNECTION_FAILED.getCode(),
+                "errors.window.operation.getAllEmployees"
+            );
+            assertThat(gauges.get("errors.window.operation.getAllEmployees").getAsLong()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.bhel.hrm.common.error;
+
+import org.bhel.hrm.common.exceptions.CannotAcquireLockException;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.common.exceptions.DataIntegrityViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExceptionMappingConfig unit tests")
+class ExceptionMappingConfigTest {
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_UNMAPPED = 9999;
+
+    private ExceptionMappingConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ExceptionMappingConfig();
+    }
+
+    private DataAccessException translate(int mysqlErrorCode, String operation) {
+        return config.translate(new SQLException("failed", "23000", mysqlErrorCode), ErrorContext.forOperation(operation));
+    }
+
+    @Nested
+    @DisplayName("context mappings")
+    class ContextMappingTests {
+        @Test
+        @DisplayName("should apply a context mapping to operations that start with it, ignoring case")
+        void shouldMatchPrefix() {
+            // When
+            DataAccessException e = translate(MYSQL_DUPLICATE_ENTRY, "Registration.bulkImport");
+
+            // Then
+            assertThat(e).isInstanceOf(DataIntegrityViolationException.class);
+            assertThat(e.getErrorCode()).isEqualTo(ErrorCode.USER_ALREADY_EXISTS);
+        }
+
+        @Test
+        @DisplayName("should prefer the longest matching context")
+        void shouldPreferLongestMatch() {
+            // Given: A broader context that also matches the operation
+            config.addContextMapping(
+                "employee",
+                MYSQL_DUPLICATE_ENTRY,
+                ErrorCode.DB_DUPLICATE_ENTRY,
+                DataIntegrityViolationException::new
+            );
+
+            // When
+            DataAccessException specific = translate(MYSQL_DUPLICATE_ENTRY, "employee.create");
+            DataAccessException broad = translate(MYSQL_DUPLICATE_ENTRY, "employee.update");
+
+            // Then
+            assertThat(specific.getErrorCode()).isEqualTo(ErrorCode.EMPLOYEE_DUPLICATE_ID);
+            assertThat(broad.getErrorCode()).isEqualTo(ErrorCode.DB_DUPLICATE_ENTRY);
+        }
+
+        @Test
+        @DisplayName("should ignore a context mapping for a different error code")
+        void shouldRequireMatchingErrorCode() {
+            // When
+            DataAccessException e = translate(MYSQL_DEADLOCK, "registration");
+
+            // Then: The general deadlock mapping applies
+            assertThat(e).isInstanceOf(CannotAcquireLockException.class);
+            assertThat(e.getErrorCode()).isEqualTo(ErrorCode.DB_DEADLOCK);
+            assertThat(e.getMessage()).endsWith(" during registration");
+        }
+
+        @Test
+        @DisplayName("should use a mapping added after an earlier translation was cached")
+        void shouldClearCacheWhenMappingAdded() {
+            // Given: A translation of this operation has been cached
+            assertThat(translate(MYSQL_DUPLICATE_ENTRY, "leave.apply").getErrorCode())
+                .isEqualTo(ErrorCode.DB_DUPLICATE_ENTRY);
+
+            // When
+            config.addContextMapping(
+                "leave",
+                MYSQL_DUPLICATE_ENTRY,
+                ErrorCode.LEAVE_OVERLAPPING_DATES,
+                (msg, ex) -> new DataIntegrityViolationException(ErrorCode.LEAVE_OVERLAPPING_DATES, msg, ex)
+            );
+
+            // Then
+            assertThat(translate(MYSQL_DUPLICATE_ENTRY, "leave.apply").getErrorCode())
+                .isEqualTo(ErrorCode.LEAVE_OVERLAPPING_DATES);
+        }
+    }
+
+    @Nested
+    @DisplayName("fallbacks")
+    class FallbackTests {
+        @Test
+        @DisplayName("should fall back to a generic data access error for an unmapped code")
+        void shouldFallBackForUnmappedCode() {
+            // When
+            DataAccessException e = translate(MYSQL_UNMAPPED, "getAllEmployees");
+
+            // Then
+            assertThat(e.getClass()).isEqualTo(DataAccessException.class);
+            assertThat(e.getCause()).isInstanceOf(SQLException.class);
+            assertThat(e.getMessage()).endsWith(" during getAllEmployees");
+        }
+
+        @Test
+        @DisplayName("should return a new exception with its own cause on each translation")
+        void shouldNotShareExceptions() {
+            // When
+            DataAccessException first = translate(MYSQL_DEADLOCK, "updateEmployeeProfile");
+            DataAccessException second = translate(MYSQL_DEADLOCK, "updateEmployeeProfile");
+
+            // Then
+            assertThat(first).isNotSameAs(second);
+            assertThat(first.getCause()).isNotSameAs(second.getCause());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.bhel.hrm.common.exceptions;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HRMException unit tests")
+class HRMExceptionTest {
+    @AfterEach
+    void tearDown() {
+        HRMException.setBusinessStackTracesEnabled(false);
+    }
+
+    @Nested
+    @DisplayName("stack traces")
+    class StackTraceTests {
+        @Test
+        @DisplayName("should not record a stack trace for an expected business outcome")
+        void shouldSkipStackTraceForExpectedOutcome() {
+            // When
+            AuthenticationException e = new AuthenticationException("alice");
+
+            // Then
+            assertThat(e.getStackTrace()).isEmpty();
+            assertThat(e.getMessage()).isEqualTo("[" + ErrorCode.AUTH_INVALID_CREDENTIALS.getCode() + "] Invalid username or password.");
+        }
+
+        @Test
+        @DisplayName("should still record a stack trace for an unexpected error")
+        void shouldKeepStackTraceForSystemError() {
+            // When
+            HRMException e = new HRMException("Unexpected error in transaction");
+
+            // Then
+            assertThat(e.getStackTrace()).isNotEmpty();
+        }
+
+        @Test
+        @DisplayName("should record stack traces for business outcomes when enabled")
+        void shouldRecordStackTraceWhenEnabled() {
+            // Given
+            HRMException.setBusinessStackTracesEnabled(true);
+
+            // When
+            ResourceNotFoundException e = new ResourceNotFoundException(ErrorCode.EMPLOYEE_NOT_FOUND, "Employee", 1);
+
+            // Then
+            assertThat(e.getStackTrace()).isNotEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("InvalidSessionException.instance")
+    class SharedInstanceTests {
+        @Test
+        @DisplayName("should share one instance while stack traces are off")
+        void shouldShareInstance() {
+            assertThat(InvalidSessionException.instance()).isSameAs(InvalidSessionException.instance());
+        }
+
+        @Test
+        @DisplayName("should create a new instance while stack traces are on")
+        void shouldCreateInstanceWhenEnabled() {
+            // Given
+            HRMException.setBusinessStackTracesEnabled(true);
+
+            // When, Then
+            assertThat(InvalidSessionException.instance()).isNotSameAs(InvalidSessionException.instance());
+        }
+    }
+
+    @Nested
+    @DisplayName("serialization")
+    class SerializationTests {
+        @Test
+        @DisplayName("should keep the error code and message of a stackless exception across serialization")
+        void shouldRoundTrip() throws Exception {
+            // Given
+            UserNotFoundException original = new UserNotFoundException("alice");
+
+            // When
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(original);
+            }
+
+            UserNotFoundException copy;
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = (UserNotFoundException) in.readObject();
+            }
+
+            // Then
+            assertThat(copy.getErrorCode()).isEqualTo(ErrorCode.USER_NOT_FOUND);
+            assertThat(copy.getMessage()).isEqualTo(original.getMessage());
+            assertThat(copy.getIdentifier()).isEqualTo("alice");
+            assertThat(copy.getStackTrace()).isEmpty();
+        }
+    }
+}
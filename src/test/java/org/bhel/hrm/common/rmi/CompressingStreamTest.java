@@ -0,0 +1,92 @@
+package org.bhel.hrm.common.rmi;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Compressing stream tests")
+class CompressingStreamTest {
+    private static final int THRESHOLD = 1024;
+
+    private static byte[] readBack(byte[] wire) throws IOException {
+        try (CompressingInputStream in = new CompressingInputStream(new ByteArrayInputStream(wire))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Nested
+    @DisplayName("round trip")
+    class RoundTripTests {
+        @Test
+        @DisplayName("should restore the written bytes across small, large and multi-frame writes")
+        void shouldRestoreWrittenBytes() throws IOException {
+            // Given: A mix of compressible and random data, larger than one frame
+            Random random = new Random(42);
+            byte[] data = new byte[3 * CompressingOutputStream.MAX_FRAME_SIZE + 17];
+            for (int i = 0; i < data.length; i++)
+                data[i] = i % 5 == 0 ? (byte) random.nextInt() : (byte) 'a';
+
+            // When: It is written in pieces of different sizes, flushing after each
+            ByteArrayOutputStream wire = new ByteArrayOutputStream();
+            try (CompressingOutputStream out = new CompressingOutputStream(wire, THRESHOLD, 1)) {
+                out.write(data, 0, 10);
+                out.flush();
+                out.write(data[10]);
+                out.write(data, 11, 5_000);
+                out.flush();
+                out.write(data, 5_011, data.length - 5_011);
+            }
+
+            // Then: Reading the frames back yields the original bytes
+            assertThat(readBack(wire.toByteArray())).isEqualTo(data);
+        }
+    }
+
+    @Nested
+    @DisplayName("compression")
+    class CompressionTests {
+        @Test
+        @DisplayName("should shrink a large, repetitive message")
+        void shouldCompressLargeMessages() throws IOException {
+            // Given: A large, repetitive message such as an employee listing
+            byte[] message = "Employee Jane Doe, S1234567A; ".repeat(2_000).getBytes(StandardCharsets.UTF_8);
+
+            // When: It is written and flushed
+            ByteArrayOutputStream wire = new ByteArrayOutputStream();
+            try (CompressingOutputStream out = new CompressingOutputStream(wire, THRESHOLD, 1)) {
+                out.write(message);
+            }
+
+            // Then: The wire form is a fraction of the original size
+            assertThat(wire.size()).isLessThan(message.length / 10);
+            assertThat(readBack(wire.toByteArray())).isEqualTo(message);
+        }
+
+        @Test
+        @DisplayName("should send messages below the threshold uncompressed")
+        void shouldNotCompressSmallMessages() throws IOException {
+            // Given: A small message below the threshold
+            byte[] message = new byte[100];
+            Arrays.fill(message, (byte) 'a');
+
+            // When: It is written and flushed
+            ByteArrayOutputStream wire = new ByteArrayOutputStream();
+            try (CompressingOutputStream out = new CompressingOutputStream(wire, THRESHOLD, 1)) {
+                out.write(message);
+            }
+
+            // Then: It is sent as one raw frame: a type byte, a length and the bytes themselves
+            assertThat(wire.toByteArray()[0]).isEqualTo((byte) CompressingOutputStream.FRAME_RAW);
+            assertThat(wire.size()).isEqualTo(1 + Integer.BYTES + message.length);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.bhel.hrm.common.serialization;
+
+import org.bhel.hrm.common.dtos.BenefitPlanDTO;
+import org.bhel.hrm.common.dtos.EmployeeDTO;
+import org.bhel.hrm.common.dtos.LeaveApplicationDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompactList serialization tests")
+class CompactListTest {
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Overwrites the encoded-length field that follows the format byte and schema ID
+     * of a serialized compact list.
+     */
+    private static byte[] withCompactLength(byte[] serialized, int schemaId, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(serialized);
+        for (int i = 0; i + 9 <= serialized.length; i++) {
+            if (serialized[i] == 1 && buffer.getInt(i + 1) == schemaId) {
+                buffer.putInt(i + 5, length);
+                return serialized;
+            }
+        }
+        throw new AssertionError("No compact list header found.");
+    }
+
+    private static List<EmployeeDTO> employees(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> new EmployeeDTO(i, 1_000 + i, "First" + (i % 50), "Last" + (i % 200), "S" + i + "A"))
+            .toList();
+    }
+
+    @Nested
+    @DisplayName("round trip")
+    class RoundTripTests {
+        @Test
+        @DisplayName("should restore a list of employees exactly")
+        void shouldRoundTripEmployees() throws Exception {
+            // Given: A list of employees, including edge-case values
+            List<EmployeeDTO> employees = new ArrayList<>(employees(100));
+            employees.add(new EmployeeDTO(Integer.MAX_VALUE, Integer.MIN_VALUE, "", "Ünïcødé ✓", null));
+
+            // When: The list is serialized and deserialized
+            Object restored = deserialize(serialize(CompactList.of(employees)));
+
+            // Then: The same employees come back, in order
+            assertThat(restored).isEqualTo(employees);
+        }
+
+        @Test
+        @DisplayName("should restore dates, enums, decimals and nulls")
+        void shouldRoundTripOtherFieldTypes() throws Exception {
+            // Given: DTOs using every supported field type, with some fields null
+            List<LeaveApplicationDTO> leaves = List.of(
+                new LeaveApplicationDTO(1, 2, LocalDateTime.of(2025, 1, 2, 9, 30, 0, 123_456_789),
+                    null, LeaveApplicationDTO.LeaveType.SICK, null, "Flu")
+            );
+            List<BenefitPlanDTO> plans = List.of(
+                new BenefitPlanDTO(1, "Dental", "Acme", null, new BigDecimal("-123.4500"))
+            );
+
+            // When, Then
+            assertThat(deserialize(serialize(CompactList.of(leaves)))).isEqualTo(leaves);
+            assertThat(deserialize(serialize(CompactList.of(plans)))).isEqualTo(plans);
+        }
+
+        @Test
+        @DisplayName("should fall back to default serialization for lists without a codec")
+        void shouldFallBackForUnregisteredElements() throws Exception {
+            // Given: A list with unregistered element types and a null element
+            List<Object> mixed = Arrays.asList("text", null, 42);
+
+            // When, Then: The list still round-trips
+            assertThat(deserialize(serialize(CompactList.of(mixed)))).isEqualTo(mixed);
+        }
+    }
+
+    @Nested
+    @DisplayName("malformed input")
+    class MalformedInputTests {
+        @Test
+        @DisplayName("should reject a negative or oversized length before allocating a buffer")
+        void shouldRejectInvalidLength() throws Exception {
+            // Given: A serialized employee list
+            byte[] serialized = serialize(CompactList.of(employees(3)));
+            int schemaId = DtoCodecs.forType(EmployeeDTO.class).schemaId();
+
+            // When, Then
+            for (int length : new int[] { -1, CompactList.MAX_COMPACT_BYTES + 1, Integer.MAX_VALUE }) {
+                byte[] tampered = withCompactLength(serialized.clone(), schemaId, length);
+
+                assertThatThrownBy(() -> deserialize(tampered))
+                    .isInstanceOf(InvalidObjectException.class)
+                    .hasMessageContaining("Invalid compact list length");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("size")
+    class SizeTests {
+        @Test
+        @DisplayName("should be substantially smaller than default serialization")
+        void shouldBeSmallerThanDefaultSerialization() throws Exception {
+            // Given: A large employee listing
+            List<EmployeeDTO> employees = employees(10_000);
+
+            // When: It is serialized both ways
+            int defaultSize = serialize(new ArrayList<>(employees)).length;
+            int compactSize = serialize(CompactList.of(employees)).length;
+
+            // Then: The compact form is less than half the size
+            assertThat(compactSize).isLessThan(defaultSize / 2);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.bhel.hrm.common.utils;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GlobalExceptionHandler unit tests")
+class GlobalExceptionHandlerTest {
+    private GlobalExceptionHandler handler;
+    private List<ErrorCode> reportedCodes;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler();
+        reportedCodes = new ArrayList<>();
+        handler.addErrorListener((operation, errorCode, e) -> reportedCodes.add(errorCode));
+    }
+
+    @Nested
+    @DisplayName("handle()")
+    class HandleTests {
+        @Test
+        @DisplayName("should report the database error behind a generic transaction failure")
+        void shouldClassifyWrappedDatabaseError() {
+            // Given: A DAO's connection failure, wrapped the way inTransaction wraps unexpected errors
+            HRMException failure = new HRMException(
+                "Unexpected error in transaction",
+                new DataAccessException(
+                    "Error executing query",
+                    new SQLException("Communications link failure", "08S01")
+                )
+            );
+
+            // When
+            assertThatThrownBy(() -> handler.handle(failure, "getAllEmployees")).isSameAs(failure);
+
+            // Then
+            assertThat(reportedCodes).containsExactly(ErrorCode.DB_CONNECTION_FAILED);
+        }
+
+        @Test
+        @DisplayName("should report a business exception by its own code")
+        void shouldKeepSpecificCode() {
+            // Given
+            ServerBusyException busy = new ServerBusyException("password hashing");
+
+            // When
+            assertThatThrownBy(() -> handler.handle(busy, "registerNewEmployee")).isSameAs(busy);
+
+            // Then
+            assertThat(reportedCodes).containsExactly(ErrorCode.SYSTEM_BUSY);
+        }
+
+        @Test
+        @DisplayName("should report a generic error with no known cause as a system error")
+        void shouldFallBackToSystemError() {
+            // Given
+            HRMException failure = new HRMException("Unexpected error in transaction", new IllegalStateException());
+
+            // When
+            assertThatThrownBy(() -> handler.handle(failure, "updateEmployee")).isSameAs(failure);
+
+            // Then
+            assertThat(reportedCodes).containsExactly(ErrorCode.SYSTEM_ERROR);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.domain.Employee;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CachingEmployeeDAO unit tests")
+class CachingEmployeeDAOTest {
+    private EmployeeDAO delegate;
+    private DatabaseManager dbManager;
+    private CachingEmployeeDAO cachingDAO;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(EmployeeDAO.class);
+        dbManager = mock(DatabaseManager.class);
+        cachingDAO = new CachingEmployeeDAO(delegate, dbManager, 100, Duration.ofMinutes(1), new MetricsRegistry());
+
+        when(delegate.findById(1)).thenReturn(Optional.of(new Employee(1, 10, "Jane", "Doe", "S1234567A")));
+    }
+
+    @Nested
+    @DisplayName("findById")
+    class FindByIdTests {
+        @Test
+        @DisplayName("should query the database only on the first lookup")
+        void shouldServeRepeatedLookupsFromCache() {
+            // Given, When: The same employee is looked up twice
+            cachingDAO.findById(1);
+            Optional<Employee> found = cachingDAO.findById(1);
+
+            // Then: The database was queried once
+            assertThat(found).hasValueSatisfying(employee -> assertThat(employee.getFirstName()).isEqualTo("Jane"));
+            verify(delegate, times(1)).findById(1);
+        }
+
+        @Test
+        @DisplayName("should not let callers modify the cached employee")
+        void shouldReturnCopies() {
+            // Given: A caller modifies the employee it was given
+            cachingDAO.findById(1).orElseThrow().setFirstName("Changed");
+
+            // When, Then: The next lookup is unaffected
+            assertThat(cachingDAO.findById(1).orElseThrow().getFirstName()).isEqualTo("Jane");
+        }
+
+        @Test
+        @DisplayName("should bypass the cache inside a transaction")
+        void shouldBypassCacheInTransaction() {
+            // Given: A transaction is active
+            when(dbManager.isTransactionActive()).thenReturn(true);
+
+            // When: The employee is looked up twice
+            cachingDAO.findById(1);
+            cachingDAO.findById(1);
+
+            // Then: Both lookups went to the database
+            verify(delegate, times(2)).findById(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("save")
+    class SaveTests {
+        @Test
+        @DisplayName("should invalidate the employee only when the transaction commits")
+        void shouldInvalidateAfterCommit() {
+            // Given: A cached employee, which is then saved
+            cachingDAO.findById(1);
+            cachingDAO.save(new Employee(1, 10, "Janet", "Doe", "S1234567A"));
+
+            ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+            verify(dbManager).afterCommit(afterCommit.capture());
+
+            // When: The entry is read before the commit, then the commit completes
+            cachingDAO.findById(1);
+            verify(delegate, times(1)).findById(1);
+            afterCommit.getValue().run();
+            cachingDAO.findById(1);
+
+            // Then: Only the read after the commit reloaded the employee
+            verify(delegate, times(2)).findById(1);
+        }
+    }
+}
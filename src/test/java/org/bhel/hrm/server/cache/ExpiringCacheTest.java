@@ -0,0 +1,122 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringCache unit tests")
+class ExpiringCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private AtomicLong clock;
+    private MetricsRegistry metrics;
+    private ExpiringCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        metrics = new MetricsRegistry();
+        cache = new ExpiringCache<>("test", 10, TTL, metrics, clock::get);
+    }
+
+    @Nested
+    @DisplayName("get")
+    class GetTests {
+        @Test
+        @DisplayName("should load a value once and serve it from memory afterwards")
+        void shouldServeRepeatedLookupsFromMemory() {
+            // Given: A loader that counts its calls
+            AtomicInteger loads = new AtomicInteger();
+
+            // When: The same key is read three times
+            for (int i = 0; i < 3; i++)
+                assertThat(cache.get(1, key -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+
+            // Then: The value was loaded only once, and the hits and misses were counted
+            assertThat(loads).hasValue(1);
+            assertThat(metrics.snapshot().counters())
+                .containsEntry("cache.test.hits", 2L)
+                .containsEntry("cache.test.misses", 1L);
+        }
+
+        @Test
+        @DisplayName("should reload a value once its TTL has passed")
+        void shouldReloadExpiredValue() {
+            // Given: A cached value
+            cache.get(1, key -> "old");
+
+            // When: The TTL passes and the key is read again
+            clock.addAndGet(TTL.plusSeconds(1).toNanos());
+
+            // Then: The value is reloaded
+            assertThat(cache.get(1, key -> "new")).isEqualTo("new");
+        }
+
+        @Test
+        @DisplayName("should not cache null values")
+        void shouldNotCacheNull() {
+            // Given, When: A lookup for a key that does not exist
+            assertThat(cache.get(1, key -> null)).isNull();
+
+            // Then: Nothing is cached
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidate")
+    class InvalidateTests {
+        @Test
+        @DisplayName("should force the next lookup to reload")
+        void shouldForceReload() {
+            // Given: A cached value
+            cache.get(1, key -> "old");
+
+            // When: The key is invalidated
+            cache.invalidate(1);
+
+            // Then: The next read loads the value again
+            assertThat(cache.get(1, key -> "new")).isEqualTo("new");
+        }
+
+        @Test
+        @DisplayName("should discard a value whose load overlapped the invalidation")
+        void shouldDiscardValueLoadedDuringInvalidation() {
+            // Given, When: The key is invalidated while its (now stale) value is being loaded
+            String loaded = cache.get(1, key -> {
+                cache.invalidate(key);
+                return "stale";
+            });
+
+            // Then: The caller still gets its value, but it is not kept in the cache
+            assertThat(loaded).isEqualTo("stale");
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("eviction")
+    class EvictionTests {
+        @Test
+        @DisplayName("should never hold more than its maximum size, evicting the oldest entries first")
+        void shouldStayWithinMaximumSize() {
+            // Given, When: Twenty keys are loaded one second apart into a cache of ten
+            for (int i = 0; i < 20; i++) {
+                cache.get(i, key -> "value-" + key);
+                clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            }
+
+            // Then: The cache stayed within its bounds and kept the most recent key
+            assertThat(cache.size()).isLessThanOrEqualTo(10);
+            assertThat(cache.get(19, key -> "reloaded")).isEqualTo("value-19");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.bhel.hrm.server.cache;
+
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight unit tests")
+class SingleFlightTest {
+    private static final int FOLLOWERS = 8;
+
+    private MetricsRegistry metrics;
+    private SingleFlight<String, List<String>> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        singleFlight = new SingleFlight<>("test", metrics);
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts a call that blocks until released, then the given number of identical calls,
+     * and waits until all of them have joined the first one.
+     */
+    private List<Future<List<String>>> startCoalescedCalls(Callable<List<String>> blockingCall) throws Exception {
+        List<Future<List<String>>> calls = new ArrayList<>();
+        calls.add(executor.submit(() -> singleFlight.execute("key", blockingCall)));
+
+        while (metrics.snapshot().counters().getOrDefault("singleflight.test.executions", 0L) == 0)
+            Thread.onSpinWait();
+
+        for (int i = 0; i < FOLLOWERS; i++)
+            calls.add(executor.submit(() -> singleFlight.execute("key", () -> List.of("not shared"))));
+
+        while (metrics.snapshot().counters().getOrDefault("singleflight.test.coalesced", 0L) < FOLLOWERS)
+            Thread.onSpinWait();
+
+        return calls;
+    }
+
+    @Nested
+    @DisplayName("execute")
+    class ExecuteTests {
+        @Test
+        @DisplayName("should run concurrent identical calls once and share the result")
+        void shouldShareResultOfConcurrentCalls() throws Exception {
+            // Given: A slow read that is called concurrently by several callers
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger executions = new AtomicInteger();
+            List<Future<List<String>>> calls = startCoalescedCalls(() -> {
+                executions.incrementAndGet();
+                release.await();
+                return List.of("result");
+            });
+
+            // When: The read completes
+            release.countDown();
+
+            // Then: It ran once and every caller received the same result instance
+            List<String> first = calls.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<List<String>> call : calls)
+                assertThat(call.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            assertThat(executions).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("should rethrow the failure of a shared call to every caller")
+        void shouldShareFailure() throws Exception {
+            // Given: A slow read that fails, called concurrently by several callers
+            CountDownLatch release = new CountDownLatch(1);
+            List<Future<List<String>>> calls = startCoalescedCalls(() -> {
+                release.await();
+                throw new IllegalStateException("query failed");
+            });
+
+            // When: The read fails
+            release.countDown();
+
+            // Then: Every caller sees the failure
+            for (Future<List<String>> call : calls)
+                assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("query failed");
+        }
+
+        @Test
+        @DisplayName("should not reuse the result of a call that has already completed")
+        void shouldRunSequentialCallsAgain() throws Exception {
+            // Given, When: The same key is read twice, one call after the other
+            AtomicInteger executions = new AtomicInteger();
+            singleFlight.execute("key", () -> List.of("first-" + executions.incrementAndGet()));
+            List<String> second = singleFlight.execute("key", () -> List.of("second-" + executions.incrementAndGet()));
+
+            // Then: Both calls ran
+            assertThat(second).containsExactly("second-2");
+        }
+    }
+}
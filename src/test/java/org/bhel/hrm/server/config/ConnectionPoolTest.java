@@ -0,0 +1,229 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.*;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+@DisplayName("ConnectionPool tests")
+class ConnectionPoolTest {
+    @Container
+    private static final MySQLContainer mysql = new MySQLContainer("mysql:8.4.0");
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setup() {
+        pool = ConnectionPool.builder()
+            .url(mysql.getJdbcUrl())
+            .username(mysql.getUsername())
+            .password(mysql.getPassword())
+            .minSize(1)
+            .maxSize(2)
+            .acquireTimeout(Duration.ofMillis(200))
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("acquire() should reuse a physical connection after it is closed")
+    void acquire_shouldReuseReturnedConnection() throws SQLException {
+        // Given: A connection is borrowed and returned
+        String firstPhysical;
+        try (Connection conn = pool.acquire()) {
+            firstPhysical = conn.unwrap(Connection.class).toString();
+        }
+
+        // When: Another connection is borrowed
+        try (Connection conn = pool.acquire()) {
+            // Then: The same physical connection is handed out again
+            assertThat(conn.unwrap(Connection.class).toString()).isEqualTo(firstPhysical);
+            assertThat(pool.getTotalConnections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("acquire() should time out when the pool is exhausted")
+    void acquire_shouldTimeOut_whenPoolIsExhausted() throws SQLException {
+        // Given: Every connection in the pool is checked out
+        try (Connection first = pool.acquire(); Connection second = pool.acquire()) {
+            assertThat(first).isNotSameAs(second);
+
+            // When, Then: A further borrow gives up after the acquire timeout
+            assertThatThrownBy(pool::acquire)
+                .isInstanceOf(SQLTransientConnectionException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("close() on a borrowed connection should return it to the pool in auto-commit mode")
+    void close_shouldResetAutoCommit() throws SQLException {
+        // Given: A connection is returned mid-transaction
+        try (Connection conn = pool.acquire()) {
+            conn.setAutoCommit(false);
+        }
+
+        // When: It is borrowed again
+        try (Connection conn = pool.acquire()) {
+            // Then: The session state has been restored
+            assertThat(conn.getAutoCommit()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("close() on a borrowed connection should restore its read-only flag and isolation level")
+    void close_shouldResetReadOnlyAndIsolation() throws SQLException {
+        // Given: A connection is returned read-only at a stricter isolation level
+        int defaultIsolation;
+        try (Connection conn = pool.acquire()) {
+            defaultIsolation = conn.getTransactionIsolation();
+            conn.setReadOnly(true);
+            conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        }
+
+        // When: It is borrowed again
+        try (Connection conn = pool.acquire()) {
+            // Then: The next borrower gets the connection's original session state
+            assertThat(conn.isReadOnly()).isFalse();
+            assertThat(conn.getTransactionIsolation()).isEqualTo(defaultIsolation);
+            assertThat(pool.getTotalConnections()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("a closed handle should reject further use")
+    void closedHandle_shouldRejectFurtherUse() throws SQLException {
+        // Given: A borrowed connection that has already been returned
+        Connection conn = pool.acquire();
+        conn.close();
+
+        // When, Then: Using the stale handle fails instead of touching a shared connection
+        assertThat(conn.isClosed()).isTrue();
+        assertThatThrownBy(conn::createStatement).isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    @DisplayName("prepareStatement() should reuse a cached statement for the same SQL")
+    void prepareStatement_shouldReuseCachedStatement() throws SQLException {
+        // Given: A statement is prepared and closed on a pooled connection
+        PreparedStatement firstPhysical;
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT ?")) {
+            stmt.setInt(1, 1);
+            firstPhysical = stmt.unwrap(PreparedStatement.class);
+        }
+
+        // When: The same SQL is prepared after borrowing the connection again
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT ?")) {
+            // Then: The physical statement is reused, with its parameters cleared
+            assertThat(stmt.unwrap(PreparedStatement.class)).isSameAs(firstPhysical);
+            assertThatThrownBy(stmt::executeQuery).isInstanceOf(SQLException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("prepareStatement() should restore a cached statement's settings when it is returned")
+    void prepareStatement_shouldRestoreSettings() throws SQLException {
+        // Given: A caller streams a query with a row limit and timeout
+        int defaultFetchSize;
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+            defaultFetchSize = stmt.getFetchSize();
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setMaxRows(10);
+            stmt.setQueryTimeout(5);
+        }
+
+        // When: The same SQL is prepared again
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+            // Then: The cached statement is back to its original settings
+            assertThat(stmt.getFetchSize()).isEqualTo(defaultFetchSize);
+            assertThat(stmt.getMaxRows()).isZero();
+            assertThat(stmt.getQueryTimeout()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("prepareStatement() should not reuse a statement whose settings cannot be restored")
+    void prepareStatement_shouldDiscardUnrestorableStatement() throws SQLException {
+        // Given: A caller changes a setting the cache does not restore
+        PreparedStatement firstPhysical;
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+            stmt.setEscapeProcessing(false);
+            firstPhysical = stmt.unwrap(PreparedStatement.class);
+        }
+
+        // When: The same SQL is prepared again
+        try (Connection conn = pool.acquire();
+             PreparedStatement stmt = conn.prepareStatement("SELECT 1")) {
+            // Then: A new physical statement is prepared
+            assertThat(stmt.unwrap(PreparedStatement.class)).isNotSameAs(firstPhysical);
+            assertThat(firstPhysical.isClosed()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("prepareStatement() should not share a statement that is already in use")
+    void prepareStatement_shouldNotShareStatementInUse() throws SQLException {
+        // Given: A cached statement is still open
+        try (Connection conn = pool.acquire();
+             PreparedStatement outer = conn.prepareStatement("SELECT 1");
+             // When: The same SQL is prepared again before it is closed
+             PreparedStatement inner = conn.prepareStatement("SELECT 1")) {
+            // Then: A separate physical statement is handed out
+            assertThat(inner.unwrap(PreparedStatement.class))
+                .isNotSameAs(outer.unwrap(PreparedStatement.class));
+        }
+    }
+
+    @Test
+    @DisplayName("close() should record borrow time only for attributed borrows")
+    void close_shouldRecordBorrowTimePerBorrower() throws SQLException {
+        // Given: A pool publishing to a registry of its own
+        MetricsRegistry metrics = new MetricsRegistry();
+        ConnectionPool attributedPool = ConnectionPool.builder()
+            .url(mysql.getJdbcUrl())
+            .username(mysql.getUsername())
+            .password(mysql.getPassword())
+            .maxSize(1)
+            .metrics(metrics)
+            .build();
+
+        try (attributedPool) {
+            // When: One borrow is attributed twice, and one is not attributed
+            try (Connection conn = attributedPool.acquire("EmployeeDAOImpl.findById")) {
+                assertThat(conn.isValid(1)).isTrue();
+            }
+            try (Connection conn = attributedPool.acquire("EmployeeDAOImpl.findById")) {
+                assertThat(conn.isValid(1)).isTrue();
+            }
+            try (Connection conn = attributedPool.acquire(null)) {
+                assertThat(conn.isValid(1)).isTrue();
+            }
+
+            // Then
+            assertThat(metrics.histogram("db.connection.borrow.nanos.EmployeeDAOImpl.findById").getCount()).isEqualTo(2);
+            assertThat(metrics.snapshot().histograms().keySet())
+                .filteredOn(name -> name.startsWith("db.connection.borrow.nanos."))
+                .containsExactly("db.connection.borrow.nanos.EmployeeDAOImpl.findById");
+        }
+    }
+}
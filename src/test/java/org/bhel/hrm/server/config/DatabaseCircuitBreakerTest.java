@@ -0,0 +1,209 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.DataAccessResourceFailureException;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@DisplayName("DatabaseCircuitBreaker unit tests")
+class DatabaseCircuitBreakerTest {
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private MetricsRegistry metrics;
+    private AtomicBoolean databaseReachable;
+    private DatabaseCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        databaseReachable = new AtomicBoolean(false);
+
+        // Probes are run by the tests, so the scheduled probe never fires
+        breaker = new DatabaseCircuitBreaker(
+            FAILURE_THRESHOLD,
+            Duration.ofSeconds(10),
+            Duration.ofHours(1),
+            () -> {
+                if (!databaseReachable.get())
+                    throw new SQLException("Communications link failure", "08S01");
+            },
+            metrics
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        breaker.close();
+    }
+
+    private void failConnections(int count) {
+        for (int i = 0; i < count; i++)
+            breaker.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+    }
+
+    @Nested
+    @DisplayName("tripping")
+    class TripTests {
+        @Test
+        @DisplayName("should stay closed below the failure threshold")
+        void shouldStayClosedBelowThreshold() {
+            // When
+            failConnections(FAILURE_THRESHOLD - 1);
+
+            // Then
+            assertThat(breaker.isOpen()).isFalse();
+            assertThatCode(breaker::ensureAvailable).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should reject database access once the failure threshold is reached")
+        void shouldOpenAtThreshold() {
+            // When
+            failConnections(FAILURE_THRESHOLD);
+
+            // Then
+            assertThat(breaker.isOpen()).isTrue();
+            assertThatThrownBy(breaker::ensureAvailable).isInstanceOf(DatabaseCircuitBreaker.OpenCircuitException.class);
+            assertThat(metrics.counter("db.circuit.trips").get()).isEqualTo(1);
+            assertThat(metrics.counter("db.circuit.rejected").get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should count resource failures whatever their error code")
+        void shouldCountResourceFailureExceptions() {
+            // When
+            for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+                breaker.onError(
+                    "authenticateUser",
+                    ErrorCode.AUTH_INVALID_CREDENTIALS,
+                    new DataAccessResourceFailureException(ErrorCode.AUTH_INVALID_CREDENTIALS, "Access denied", null)
+                );
+            }
+
+            // Then
+            assertThat(breaker.isOpen()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should ignore errors that do not mean the database is unreachable")
+        void shouldIgnoreOtherErrors() {
+            // When
+            for (int i = 0; i < FAILURE_THRESHOLD * 2; i++)
+                breaker.onError("updateEmployeeProfile", ErrorCode.DB_DEADLOCK, null);
+
+            // Then
+            assertThat(breaker.isOpen()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should never open when disabled")
+        void shouldNeverOpenWhenDisabled() {
+            // Given
+            DatabaseCircuitBreaker disabled = DatabaseCircuitBreaker.disabled(metrics);
+
+            // When
+            for (int i = 0; i < 100; i++)
+                disabled.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+
+            // Then
+            assertThat(disabled.isOpen()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should never open without a probe interval, as it could never close again")
+        void shouldNeverOpenWithoutProbeInterval() {
+            // Given
+            DatabaseCircuitBreaker unprobed = new DatabaseCircuitBreaker(
+                FAILURE_THRESHOLD, Duration.ofSeconds(10), Duration.ZERO, () -> {}, metrics);
+
+            // When
+            for (int i = 0; i < 100; i++)
+                unprobed.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+
+            // Then
+            assertThat(unprobed.isOpen()).isFalse();
+            unprobed.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("probing")
+    class ProbeTests {
+        @Test
+        @DisplayName("should stay open while the probe fails")
+        void shouldStayOpenWhileProbeFails() {
+            // Given
+            failConnections(FAILURE_THRESHOLD);
+
+            // When
+            breaker.probe();
+
+            // Then
+            assertThat(breaker.isOpen()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should close once the probe succeeds and trip again on new failures")
+        void shouldCloseWhenProbeSucceeds() {
+            // Given
+            failConnections(FAILURE_THRESHOLD);
+            databaseReachable.set(true);
+
+            // When
+            breaker.probe();
+
+            // Then: The failures before the outage ended no longer count
+            assertThat(breaker.isOpen()).isFalse();
+            assertThatCode(breaker::ensureAvailable).doesNotThrowAnyException();
+
+            failConnections(FAILURE_THRESHOLD - 1);
+            assertThat(breaker.isOpen()).isFalse();
+
+            failConnections(1);
+            assertThat(breaker.isOpen()).isTrue();
+            assertThat(metrics.counter("db.circuit.trips").get()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("findRejection")
+    class FindRejectionTests {
+        @Test
+        @DisplayName("should report a wrapped rejection as the database being unavailable")
+        void shouldFindWrappedRejection() {
+            // Given: A rejection wrapped the way inTransaction wraps unexpected errors
+            failConnections(FAILURE_THRESHOLD);
+            Throwable rejection = catchThrowable(breaker::ensureAvailable);
+            HRMException failure = new HRMException("Unexpected error in transaction", rejection);
+
+            // When
+            ServerBusyException busy = DatabaseCircuitBreaker.findRejection(failure);
+
+            // Then
+            assertThat(busy).isNotNull();
+            assertThat(busy.getErrorCode()).isEqualTo(ErrorCode.SYSTEM_SERVICE_UNAVAILABLE);
+        }
+
+        @Test
+        @DisplayName("should find nothing behind other failures")
+        void shouldIgnoreOtherFailures() {
+            assertThat(DatabaseCircuitBreaker.findRejection(new SQLException("Communications link failure", "08S01")))
+                .isNull();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.server.config.TransactionContext.Isolation;
+import org.bhel.hrm.server.config.TransactionContext.Options;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TransactionContext unit tests")
+class TransactionContextTest {
+    private DatabaseManager owner;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        owner = mock(DatabaseManager.class);
+        connection = mock(Connection.class);
+        when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_REPEATABLE_READ);
+    }
+
+    @Nested
+    @DisplayName("options")
+    class OptionsTests {
+        @Test
+        @DisplayName("should open a read-only transaction at the requested isolation level and restore both afterwards")
+        void shouldApplyAndRestoreOptions() throws SQLException {
+            // Given
+            Options options = Options.READ_ONLY.withIsolation(Isolation.READ_COMMITTED);
+
+            // When
+            TransactionContext tx = new TransactionContext(owner, connection, options);
+            tx.commit();
+
+            // Then
+            InOrder inOrder = inOrder(connection);
+            inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            inOrder.verify(connection).setReadOnly(true);
+            inOrder.verify(connection).setAutoCommit(false);
+            inOrder.verify(connection).commit();
+            inOrder.verify(connection).setReadOnly(false);
+            inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            inOrder.verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("should leave the connection's defaults alone for a read-write transaction")
+        void shouldNotTouchDefaults() throws SQLException {
+            // When
+            new TransactionContext(owner, connection, Options.READ_WRITE).commit();
+
+            // Then
+            verify(connection, never()).setReadOnly(anyBoolean());
+            verify(connection, never()).setTransactionIsolation(anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("completion")
+    class CompletionTests {
+        @Test
+        @DisplayName("should roll back and release the connection when closed without a commit")
+        void shouldRollBackOnClose() throws SQLException {
+            // Given
+            TransactionContext tx = new TransactionContext(owner, connection, Options.READ_WRITE);
+
+            // When
+            tx.close();
+
+            // Then
+            verify(connection).rollback();
+            verify(connection).close();
+            verify(owner).transactionEnded(tx);
+            assertThat(tx.isActive()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should run after-commit actions only once the transaction has committed")
+        void shouldRunAfterCommitActions() throws SQLException {
+            // Given
+            AtomicBoolean ran = new AtomicBoolean();
+            TransactionContext committed = new TransactionContext(owner, connection, Options.READ_WRITE);
+            TransactionContext rolledBack = new TransactionContext(owner, mock(Connection.class), Options.READ_WRITE);
+            committed.afterCommit(() -> ran.set(true));
+            rolledBack.afterCommit(() -> {
+                throw new AssertionError("must not run after a rollback");
+            });
+
+            // When
+            rolledBack.rollback();
+            assertThat(ran).isFalse();
+            committed.commit();
+
+            // Then
+            assertThat(ran).isTrue();
+        }
+
+        @Test
+        @DisplayName("should run after-rollback actions when the commit itself fails")
+        void shouldRunAfterRollbackActionsWhenCommitFails() throws SQLException {
+            // Given
+            AtomicBoolean rolledBack = new AtomicBoolean();
+            TransactionContext tx = new TransactionContext(owner, connection, Options.READ_WRITE);
+            tx.afterCommit(() -> {
+                throw new AssertionError("must not run after a failed commit");
+            });
+            tx.afterRollback(() -> rolledBack.set(true));
+            doThrow(new SQLException("Lock wait timeout exceeded")).when(connection).commit();
+
+            // When
+            assertThatThrownBy(tx::commit).isInstanceOf(SQLException.class);
+
+            // Then
+            assertThat(rolledBack).isTrue();
+            verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("should reject a second commit")
+        void shouldRejectSecondCommit() throws SQLException {
+            // Given
+            TransactionContext tx = new TransactionContext(owner, connection, Options.READ_WRITE);
+            tx.commit();
+
+            // When, Then
+            assertThatThrownBy(tx::commit).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("bind")
+    class BindTests {
+        @Test
+        @DisplayName("should refuse to bind to a second thread until the first binding is closed")
+        void shouldBindToOneThreadAtATime() throws Exception {
+            // Given: The transaction is bound to this thread
+            TransactionContext tx = new TransactionContext(owner, connection, Options.READ_WRITE);
+            TransactionContext.Binding binding = tx.bind();
+
+            // When, Then: Another thread cannot bind it
+            assertThatThrownBy(() -> CompletableFuture.runAsync(tx::bind).join())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+            // When, Then: Once unbound here, the other thread can
+            binding.close();
+            CompletableFuture.runAsync(() -> tx.bind().close()).join();
+            verify(owner, times(2)).swapCurrentTransaction(tx);
+        }
+    }
+
+    @Nested
+    @DisplayName("join")
+    class JoinTests {
+        @Test
+        @DisplayName("should let nested work join when it asks for no more than the transaction provides")
+        void shouldAllowCompatibleJoins() throws SQLException {
+            // Given
+            TransactionContext readWrite = new TransactionContext(
+                owner, connection, Options.READ_WRITE.withIsolation(Isolation.READ_COMMITTED));
+
+            // When, Then
+            readWrite.ensureJoinable(Options.READ_WRITE);
+            readWrite.ensureJoinable(Options.READ_ONLY.withIsolation(Isolation.READ_COMMITTED));
+        }
+
+        @Test
+        @DisplayName("should refuse read-write work inside a read-only transaction")
+        void shouldRejectWriteInReadOnly() throws SQLException {
+            // Given
+            TransactionContext readOnly = new TransactionContext(owner, connection, Options.READ_ONLY);
+
+            // When, Then
+            assertThatThrownBy(() -> readOnly.ensureJoinable(Options.READ_WRITE))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("should refuse work that asks for a different isolation level")
+        void shouldRejectDifferentIsolation() throws SQLException {
+            // Given
+            TransactionContext tx = new TransactionContext(owner, connection, Options.READ_WRITE);
+
+            // When, Then
+            assertThatThrownBy(() -> tx.ensureJoinable(Options.READ_WRITE.withIsolation(Isolation.SERIALIZABLE)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SERIALIZABLE");
+        }
+    }
+}
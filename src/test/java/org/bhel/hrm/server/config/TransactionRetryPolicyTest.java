@@ -0,0 +1,119 @@
+package org.bhel.hrm.server.config;
+
+import org.bhel.hrm.common.error.ExceptionMappingConfig;
+import org.bhel.hrm.common.exceptions.DataAccessException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionRetryPolicy unit tests")
+class TransactionRetryPolicyTest {
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    private MetricsRegistry metrics;
+    private TransactionRetryPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        policy = newPolicy(3, Duration.ofSeconds(10));
+    }
+
+    private TransactionRetryPolicy newPolicy(int maxAttempts, Duration budget) {
+        return new TransactionRetryPolicy(
+            maxAttempts,
+            Duration.ofMillis(1),
+            Duration.ofMillis(4),
+            budget,
+            new ExceptionMappingConfig(),
+            metrics
+        );
+    }
+
+    // DAOs report database errors wrapped in an untranslated DataAccessException.
+    private static Exception daoFailure(int mysqlErrorCode) {
+        return new DataAccessException("Error executing update", new SQLException("failed", "40001", mysqlErrorCode));
+    }
+
+    @Nested
+    @DisplayName("shouldRetry")
+    class ShouldRetryTests {
+        @Test
+        @DisplayName("should retry a deadlock reported by a DAO")
+        void shouldRetryDeadlock() {
+            // When
+            boolean retry = policy.shouldRetry(daoFailure(MYSQL_DEADLOCK), 1, System.nanoTime());
+
+            // Then
+            assertThat(retry).isTrue();
+            assertThat(metrics.counter("db.transactions.retries").get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not retry an error that would fail again")
+        void shouldNotRetryPermanentError() {
+            // When
+            boolean retry = policy.shouldRetry(daoFailure(MYSQL_DUPLICATE_ENTRY), 1, System.nanoTime());
+
+            // Then
+            assertThat(retry).isFalse();
+            assertThat(metrics.counter("db.transactions.retries").get()).isZero();
+        }
+
+        @Test
+        @DisplayName("should not retry a busy server, which only adds load")
+        void shouldNotRetryServerBusy() {
+            // When
+            boolean retry = policy.shouldRetry(new ServerBusyException("password hashing"), 1, System.nanoTime());
+
+            // Then
+            assertThat(retry).isFalse();
+            assertThat(metrics.counter("db.transactions.retries").get()).isZero();
+        }
+
+        @Test
+        @DisplayName("should give up once the attempts are used")
+        void shouldGiveUpAfterMaxAttempts() {
+            // When
+            boolean retry = policy.shouldRetry(daoFailure(MYSQL_DEADLOCK), 3, System.nanoTime());
+
+            // Then
+            assertThat(retry).isFalse();
+            assertThat(metrics.counter("db.transactions.retries.exhausted").get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should give up once the time budget is spent")
+        void shouldGiveUpAfterBudget() {
+            // Given: The first attempt started longer ago than the budget allows
+            TransactionRetryPolicy tightPolicy = newPolicy(10, Duration.ofMillis(50));
+            long startedLongAgo = System.nanoTime() - Duration.ofSeconds(1).toNanos();
+
+            // When, Then
+            assertThat(tightPolicy.shouldRetry(daoFailure(MYSQL_DEADLOCK), 1, startedLongAgo)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("backoffNanos")
+    class BackoffTests {
+        @Test
+        @DisplayName("should keep every wait within the exponential ceiling and the maximum")
+        void shouldStayWithinBounds() {
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(policy.backoffNanos(1)).isBetween(0L, Duration.ofMillis(1).toNanos());
+                assertThat(policy.backoffNanos(2)).isBetween(0L, Duration.ofMillis(2).toNanos());
+                assertThat(policy.backoffNanos(30)).isBetween(0L, Duration.ofMillis(4).toNanos());
+            }
+        }
+    }
+}
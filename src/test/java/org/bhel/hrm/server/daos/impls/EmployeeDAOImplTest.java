@@ -1,6 +1,8 @@
 package org.bhel.hrm.server.daos.impls;
 
+import org.bhel.hrm.common.dtos.EmployeePageCursorDTO;
 import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.DataAccessException;
 import org.bhel.hrm.server.config.DatabaseManager;
 import org.bhel.hrm.server.config.Configuration;
 import org.bhel.hrm.server.daos.EmployeeDAO;
@@ -14,8 +16,11 @@ import org.testcontainers.mysql.MySQLContainer;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -128,6 +133,48 @@ class EmployeeDAOImplTest {
             });
         }
 
+        @Test
+        @DisplayName("saveAll() should insert new employees and update existing ones")
+        void saveAll_shouldInsertNewAndUpdateExistingEmployees() {
+            // Given: One existing employee and one new employee
+            User existingUser = createAndSaveTestUser("batch_existing");
+            User newUser = createAndSaveTestUser("batch_new");
+            Employee existing = createAndSaveTestEmployee(existingUser, "Old", "Name", "B1");
+            Employee added = new Employee(0, newUser.getId(), "New", "Hire", "B2");
+
+            // When: Both are saved in one call after changing the existing one
+            existing.setFirstName("Renamed");
+            employeeDAO.saveAll(List.of(existing, added));
+
+            // Then: The new employee got an ID, and both rows hold the saved data
+            assertThat(added.getId()).isGreaterThan(0);
+            assertThat(employeeDAO.findById(existing.getId()))
+                .hasValueSatisfying(e -> assertThat(e.getFirstName()).isEqualTo("Renamed"));
+            assertThat(employeeDAO.findById(added.getId()))
+                .hasValueSatisfying(e -> assertThat(e.getLastName()).isEqualTo("Hire"));
+        }
+
+        @Test
+        @DisplayName("saveAll() should write nothing and assign no IDs if any row fails")
+        void saveAll_shouldRollBackEverything_whenAnUpdateFails() {
+            // Given: Two existing employees and one new employee
+            User firstUser = createAndSaveTestUser("batch_first");
+            User secondUser = createAndSaveTestUser("batch_second");
+            User newUser = createAndSaveTestUser("batch_added");
+            Employee first = createAndSaveTestEmployee(firstUser, "First", "Person", "B1");
+            createAndSaveTestEmployee(secondUser, "Second", "Person", "B2");
+            Employee added = new Employee(0, newUser.getId(), "Added", "Person", "B3");
+
+            // When: The update of the first employee violates the unique IC/passport number
+            first.setIcPassport("B2");
+            assertThatThrownBy(() -> employeeDAO.saveAll(List.of(first, added)))
+                .isInstanceOf(DataAccessException.class);
+
+            // Then: The insert that ran before the failing update was rolled back too
+            assertThat(employeeDAO.count()).isEqualTo(2);
+            assertThat(added.getId()).isZero();
+        }
+
         @Test
         @DisplayName("deleteById() should permanently remove an employee")
         void deleteById_shouldRemoveEmployee() {
@@ -171,6 +218,58 @@ class EmployeeDAOImplTest {
                 );
         }
 
+        @Test
+        @DisplayName("streamAll() should walk all employees in the same order as findAll()")
+        void streamAll_shouldStreamAllEmployeesInOrder() {
+            // Given: Multiple employees are saved
+            User user1 = createAndSaveTestUser("stream_b");
+            User user2 = createAndSaveTestUser("stream_a");
+            createAndSaveTestEmployee(user1, "Bob", "Stream", "S1");
+            createAndSaveTestEmployee(user2, "Alice", "Stream", "S2");
+
+            // When: We stream all employees
+            List<Employee> streamed;
+            try (Stream<Employee> employees = employeeDAO.streamAll()) {
+                streamed = employees.toList();
+            }
+
+            // Then: The streamed rows match findAll(), and the connection was released for further queries
+            assertThat(streamed)
+                .extracting(Employee::getFirstName)
+                .containsExactly("Alice", "Bob");
+            assertThat(employeeDAO.count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("findPageAfter() should return consecutive pages in listing order")
+        void findPageAfter_shouldReturnConsecutivePages() {
+            // Given: Three employees, two of whom share a last name
+            User user1 = createAndSaveTestUser("page_c");
+            User user2 = createAndSaveTestUser("page_a");
+            User user3 = createAndSaveTestUser("page_b");
+            createAndSaveTestEmployee(user1, "Charlie", "Smith", "P1");
+            createAndSaveTestEmployee(user2, "Alice", "Williams", "P2");
+            Employee bob = createAndSaveTestEmployee(user3, "Bob", "Smith", "P3");
+
+            // When: The first page of two is fetched, followed by the page after its last row
+            List<Employee> firstPage = employeeDAO.findPageAfter(null, 2);
+            Employee lastOnFirstPage = firstPage.getLast();
+            List<Employee> secondPage = employeeDAO.findPageAfter(
+                new EmployeePageCursorDTO(
+                    lastOnFirstPage.getLastName(), lastOnFirstPage.getFirstName(), lastOnFirstPage.getId()),
+                2
+            );
+
+            // Then: The pages continue each other without gaps or overlap
+            assertThat(firstPage)
+                .extracting(Employee::getFirstName)
+                .containsExactly("Bob", "Charlie");
+            assertThat(firstPage.getFirst().getId()).isEqualTo(bob.getId());
+            assertThat(secondPage)
+                .extracting(Employee::getFirstName)
+                .containsExactly("Alice");
+        }
+
         @Test
         @DisplayName("count() should return the total number of employees")
         void count_shouldReturnTotalNumberOfEmployees() {
@@ -186,6 +285,25 @@ class EmployeeDAOImplTest {
             // Then: The count should be correct
             assertThat(employeeCount).isEqualTo(2);
         }
+
+        @Test
+        @DisplayName("findExistingIcPassports() and findExistingNames() should find only stored values across padded lookups")
+        void findExisting_shouldMatchOnlyStoredValues() {
+            // Given: Two stored employees
+            User user1 = createAndSaveTestUser("employee1");
+            User user2 = createAndSaveTestUser("employee2");
+            createAndSaveTestEmployee(user1, "E1", "L1", "IC1");
+            createAndSaveTestEmployee(user2, "E2", "L2", "IC2");
+
+            // When: Lookups are made with lists that are padded to a longer IN list
+            Set<String> icPassports = employeeDAO.findExistingIcPassports(List.of("IC1", "IC2", "IC3"));
+            Set<EmployeeDAO.Name> names = employeeDAO.findExistingNames(
+                List.of(new EmployeeDAO.Name("E1", "L1"), new EmployeeDAO.Name("E1", "L2")));
+
+            // Then: Only the stored values are reported
+            assertThat(icPassports).containsExactlyInAnyOrder("IC1", "IC2");
+            assertThat(names).containsExactly(new EmployeeDAO.Name("E1", "L1"));
+        }
     }
 
     // Helper methods
@@ -62,6 +62,27 @@ class UserDAOImplTest {
             assertThat(newUser.getId()).isGreaterThan(0);
         }
 
+        @Test
+        @DisplayName("saveAll() should insert new users in one batch and set each generated ID")
+        void saveAll_shouldInsertNewUsersAndSetIds() {
+            // Given: Several new users without IDs
+            List<User> newUsers = List.of(
+                new User(0, "batch_a", "hash_a", UserDTO.Role.EMPLOYEE),
+                new User(0, "batch_b", "hash_b", UserDTO.Role.HR_STAFF),
+                new User(0, "batch_c", "hash_c", UserDTO.Role.EMPLOYEE)
+            );
+
+            // When: The users are saved as a batch
+            userDAO.saveAll(newUsers);
+
+            // Then: Each user has its own generated ID that finds the matching row
+            assertThat(newUsers).extracting(User::getId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+            for (User user : newUsers) {
+                assertThat(userDAO.findById(user.getId()))
+                    .hasValueSatisfying(found -> assertThat(found.getUsername()).isEqualTo(user.getUsername()));
+            }
+        }
+
         @Test
         @DisplayName("findById() should return the correct user when they exist")
         void findById_shouldReturnCorrectUser_whenUserExists() {
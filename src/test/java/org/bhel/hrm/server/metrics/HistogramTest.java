@@ -0,0 +1,64 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.dtos.HistogramSnapshotDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Histogram unit tests")
+class HistogramTest {
+
+    @Nested
+    @DisplayName("bucketing")
+    class BucketingTests {
+        @Test
+        @DisplayName("should place every value inside the bounds of its bucket")
+        void shouldPlaceValuesInsideTheirBucket() {
+            // Given: A spread of values across many orders of magnitude
+            long[] values = { 0, 1, 15, 16, 17, 31, 32, 33, 1_000, 123_456, 9_876_543_210L, Long.MAX_VALUE };
+
+            for (long value : values) {
+                // When: The bucket for the value is computed
+                int index = Histogram.bucketIndex(value);
+
+                // Then: The value does not exceed the bucket's upper bound, and is above the previous one
+                assertThat(Histogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+                if (index > 0)
+                    assertThat(Histogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshot")
+    class SnapshotTests {
+        @Test
+        @DisplayName("should report an empty snapshot when nothing was recorded")
+        void shouldReportEmptySnapshot() {
+            // Given, When, Then
+            assertThat(new Histogram().snapshot().count()).isZero();
+        }
+
+        @Test
+        @DisplayName("should report percentiles within the histogram's precision")
+        void shouldReportPercentiles() {
+            // Given: The values 1..10,000 are recorded
+            Histogram histogram = new Histogram();
+            for (int i = 1; i <= 10_000; i++)
+                histogram.record(i);
+
+            // When: A snapshot is taken
+            HistogramSnapshotDTO snapshot = histogram.snapshot();
+
+            // Then: Count, mean, max and percentiles reflect the recorded values
+            assertThat(snapshot.count()).isEqualTo(10_000);
+            assertThat(snapshot.mean()).isCloseTo(5_000.5, within(0.01));
+            assertThat(snapshot.max()).isEqualTo(10_000);
+            assertThat(snapshot.p50()).isBetween(5_000L, 5_400L);
+            assertThat(snapshot.p99()).isBetween(9_900L, 10_000L);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.bhel.hrm.server.metrics;
+
+import org.bhel.hrm.common.dtos.ServerMetricsDTO;
+import org.bhel.hrm.common.error.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RpcMetrics unit tests")
+class RpcMetricsTest {
+    private MetricsRegistry metrics;
+    private RpcMetrics rpc;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        rpc = new RpcMetrics(metrics);
+    }
+
+    @Test
+    @DisplayName("should count outcomes per operation")
+    void shouldCountOutcomes() {
+        // Given, When: One success, one business error and two system errors
+        rpc.succeeded("getEmployeeById", rpc.begin());
+        rpc.failed("getEmployeeById", rpc.begin(), ErrorCode.EMPLOYEE_NOT_FOUND);
+        rpc.failed("getEmployeeById", rpc.begin(), ErrorCode.DB_CONNECTION_FAILED);
+        rpc.failed("getEmployeeById", rpc.begin(), ErrorCode.SYSTEM_BUSY);
+
+        // Then
+        ServerMetricsDTO snapshot = metrics.snapshot();
+        assertThat(snapshot.counters())
+            .containsEntry("rpc.getEmployeeById.succeeded", 1L)
+            .containsEntry("rpc.getEmployeeById.failed.business", 1L)
+            .containsEntry("rpc.getEmployeeById.failed.system", 2L);
+        assertThat(snapshot.histograms().get("rpc.getEmployeeById.total.nanos").count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should attribute database time recorded on the calling thread")
+    void shouldRecordDbTime() {
+        // Given: A call during which connections were held for 5ms
+        long start = rpc.begin();
+        DbTime.add(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // When
+        rpc.succeeded("getAllEmployees", start);
+
+        // Then
+        long dbNanos = metrics.snapshot().histograms().get("rpc.getAllEmployees.db.nanos").max();
+        assertThat(dbNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    @DisplayName("should not carry database time over from a previous call")
+    void shouldResetDbTimeBetweenCalls() {
+        // Given: A call that used the database
+        long first = rpc.begin();
+        DbTime.add(1_000_000);
+        rpc.succeeded("getAllEmployees", first);
+
+        // When: A call that did not
+        rpc.succeeded("getEmployeePage", rpc.begin());
+
+        // Then
+        assertThat(metrics.snapshot().histograms().get("rpc.getEmployeePage.db.nanos").max()).isZero();
+    }
+}
@@ -0,0 +1,180 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.bhel.hrm.server.services.AdmissionController.OperationClass;
+import org.bhel.hrm.server.services.AdmissionController.Permit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdmissionController unit tests")
+class AdmissionControllerTest {
+    private static final Map<OperationClass, Integer> LIMITS = Map.of(
+        OperationClass.AUTH, 1,
+        OperationClass.READ, 2,
+        OperationClass.WRITE, 1
+    );
+
+    private MetricsRegistry metrics;
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        controller = new AdmissionController(LIMITS, Duration.ZERO, metrics);
+    }
+
+    @Nested
+    @DisplayName("admit")
+    class AdmitTests {
+        @Test
+        @DisplayName("should admit calls up to the class's limit")
+        void shouldAdmitUpToLimit() throws ServerBusyException {
+            // Given, When: As many reads as the limit allows
+            Permit first = controller.admit(OperationClass.READ, "getAllEmployees");
+            Permit second = controller.admit(OperationClass.READ, "getEmployeeById");
+
+            // Then
+            assertThat(controller.inFlight(OperationClass.READ)).isEqualTo(2);
+
+            first.close();
+            second.close();
+            assertThat(controller.inFlight(OperationClass.READ)).isZero();
+        }
+
+        @Test
+        @DisplayName("should reject a call beyond the limit as busy and retryable")
+        void shouldRejectBeyondLimit() throws ServerBusyException {
+            // Given: The only write permit is held
+            try (Permit held = controller.admit(OperationClass.WRITE, "updateEmployeeProfile")) {
+                assertThat(held).isNotNull();
+
+                // When, Then
+                assertThatThrownBy(() -> controller.admit(OperationClass.WRITE, "registerNewEmployee"))
+                    .isInstanceOf(ServerBusyException.class)
+                    .satisfies(e -> assertThat(((ServerBusyException) e).getErrorCode()).isEqualTo(ErrorCode.SYSTEM_BUSY));
+            }
+
+            assertThat(metrics.snapshot().counters()).containsEntry("rpc.admission.write.rejected", 1L);
+        }
+
+        @Test
+        @DisplayName("should limit each class independently")
+        void shouldLimitClassesIndependently() throws ServerBusyException {
+            // Given: Authentication is at capacity
+            try (Permit auth = controller.admit(OperationClass.AUTH, "authenticateUser")) {
+                assertThat(auth).isNotNull();
+
+                // When, Then: Reads and writes are still admitted
+                try (Permit read = controller.admit(OperationClass.READ, "getAllEmployees");
+                     Permit write = controller.admit(OperationClass.WRITE, "updateEmployeeProfile")) {
+                    assertThat(read).isNotNull();
+                    assertThat(write).isNotNull();
+                    assertThat(controller.inFlight(OperationClass.READ)).isEqualTo(1);
+                    assertThat(controller.inFlight(OperationClass.WRITE)).isEqualTo(1);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should admit a waiting call once a permit is released")
+        void shouldAdmitWaitingCall() throws Exception {
+            // Given: A controller that waits for capacity and a held write permit
+            AdmissionController waiting = new AdmissionController(LIMITS, Duration.ofSeconds(5), metrics);
+            Permit held = waiting.admit(OperationClass.WRITE, "updateEmployeeProfile");
+
+            CompletableFuture<Permit> queued = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return waiting.admit(OperationClass.WRITE, "registerNewEmployee");
+                } catch (ServerBusyException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // When: The held permit is released
+            held.close();
+
+            // Then: The queued call is admitted instead of rejected
+            try (Permit admitted = queued.get(5, TimeUnit.SECONDS)) {
+                assertThat(admitted).isNotNull();
+                assertThat(waiting.inFlight(OperationClass.WRITE)).isEqualTo(1);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("run")
+    class RunTests {
+        @Test
+        @DisplayName("should hold a permit while the call runs and release it afterwards")
+        void shouldHoldPermitDuringCall() throws Exception {
+            // When
+            int inFlightDuringCall = controller.run(OperationClass.READ, "getAllEmployees",
+                () -> controller.inFlight(OperationClass.READ));
+
+            // Then
+            assertThat(inFlightDuringCall).isEqualTo(1);
+            assertThat(controller.inFlight(OperationClass.READ)).isZero();
+        }
+
+        @Test
+        @DisplayName("should release the permit when the call fails")
+        void shouldReleasePermitOnFailure() {
+            // When
+            assertThatThrownBy(() -> controller.run(OperationClass.WRITE, "updateEmployeeProfile", () -> {
+                throw new IllegalStateException("update failed");
+            })).hasMessage("update failed");
+
+            // Then
+            assertThat(controller.inFlight(OperationClass.WRITE)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Permit")
+    class PermitTests {
+        @Test
+        @DisplayName("should release its capacity only once when closed twice")
+        void shouldReleaseOnce() throws ServerBusyException {
+            // Given
+            Permit permit = controller.admit(OperationClass.WRITE, "updateEmployeeProfile");
+
+            // When
+            permit.close();
+            permit.close();
+
+            // Then: The limit of one is still enforced
+            try (Permit readmitted = controller.admit(OperationClass.WRITE, "updateEmployeeProfile")) {
+                assertThat(readmitted).isNotNull();
+                assertThatThrownBy(() -> controller.admit(OperationClass.WRITE, "updateEmployeeProfile"))
+                    .isInstanceOf(ServerBusyException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("should publish in-flight gauges per class and per operation")
+        void shouldPublishInFlightGauges() throws ServerBusyException {
+            // Given, When
+            try (Permit read = controller.admit(OperationClass.READ, "getAllEmployees")) {
+                // Then
+                assertThat(read).isNotNull();
+                assertThat(metrics.snapshot().gauges())
+                    .containsEntry("rpc.inflight.read", 1L)
+                    .containsEntry("rpc.inflight.method.getAllEmployees", 1L);
+            }
+
+            assertThat(metrics.snapshot().gauges()).containsEntry("rpc.inflight.method.getAllEmployees", 0L);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingExecutor unit tests")
+class PasswordHashingExecutorTest {
+    private MetricsRegistry metrics;
+    private CountDownLatch release;
+    private AtomicInteger running;
+    private AtomicInteger maxRunning;
+    private ExecutorService callers;
+    private PasswordHashingExecutor hasher;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        release = new CountDownLatch(1);
+        running = new AtomicInteger();
+        maxRunning = new AtomicInteger();
+        callers = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hasher != null)
+            hasher.close();
+    }
+
+    /**
+     * Creates an executor whose hashes block until {@code release} is counted down,
+     * recording how many of them run at once.
+     */
+    private PasswordHashingExecutor newHasher(int maxConcurrency, int queueCapacity) {
+        hasher = new PasswordHashingExecutor(
+            maxConcurrency,
+            queueCapacity,
+            metrics,
+            password -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                    return "hash:" + password;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+            },
+            (password, storedHash) -> storedHash.equals("hash:" + password)
+        );
+        return hasher;
+    }
+
+    private Future<String> hashInBackground(String password) {
+        return callers.submit(() -> hasher.hashPassword(password));
+    }
+
+    private void awaitGauge(String name, long value) {
+        while (metrics.snapshot().gauges().get(name) < value)
+            Thread.onSpinWait();
+    }
+
+    @Nested
+    @DisplayName("concurrency")
+    class ConcurrencyTests {
+        @Test
+        @DisplayName("should hash at most maxConcurrency passwords at once and queue the rest")
+        void shouldCapConcurrentHashes() throws Exception {
+            // Given
+            newHasher(2, 10);
+
+            // When: More passwords are submitted than may be hashed at once
+            List<Future<String>> calls = new ArrayList<>();
+            for (int i = 0; i < 5; i++)
+                calls.add(hashInBackground("password-" + i));
+            awaitGauge("security.password.queued", 3);
+
+            // Then
+            assertThat(running).hasValue(2);
+            assertThat(metrics.snapshot().gauges()).containsEntry("security.password.active", 2L);
+
+            release.countDown();
+            for (int i = 0; i < calls.size(); i++)
+                assertThat(calls.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("hash:password-" + i);
+            assertThat(maxRunning).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should return bulk hashes in input order")
+        void shouldHashManyInOrder() throws Exception {
+            // Given
+            newHasher(2, 2);
+            release.countDown();
+
+            // When
+            List<String> hashes = hasher.hashPasswords(List.of("a", "b", "c", "d", "e"));
+
+            // Then
+            assertThat(hashes).containsExactly("hash:a", "hash:b", "hash:c", "hash:d", "hash:e");
+            assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("rejection")
+    class RejectionTests {
+        @Test
+        @DisplayName("should reject a request as busy once the queue is full")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            // Given: One hash running and one waiting in a queue of one
+            newHasher(1, 1);
+            Future<String> runningCall = hashInBackground("first");
+            Future<String> queuedCall = hashInBackground("second");
+            awaitGauge("security.password.queued", 1);
+
+            // When, Then
+            assertThatThrownBy(() -> hasher.hashPassword("third"))
+                .isInstanceOf(ServerBusyException.class)
+                .extracting(e -> ((ServerBusyException) e).getErrorCode())
+                .isEqualTo(ErrorCode.SYSTEM_BUSY);
+            assertThat(metrics.counter("security.password.rejected").get()).isEqualTo(1);
+
+            // Then: The requests that were accepted still complete
+            release.countDown();
+            assertThat(runningCall.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+            assertThat(queuedCall.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        }
+    }
+
+    @Nested
+    @DisplayName("metrics")
+    class MetricsTests {
+        @Test
+        @DisplayName("should record queue, hash and verify times separately")
+        void shouldRecordTimes() throws Exception {
+            // Given
+            newHasher(1, 1);
+            release.countDown();
+
+            // When
+            String hash = hasher.hashPassword("secret");
+            boolean matches = hasher.checkPassword("secret", hash);
+
+            // Then
+            assertThat(matches).isTrue();
+            assertThat(metrics.histogram("security.password.hash.nanos").getCount()).isEqualTo(1);
+            assertThat(metrics.histogram("security.password.verify.nanos").getCount()).isEqualTo(1);
+            assertThat(metrics.histogram("security.password.queue.nanos").getCount()).isEqualTo(2);
+            assertThat(metrics.counter("security.password.rejected").get()).isZero();
+        }
+    }
+}
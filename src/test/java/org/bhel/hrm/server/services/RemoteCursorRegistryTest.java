@@ -0,0 +1,161 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.common.services.RemoteIterator;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.NoSuchObjectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RemoteCursorRegistry unit tests")
+class RemoteCursorRegistryTest {
+    private RemoteCursorRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null)
+            registry.close();
+    }
+
+    private RemoteCursorRegistry newRegistry(int maxOpen, Duration idleTimeout) {
+        registry = new RemoteCursorRegistry(null, null, maxOpen, idleTimeout, new MetricsRegistry());
+        return registry;
+    }
+
+    @Nested
+    @DisplayName("next")
+    class NextTests {
+        @Test
+        @DisplayName("should return the stream in order, in chunks no larger than the maximum")
+        void shouldReturnChunksInOrder() throws Exception {
+            // Given: A cursor over more rows than fit in one chunk
+            RemoteIterator<Integer> cursor = newRegistry(1, Duration.ofMinutes(1))
+                .open(() -> IntStream.range(0, 1_200).boxed());
+
+            // When
+            List<Integer> first = cursor.next(10_000);
+            List<Integer> second = cursor.next(10_000);
+            List<Integer> third = cursor.next(10_000);
+
+            // Then
+            assertThat(first).hasSize(RemoteCursorRegistry.MAX_CHUNK_SIZE).startsWith(0, 1, 2);
+            assertThat(second).hasSize(RemoteCursorRegistry.MAX_CHUNK_SIZE).startsWith(500);
+            assertThat(third).hasSize(200).endsWith(1_199);
+        }
+
+        @Test
+        @DisplayName("should close the stream and free its slot once the last element is read")
+        void shouldCloseStreamWhenExhausted() throws Exception {
+            // Given
+            AtomicBoolean streamClosed = new AtomicBoolean();
+            newRegistry(1, Duration.ofMinutes(1));
+            RemoteIterator<Integer> cursor = registry.open(() -> Stream.of(1, 2, 3).onClose(() -> streamClosed.set(true)));
+
+            // When
+            assertThat(cursor.next(10)).containsExactly(1, 2, 3);
+
+            // Then: The stream is closed and another cursor can be opened
+            assertThat(streamClosed).isTrue();
+            assertThat(registry.open(() -> Stream.of(4)).next(10)).containsExactly(4);
+        }
+
+        @Test
+        @DisplayName("should return an empty chunk after the last element and then close the cursor")
+        void shouldReturnEmptyChunkWhenExhausted() throws Exception {
+            // Given: A cursor whose elements have all been read
+            newRegistry(1, Duration.ofMinutes(1));
+            RemoteIterator<Integer> cursor = registry.open(() -> Stream.of(1, 2, 3));
+            cursor.next(10);
+
+            // When
+            List<Integer> end = cursor.next(10);
+
+            // Then
+            assertThat(end).isEmpty();
+            assertThat(registry.size()).isZero();
+            assertThatThrownBy(() -> cursor.next(10)).isInstanceOf(NoSuchObjectException.class);
+        }
+
+        @Test
+        @DisplayName("should allow an exhausted cursor to be closed")
+        void shouldCloseExhaustedCursor() throws Exception {
+            // Given
+            newRegistry(1, Duration.ofMinutes(1));
+            RemoteIterator<Integer> cursor = registry.open(() -> Stream.of(1, 2, 3));
+            cursor.next(10);
+
+            // When
+            cursor.close();
+
+            // Then
+            assertThat(registry.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("open")
+    class OpenTests {
+        @Test
+        @DisplayName("should reject a cursor beyond the limit without opening its stream")
+        void shouldRejectBeyondLimit() throws Exception {
+            // Given: The only slot is taken
+            newRegistry(1, Duration.ofMinutes(1));
+            registry.open(() -> Stream.of(1, 2, 3));
+            AtomicBoolean opened = new AtomicBoolean();
+
+            // When, Then
+            assertThatThrownBy(() -> registry.open(() -> {
+                opened.set(true);
+                return Stream.of(4);
+            })).isInstanceOf(ServerBusyException.class);
+            assertThat(opened).isFalse();
+        }
+
+        @Test
+        @DisplayName("should free the slot when a cursor is closed early")
+        void shouldFreeSlotOnClose() throws Exception {
+            // Given
+            newRegistry(1, Duration.ofMinutes(1));
+            RemoteIterator<Integer> cursor = registry.open(() -> Stream.of(1, 2, 3));
+
+            // When
+            cursor.close();
+
+            // Then: Another cursor can be opened
+            assertThat(registry.open(() -> Stream.of(4)).next(10)).containsExactly(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("sweep")
+    class SweepTests {
+        @Test
+        @DisplayName("should close cursors that have gone unread past the idle timeout")
+        void shouldExpireIdleCursors() throws Exception {
+            // Given: Cursors expire as soon as they are idle at all
+            AtomicBoolean streamClosed = new AtomicBoolean();
+            newRegistry(2, Duration.ZERO);
+            RemoteIterator<Integer> cursor = registry.open(() -> Stream.of(1, 2, 3).onClose(() -> streamClosed.set(true)));
+            Thread.sleep(5);
+
+            // When
+            int removed = registry.sweep();
+
+            // Then
+            assertThat(removed).isEqualTo(1);
+            assertThat(streamClosed).isTrue();
+            assertThatThrownBy(() -> cursor.next(10)).isInstanceOf(NoSuchObjectException.class);
+        }
+    }
+}
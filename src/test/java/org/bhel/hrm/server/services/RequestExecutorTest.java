@@ -0,0 +1,111 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.error.ErrorCode;
+import org.bhel.hrm.common.exceptions.HRMException;
+import org.bhel.hrm.common.exceptions.ResourceNotFoundException;
+import org.bhel.hrm.common.exceptions.ServerBusyException;
+import org.bhel.hrm.server.config.DatabaseCircuitBreaker;
+import org.bhel.hrm.server.services.RequestExecutor.Mode;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RequestExecutor unit tests")
+class RequestExecutorTest {
+    private RequestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null)
+            executor.close();
+    }
+
+    private RequestExecutor newExecutor(Mode mode) {
+        executor = new RequestExecutor(mode, new MetricsRegistry());
+        return executor;
+    }
+
+    @Nested
+    @DisplayName("platform mode")
+    class PlatformModeTests {
+        @Test
+        @DisplayName("should run the body on the calling thread")
+        void shouldRunOnCallingThread() throws Exception {
+            // Given
+            Thread caller = Thread.currentThread();
+
+            // When
+            Thread bodyThread = newExecutor(Mode.PLATFORM).execute(Thread::currentThread);
+
+            // Then
+            assertThat(bodyThread).isSameAs(caller);
+        }
+    }
+
+    @Nested
+    @DisplayName("virtual mode")
+    class VirtualModeTests {
+        @Test
+        @DisplayName("should run the body on a virtual thread and return its result")
+        void shouldRunOnVirtualThread() throws Exception {
+            // When
+            Thread bodyThread = newExecutor(Mode.VIRTUAL).execute(Thread::currentThread);
+
+            // Then
+            assertThat(bodyThread.isVirtual()).isTrue();
+            assertThat(bodyThread.getName()).startsWith("hrm-rpc-vt-");
+        }
+
+        @Test
+        @DisplayName("should rethrow the body's own exception")
+        void shouldRethrowBodyException() {
+            // Given
+            ResourceNotFoundException notFound = new ResourceNotFoundException(ErrorCode.EMPLOYEE_NOT_FOUND, "Employee", 1);
+            newExecutor(Mode.VIRTUAL);
+
+            // When, Then
+            assertThatThrownBy(() -> executor.execute(() -> {
+                throw notFound;
+            })).isSameAs(notFound);
+        }
+    }
+
+    @Nested
+    @DisplayName("circuit breaker")
+    class CircuitBreakerTests {
+        @Test
+        @DisplayName("should report a body refused by the open circuit breaker as busy")
+        void shouldReportRejectionAsBusy() {
+            // Given: The breaker has opened, and the body's transaction wraps its rejection
+            MetricsRegistry metrics = new MetricsRegistry();
+            DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(
+                1, Duration.ofSeconds(10), Duration.ofHours(1), () -> {}, metrics);
+            breaker.onError("getAllEmployees", ErrorCode.DB_CONNECTION_FAILED, null);
+            newExecutor(Mode.PLATFORM);
+
+            // When, Then
+            try {
+                assertThatThrownBy(() -> executor.execute(() -> {
+                    try {
+                        breaker.ensureAvailable();
+                        return null;
+                    } catch (RuntimeException e) {
+                        throw new HRMException("Unexpected error in transaction", e);
+                    }
+                }))
+                    .isInstanceOf(ServerBusyException.class)
+                    .extracting(e -> ((ServerBusyException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.SYSTEM_SERVICE_UNAVAILABLE);
+            } finally {
+                breaker.close();
+            }
+        }
+    }
+}
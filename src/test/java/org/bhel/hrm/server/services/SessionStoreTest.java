@@ -0,0 +1,144 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.dtos.SessionDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.InvalidSessionException;
+import org.bhel.hrm.server.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SessionStore unit tests")
+class SessionStoreTest {
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final UserDTO USER = new UserDTO(1, "jdoe", UserDTO.Role.EMPLOYEE);
+
+    private AtomicLong clock;
+    private SessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        store = new SessionStore(IDLE_TIMEOUT, new MetricsRegistry(), clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Nested
+    @DisplayName("validate")
+    class ValidateTests {
+        @Test
+        @DisplayName("should return the session's user for a token it issued")
+        void shouldAcceptIssuedToken() throws InvalidSessionException {
+            // Given: A session issued for a user
+            SessionDTO session = store.create(USER);
+
+            // When, Then: Its token is accepted
+            assertThat(store.validate(session.token())).isEqualTo(USER);
+        }
+
+        @Test
+        @DisplayName("should reject unknown and null tokens")
+        void shouldRejectUnknownTokens() {
+            // Given, When, Then
+            assertThatThrownBy(() -> store.validate("not-a-token"))
+                .isInstanceOf(InvalidSessionException.class);
+            assertThatThrownBy(() -> store.validate(null))
+                .isInstanceOf(InvalidSessionException.class);
+        }
+
+        @Test
+        @DisplayName("should slide the expiry forward on every accepted call")
+        void shouldSlideExpiry() throws InvalidSessionException {
+            // Given: A session that is used every 20 minutes
+            SessionDTO session = store.create(USER);
+
+            for (int i = 0; i < 5; i++) {
+                advance(Duration.ofMinutes(20));
+
+                // When, Then: It stays valid, although it is older than the idle timeout
+                assertThat(store.validate(session.token())).isEqualTo(USER);
+            }
+        }
+
+        @Test
+        @DisplayName("should reject and remove a session that has been idle too long")
+        void shouldRejectIdleSession() {
+            // Given: A session that has not been used for longer than the idle timeout
+            SessionDTO session = store.create(USER);
+            advance(IDLE_TIMEOUT.plusSeconds(1));
+
+            // When, Then: It is rejected and forgotten
+            assertThatThrownBy(() -> store.validate(session.token()))
+                .isInstanceOf(InvalidSessionException.class);
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("should reject a session after it has been invalidated")
+        void shouldRejectInvalidatedSession() {
+            // Given: A session that has been logged out
+            SessionDTO session = store.create(USER);
+            store.invalidate(session.token());
+
+            // When, Then
+            assertThatThrownBy(() -> store.validate(session.token()))
+                .isInstanceOf(InvalidSessionException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("create")
+    class CreateTests {
+        @Test
+        @DisplayName("should issue a distinct, URL-safe token per session")
+        void shouldIssueDistinctTokens() {
+            // Given, When: Two sessions are issued for the same user
+            SessionDTO first = store.create(USER);
+            SessionDTO second = store.create(USER);
+
+            // Then: Their tokens differ and contain no characters needing escaping
+            assertThat(first.token()).isNotEqualTo(second.token());
+            assertThat(first.token()).matches("[A-Za-z0-9_-]{43}");
+        }
+    }
+
+    @Nested
+    @DisplayName("sweep")
+    class SweepTests {
+        @Test
+        @DisplayName("should remove only the sessions that have expired")
+        void shouldRemoveExpiredSessions() throws InvalidSessionException {
+            // Given: One session left idle and one kept alive
+            store.create(USER);
+            SessionDTO active = store.create(USER);
+
+            advance(Duration.ofMinutes(20));
+            store.validate(active.token());
+            advance(Duration.ofMinutes(15));
+
+            // When: Expired sessions are swept
+            int removed = store.sweep();
+
+            // Then: Only the idle one is gone
+            assertThat(removed).isEqualTo(1);
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.validate(active.token())).isEqualTo(USER);
+        }
+    }
+}
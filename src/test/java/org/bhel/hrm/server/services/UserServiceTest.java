@@ -0,0 +1,215 @@
+package org.bhel.hrm.server.services;
+
+import org.bhel.hrm.common.dtos.EmployeeRegistrationResultDTO;
+import org.bhel.hrm.common.dtos.EmployeeRegistrationResultDTO.Status;
+import org.bhel.hrm.common.dtos.NewEmployeeRegistrationDTO;
+import org.bhel.hrm.common.dtos.UserDTO;
+import org.bhel.hrm.common.exceptions.InvalidInputException;
+import org.bhel.hrm.server.config.DatabaseManager;
+import org.bhel.hrm.server.config.DatabaseManager.TransactionalTask;
+import org.bhel.hrm.server.daos.EmployeeDAO;
+import org.bhel.hrm.server.daos.EmployeeDAO.Name;
+import org.bhel.hrm.server.daos.UserDAO;
+import org.bhel.hrm.server.domain.Employee;
+import org.bhel.hrm.server.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UserService unit tests")
+class UserServiceTest {
+    private UserDAO userDAO;
+    private EmployeeDAO employeeDAO;
+    private PasswordHashingExecutor passwordHasher;
+    private UserService userService;
+
+    private final List<String> hashedPasswords = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DatabaseManager dbManager = mock(DatabaseManager.class);
+        userDAO = mock(UserDAO.class);
+        employeeDAO = mock(EmployeeDAO.class);
+        passwordHasher = mock(PasswordHashingExecutor.class);
+        userService = new UserService(dbManager, userDAO, employeeDAO, passwordHasher, mock(SessionStore.class));
+
+        doAnswer(invocation -> {
+            invocation.<TransactionalTask>getArgument(0).execute();
+            return null;
+        }).when(dbManager).executeInTransaction(any());
+
+        when(passwordHasher.hashPasswords(anyList())).thenAnswer(invocation -> {
+            List<String> passwords = invocation.getArgument(0);
+            hashedPasswords.addAll(passwords);
+            return passwords.stream().map(password -> "hash:" + password).toList();
+        });
+
+        when(userDAO.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(employeeDAO.findExistingIcPassports(anyCollection())).thenReturn(Set.of());
+        when(employeeDAO.findExistingNames(anyCollection())).thenReturn(Set.of());
+
+        // Assigns IDs the way the DAOs do once their batches have committed
+        AtomicInteger nextUserId = new AtomicInteger(100);
+        doAnswer(invocation -> {
+            invocation.<Collection<User>>getArgument(0).forEach(user -> user.setId(nextUserId.getAndIncrement()));
+            return null;
+        }).when(userDAO).saveAll(anyCollection());
+
+        AtomicInteger nextEmployeeId = new AtomicInteger(200);
+        doAnswer(invocation -> {
+            invocation.<Collection<Employee>>getArgument(0).forEach(employee -> employee.setId(nextEmployeeId.getAndIncrement()));
+            return null;
+        }).when(employeeDAO).saveAll(anyCollection());
+    }
+
+    private static NewEmployeeRegistrationDTO registration(String username, String icPassport) {
+        return registration(username, icPassport, "First " + username, "Last");
+    }
+
+    private static NewEmployeeRegistrationDTO registration(
+        String username,
+        String icPassport,
+        String firstName,
+        String lastName
+    ) {
+        return new NewEmployeeRegistrationDTO(
+            username, "secret-" + username, UserDTO.Role.EMPLOYEE, firstName, lastName, icPassport);
+    }
+
+    @Nested
+    @DisplayName("registerNewEmployees()")
+    class RegisterNewEmployeesTests {
+        @Test
+        @DisplayName("should reject an empty import")
+        void shouldRejectEmptyImport() {
+            assertThatThrownBy(() -> userService.registerNewEmployees(List.of()))
+                .isInstanceOf(InvalidInputException.class);
+        }
+
+        @Test
+        @DisplayName("should register every valid row and report results in input order")
+        void shouldRegisterValidRowsInOrder() throws Exception {
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1"),
+                registration("bob", "IC-2")
+            ));
+
+            // Then
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::username).containsExactly("alice", "bob");
+            assertThat(results).allMatch(EmployeeRegistrationResultDTO::isRegistered);
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::userId).containsExactly(100, 101);
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::employeeId).containsExactly(200, 201);
+        }
+
+        @Test
+        @DisplayName("should skip invalid rows without hashing their passwords")
+        void shouldSkipInvalidRows() throws Exception {
+            // Given
+            NewEmployeeRegistrationDTO missingIc = registration("carol", " ");
+
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1"),
+                missingIc
+            ));
+
+            // Then
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::status)
+                .containsExactly(Status.REGISTERED, Status.INVALID);
+            assertThat(results.get(1).message()).isEqualTo("IC/Passport is a required field.");
+            assertThat(hashedPasswords).containsExactly("secret-alice");
+        }
+
+        @Test
+        @DisplayName("should skip usernames and IC/passport numbers repeated within the import")
+        void shouldSkipRepeatsWithinImport() throws Exception {
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1"),
+                registration("ALICE", "IC-2"),
+                registration("bob", "ic-1"),
+                registration("carol", "IC-3")
+            ));
+
+            // Then: Each repeat is reported against the row that came later
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::status).containsExactly(
+                Status.REGISTERED, Status.DUPLICATE_USERNAME, Status.DUPLICATE_IC_PASSPORT, Status.REGISTERED);
+            assertThat(hashedPasswords).containsExactly("secret-alice", "secret-carol");
+        }
+
+        @Test
+        @DisplayName("should skip rows that conflict with existing users or employees")
+        void shouldSkipRowsConflictingWithDatabase() throws Exception {
+            // Given
+            when(userDAO.findExistingUsernames(anyCollection())).thenReturn(Set.of("Alice"));
+            when(employeeDAO.findExistingIcPassports(anyCollection())).thenReturn(Set.of("IC-2"));
+
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1"),
+                registration("bob", "ic-2"),
+                registration("carol", "IC-3")
+            ));
+
+            // Then: Only the non-conflicting row reaches the database
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::status).containsExactly(
+                Status.DUPLICATE_USERNAME, Status.DUPLICATE_IC_PASSPORT, Status.REGISTERED);
+            assertThat(results.get(2).userId()).isEqualTo(100);
+            assertThat(hashedPasswords).containsExactly("secret-carol");
+            verify(employeeDAO).saveAll(argThat(employees -> employees.size() == 1));
+        }
+
+        @Test
+        @DisplayName("should skip rows whose first and last name are repeated or already taken")
+        void shouldSkipDuplicateNames() throws Exception {
+            // Given
+            when(employeeDAO.findExistingNames(anyCollection())).thenReturn(Set.of(new Name("Carol", "Tan")));
+
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1", "Alice", "Lim"),
+                registration("bob", "IC-2", "ALICE", "lim"),
+                registration("carol", "IC-3", "carol", "tan"),
+                registration("dave", "IC-4", "Dave", "Lim")
+            ));
+
+            // Then: Neither repeat reaches the unique name constraint
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::status).containsExactly(
+                Status.REGISTERED, Status.DUPLICATE_NAME, Status.DUPLICATE_NAME, Status.REGISTERED);
+            assertThat(hashedPasswords).containsExactly("secret-alice", "secret-dave");
+            verify(employeeDAO).saveAll(argThat(employees -> employees.size() == 2));
+        }
+
+        @Test
+        @DisplayName("should skip a name taken while the passwords were being hashed")
+        void shouldRecheckNamesInsideTransaction() throws Exception {
+            // Given: The name is free before hashing, and taken by the time the transaction runs
+            when(employeeDAO.findExistingNames(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(new Name("Alice", "Lim")));
+
+            // When
+            List<EmployeeRegistrationResultDTO> results = userService.registerNewEmployees(List.of(
+                registration("alice", "IC-1", "Alice", "Lim"),
+                registration("bob", "IC-2", "Bob", "Lim")
+            ));
+
+            // Then
+            assertThat(results).extracting(EmployeeRegistrationResultDTO::status)
+                .containsExactly(Status.DUPLICATE_NAME, Status.REGISTERED);
+            verify(employeeDAO).saveAll(argThat(employees -> employees.size() == 1));
+        }
+    }
+}